@@ -54,25 +54,36 @@ block       : '{' stmt* '}' ;
 printStmt   : 'printf' '(' (STRING | expr) ')' ;
 readStmt    : 'scanf' '(' ID ')' ;
 
-// ---------- Expressions (precedência alta -> baixa no fundo) ----------
-expr        : orExpr ;
-orExpr      : andExpr ( '||' andExpr )* ;
-andExpr     : eqExpr ( '&&' eqExpr )* ;
-eqExpr      : relExpr ( ('==' | '!=') relExpr )* ;
-relExpr     : addExpr ( ('<' | '>' | '<=' | '>=') addExpr )* ;
-addExpr     : mulExpr ( ('+' | '-') mulExpr )* ;
-mulExpr     : unary ( ('*' | '/') unary )* ;
-unary       : ('!' | '+' | '-') unary
-            | primary
-            ;
-primary     : INT_LIT
-            | FLOAT_LIT
-            | STRING
-            | ID
-            | '(' expr ')'
-            ;
+// ---------- Expressions (uma regra; alternativas em ordem de precedência, alta -> baixa) ----------
+expr
+    : op=('!' | '+' | '-') expr                 # unaryExpr
+    | expr op=('*' | '/') expr                  # mulExpr
+    | expr op=('+' | '-') expr                  # addExpr
+    | expr op=('<' | '>' | '<=' | '>=') expr    # relExpr
+    | expr op=('==' | '!=') expr                # eqExpr
+    | expr op='&&' expr                         # andExpr
+    | expr op='||' expr                         # orExpr
+    | '(' expr ')'                              # parenExpr
+    | atom=(INT_LIT | FLOAT_LIT | STRING | ID)   # atomExpr
+    ;
 
 // ---------- Lexer ----------
+// Operadores com tipo fixo: na ordem da antiga gramática em cascata ('||' ... '!'), como as
+// mensagens "expecting {...}" listam os tokens por tipo, elas não mudam com a ordem do 'expr'
+OR          : '||' ;
+AND         : '&&' ;
+EQ          : '==' ;
+NE          : '!=' ;
+LT          : '<' ;
+GT          : '>' ;
+LE          : '<=' ;
+GE          : '>=' ;
+PLUS        : '+' ;
+MINUS       : '-' ;
+MUL         : '*' ;
+DIV         : '/' ;
+NOT         : '!' ;
+
 ID          : [a-zA-Z_][a-zA-Z0-9_]* ;
 
 FLOAT_LIT   : DIGIT+ '.' DIGIT+ ;
@@ -0,0 +1,435 @@
+import java.util.List;
+
+/**
+ * Árvore sintática do programa, montada uma única vez pelo AstBuilder a partir
+ * da árvore do ANTLR. Os nós são imutáveis e já vêm resolvidos: operadores como
+ * Op, literais decodificados, cada variável ligada ao seu Slot e cada expressão
+ * com o seu tipo em execução (o mesmo de Values.resultType). Tokens, parênteses
+ * e pontuação não aparecem; só a linha de cada nó é guardada, para as mensagens
+ * de erro. Depois de montada, a árvore do parser e os tokens podem ser
+ * descartados: a verificação semântica, o ConstantFolder e todos os motores
+ * leem só esta árvore.
+ */
+public final class Ast {
+    private Ast() {}
+
+    /** Slot fixo (profundidade, índice) de uma variável no frame do seu escopo. */
+    public record Slot(int depth, int index, SymbolTable.Type type) {}
+
+    public enum Op {
+        NOT("!"), PLUS("+"), NEG("-"),
+        MUL("*"), DIV("/"), ADD("+"), SUB("-"),
+        LT("<"), GT(">"), LE("<="), GE(">="),
+        EQ("=="), NE("!="), AND("&&"), OR("||");
+
+        public final String symbol;
+
+        Op(String symbol) { this.symbol = symbol; }
+
+        @Override public String toString() { return symbol; }
+    }
+
+    public interface Visitor<T> {
+        T visitDecl(Decl n);
+        T visitAssign(Assign n);
+        T visitBlock(Block n);
+        T visitIf(If n);
+        T visitWhile(While n);
+        T visitDoWhile(DoWhile n);
+        T visitFor(For n);
+        T visitSwitch(Switch n);
+        T visitBreak(Break n);
+        T visitPrint(Print n);
+        T visitPrintText(PrintText n);
+        T visitRead(Read n);
+        T visitLiteral(Literal n);
+        T visitVar(Var n);
+        T visitUnary(Unary n);
+        T visitMul(Mul n);
+        T visitAdd(Add n);
+        T visitRel(Rel n);
+        T visitEq(Eq n);
+        T visitAnd(And n);
+        T visitOr(Or n);
+    }
+
+    /** Visitor que percorre todos os filhos e devolve null; passos sobrescrevem só o que usam. */
+    public abstract static class BaseVisitor<T> implements Visitor<T> {
+        protected T visit(Node n) { return n != null ? n.accept(this) : null; }
+
+        protected void visitAll(List<? extends Node> nodes) {
+            for (Node n : nodes) n.accept(this);
+        }
+
+        @Override public T visitDecl(Decl n)           { visit(n.init); return null; }
+        @Override public T visitAssign(Assign n)       { visit(n.value); return null; }
+        @Override public T visitBlock(Block n)         { visitAll(n.body); return null; }
+        @Override public T visitIf(If n)               { visit(n.cond); visit(n.then); visit(n.otherwise); return null; }
+        @Override public T visitWhile(While n)         { visit(n.cond); visit(n.body); return null; }
+        @Override public T visitDoWhile(DoWhile n)     { visit(n.body); visit(n.cond); return null; }
+        @Override public T visitFor(For n)             { visit(n.init); visit(n.cond); visit(n.update); visit(n.body); return null; }
+        @Override public T visitBreak(Break n)         { return null; }
+        @Override public T visitPrint(Print n)         { visit(n.value); return null; }
+        @Override public T visitPrintText(PrintText n) { return null; }
+        @Override public T visitRead(Read n)           { return null; }
+        @Override public T visitLiteral(Literal n)     { return null; }
+        @Override public T visitVar(Var n)             { return null; }
+        @Override public T visitUnary(Unary n)         { visit(n.operand); return null; }
+        @Override public T visitMul(Mul n)             { return visitBinary(n); }
+        @Override public T visitAdd(Add n)             { return visitBinary(n); }
+        @Override public T visitRel(Rel n)             { return visitBinary(n); }
+        @Override public T visitEq(Eq n)               { return visitBinary(n); }
+        @Override public T visitAnd(And n)             { return visitBinary(n); }
+        @Override public T visitOr(Or n)               { return visitBinary(n); }
+
+        @Override
+        public T visitSwitch(Switch n) {
+            visit(n.key);
+            for (Section s : n.sections) {
+                visit(s.label);
+                visitAll(s.body);
+            }
+            if (n.otherwise != null) visitAll(n.otherwise);
+            return null;
+        }
+
+        protected T visitBinary(Binary n) {
+            visit(n.left);
+            visit(n.right);
+            return null;
+        }
+    }
+
+    public abstract static class Node {
+        public final int line;
+
+        Node(int line) { this.line = line; }
+
+        public abstract <T> T accept(Visitor<T> v);
+    }
+
+    /** Raiz: comandos de topo e os frames que o programa precisa (ver AstBuilder). */
+    public static final class Program {
+        public final List<Stmt> body;
+        public final int frameSize;                // slots do frame do programa (profundidade 0)
+        private final int[] capacities;            // maior frame de cada profundidade
+
+        Program(List<Stmt> body, int frameSize, int[] capacities) {
+            this.body = body;
+            this.frameSize = frameSize;
+            this.capacities = capacities;
+        }
+
+        /** Número máximo de frames vivos ao mesmo tempo (tamanho do display). */
+        public int maxDepth() { return capacities.length; }
+
+        /** Tamanho do frame a pré-alocar na profundidade indicada. */
+        public int frameCapacity(int depth) { return capacities[depth]; }
+    }
+
+    // ======================= Comandos =======================
+    public abstract static class Stmt extends Node {
+        Stmt(int line) { super(line); }
+    }
+
+    public static final class Decl extends Stmt {
+        public final String name;
+        public final Slot slot;
+        public final Expr init;                    // null = valor padrão do tipo
+
+        Decl(int line, String name, Slot slot, Expr init) {
+            super(line);
+            this.name = name;
+            this.slot = slot;
+            this.init = init;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitDecl(this); }
+    }
+
+    public static final class Assign extends Stmt {
+        public final String name;
+        public final Slot slot;                    // null se a variável não foi declarada
+        public final Expr value;
+
+        Assign(int line, String name, Slot slot, Expr value) {
+            super(line);
+            this.name = name;
+            this.slot = slot;
+            this.value = value;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitAssign(this); }
+    }
+
+    public static final class Block extends Stmt {
+        public final List<Stmt> body;
+
+        Block(int line, List<Stmt> body) {
+            super(line);
+            this.body = body;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitBlock(this); }
+    }
+
+    public static final class If extends Stmt {
+        public final Expr cond;
+        public final Block then;
+        public final Block otherwise;              // null = sem else
+
+        If(int line, Expr cond, Block then, Block otherwise) {
+            super(line);
+            this.cond = cond;
+            this.then = then;
+            this.otherwise = otherwise;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitIf(this); }
+    }
+
+    public static final class While extends Stmt {
+        public final Expr cond;
+        public final Block body;
+
+        While(int line, Expr cond, Block body) {
+            super(line);
+            this.cond = cond;
+            this.body = body;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitWhile(this); }
+    }
+
+    public static final class DoWhile extends Stmt {
+        public final Block body;
+        public final Expr cond;
+
+        DoWhile(int line, Block body, Expr cond) {
+            super(line);
+            this.body = body;
+            this.cond = cond;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitDoWhile(this); }
+    }
+
+    public static final class For extends Stmt {
+        public final Stmt init;                    // Decl, Assign ou null
+        public final Expr cond;                    // null = sempre verdadeira
+        public final Assign update;                // null = sem atualização
+        public final Block body;
+        public final int frameDepth;               // -1 se o init não declara variável
+        public final int frameSize;
+
+        For(int line, Stmt init, Expr cond, Assign update, Block body, int frameDepth, int frameSize) {
+            super(line);
+            this.init = init;
+            this.cond = cond;
+            this.update = update;
+            this.body = body;
+            this.frameDepth = frameDepth;
+            this.frameSize = frameSize;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitFor(this); }
+    }
+
+    public static final class Switch extends Stmt {
+        public final Expr key;
+        public final List<Section> sections;
+        public final List<Stmt> otherwise;         // null = sem default
+
+        Switch(int line, Expr key, List<Section> sections, List<Stmt> otherwise) {
+            super(line);
+            this.key = key;
+            this.sections = sections;
+            this.otherwise = otherwise;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitSwitch(this); }
+    }
+
+    /** 'case rótulo: ...'; o rótulo é um Literal (int ou string) ou uma Var. */
+    public static final class Section {
+        public final int line;
+        public final Expr label;
+        public final List<Stmt> body;
+
+        Section(int line, Expr label, List<Stmt> body) {
+            this.line = line;
+            this.label = label;
+            this.body = body;
+        }
+
+        /** Valor do rótulo literal, ou null se o rótulo é uma variável. */
+        public Object constant() {
+            return label instanceof Literal l ? l.value : null;
+        }
+    }
+
+    public static final class Break extends Stmt {
+        Break(int line) { super(line); }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitBreak(this); }
+    }
+
+    public static final class Print extends Stmt {
+        public final Expr value;
+
+        Print(int line, Expr value) {
+            super(line);
+            this.value = value;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitPrint(this); }
+    }
+
+    /** printf("texto"): a forma com literal direto, sem expressão. */
+    public static final class PrintText extends Stmt {
+        public final String text;
+
+        PrintText(int line, String text) {
+            super(line);
+            this.text = text;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitPrintText(this); }
+    }
+
+    public static final class Read extends Stmt {
+        public final String name;
+        public final Slot slot;
+
+        Read(int line, String name, Slot slot) {
+            super(line);
+            this.name = name;
+            this.slot = slot;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitRead(this); }
+    }
+
+    // ======================= Expressões =======================
+    public abstract static class Expr extends Node {
+        public final SymbolTable.Type type;        // tipo em tempo de execução
+
+        Expr(int line, SymbolTable.Type type) {
+            super(line);
+            this.type = type;
+        }
+    }
+
+    public static final class Literal extends Expr {
+        public final Object value;                 // Integer, Double ou String
+
+        Literal(int line, Object value) {
+            super(line, Values.typeOf(value));
+            this.value = value;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitLiteral(this); }
+    }
+
+    public static final class Var extends Expr {
+        public final String name;
+        public final Slot slot;                    // null se a variável não foi declarada
+
+        Var(int line, String name, Slot slot) {
+            super(line, slot != null ? slot.type() : SymbolTable.Type.UNKNOWN);
+            this.name = name;
+            this.slot = slot;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitVar(this); }
+    }
+
+    public static final class Unary extends Expr {
+        public final Op op;
+        public final Expr operand;
+
+        Unary(int line, Op op, Expr operand) {
+            super(line, unaryType(op, operand.type));
+            this.op = op;
+            this.operand = operand;
+        }
+
+        // '-' sempre produz float (promoção do operador ternário no interpretador);
+        // '+' preserva float e passa qualquer outro valor por ((Number) v).intValue()
+        private static SymbolTable.Type unaryType(Op op, SymbolTable.Type t) {
+            if (op == Op.NOT) return SymbolTable.Type.BOOL;
+            if (op == Op.NEG) return SymbolTable.Type.FLOAT;
+            return t == SymbolTable.Type.FLOAT ? SymbolTable.Type.FLOAT : SymbolTable.Type.INT;
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitUnary(this); }
+    }
+
+    /**
+     * Operador binário; uma subclasse por nível de precedência. 'a + b - c' vira
+     * (a + b) - c, e grouped marca o nó escrito entre parênteses no fonte, que
+     * interrompe a cadeia do mesmo nível (ver OperatorChain).
+     */
+    public abstract static class Binary extends Expr {
+        public final Op op;
+        public final Expr left;
+        public final Expr right;
+        public final boolean grouped;
+
+        Binary(int line, Op op, Expr left, Expr right, boolean grouped, SymbolTable.Type type) {
+            super(line, type);
+            this.op = op;
+            this.left = left;
+            this.right = right;
+            this.grouped = grouped;
+        }
+    }
+
+    public static final class Mul extends Binary {
+        Mul(int line, Op op, Expr left, Expr right, boolean grouped) {
+            super(line, op, left, right, grouped, Values.resultType(left.type, right.type, op.symbol));
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitMul(this); }
+    }
+
+    public static final class Add extends Binary {
+        Add(int line, Op op, Expr left, Expr right, boolean grouped) {
+            super(line, op, left, right, grouped, Values.resultType(left.type, right.type, op.symbol));
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitAdd(this); }
+    }
+
+    public static final class Rel extends Binary {
+        Rel(int line, Op op, Expr left, Expr right, boolean grouped) {
+            super(line, op, left, right, grouped, SymbolTable.Type.BOOL);
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitRel(this); }
+    }
+
+    public static final class Eq extends Binary {
+        Eq(int line, Op op, Expr left, Expr right, boolean grouped) {
+            super(line, op, left, right, grouped, SymbolTable.Type.BOOL);
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitEq(this); }
+    }
+
+    public static final class And extends Binary {
+        And(int line, Expr left, Expr right, boolean grouped) {
+            super(line, Op.AND, left, right, grouped, SymbolTable.Type.BOOL);
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitAnd(this); }
+    }
+
+    public static final class Or extends Binary {
+        Or(int line, Expr left, Expr right, boolean grouped) {
+            super(line, Op.OR, left, right, grouped, SymbolTable.Type.BOOL);
+        }
+
+        @Override public <T> T accept(Visitor<T> v) { return v.visitOr(this); }
+    }
+}
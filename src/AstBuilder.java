@@ -0,0 +1,274 @@
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+
+import java.util.*;
+
+/**
+ * Converte a árvore do parser na Ast, uma única vez, logo depois do parse.
+ * Operadores viram Op, literais são decodificados (valores iguais compartilham
+ * a instância) e os nomes são resolvidos em slots: cada declaração recebe um
+ * slot fixo (profundidade, índice) no frame do seu escopo e cada uso de
+ * variável é ligado a esse slot. Programa, blocos e 'for' abrem escopos de
+ * nomes, mas só os que declaram variáveis abrem frame (na gramática: o programa
+ * e o 'for' com declaração no init). Como não há recursão, cada profundidade
+ * tem no máximo um frame vivo, e os motores pré-alocam um por profundidade.
+ *
+ * Nomes não declarados ficam com slot null; quem os reporta é o SemanticVisitor.
+ */
+public class AstBuilder extends TomLangBaseVisitor<Ast.Node> {
+
+    private final List<Integer> capacities = new ArrayList<>();       // maior frame de cada profundidade
+    private final Deque<Map<String, Ast.Slot>> scopes = new ArrayDeque<>();
+    private final Deque<Boolean> framed = new ArrayDeque<>();
+    private final Map<Object, Object> interned = new HashMap<>();
+    private Map.Entry<String, Ast.Slot> pending = null;
+    private int frames = 0;                                             // frames abertos no ponto atual
+
+    public static Ast.Program build(TomLangParser.ProgContext tree) {
+        return new AstBuilder().program(tree);
+    }
+
+    private Ast.Program program(TomLangParser.ProgContext ctx) {
+        pushScope(true);
+        List<Ast.Stmt> body = new ArrayList<>();
+        for (int i = 0; i < ctx.getChildCount(); i++) {
+            if (ctx.getChild(i) instanceof ParserRuleContext item) body.add(stmt(item));   // ignora o EOF
+        }
+        int size = popScope();
+        int[] caps = capacities.stream().mapToInt(Integer::intValue).toArray();
+        return new Ast.Program(List.copyOf(body), size, caps);
+    }
+
+    /** Construção item a item, para o --stream: o escopo do programa fica aberto entre os itens. */
+    public static AstBuilder incremental() {
+        AstBuilder builder = new AstBuilder();
+        builder.pushScope(true);
+        return builder;
+    }
+
+    /**
+     * Converte um decl/stmt de nível superior num programa de um item só, com as
+     * capacidades de frame vistas até aqui: o frame do programa cresce a cada declaração.
+     */
+    public Ast.Program item(ParserRuleContext ctx) {
+        Ast.Stmt item = stmt(ctx);
+        interned.clear();                        // literais compartilhados só dentro do item
+        int size = scopes.peek().size();
+        int[] caps = capacities.stream().mapToInt(Integer::intValue).toArray();
+        caps[0] = Math.max(caps[0], size);
+        return new Ast.Program(List.of(item), size, caps);
+    }
+
+    private void pushScope(boolean opensFrame) {
+        scopes.push(new HashMap<>());
+        framed.push(opensFrame);
+        if (opensFrame && ++frames > capacities.size()) capacities.add(0);
+    }
+
+    // Fecha o escopo; devolve o tamanho do frame que ele abriu, ou -1 se não abriu
+    private int popScope() {
+        int size = scopes.pop().size();
+        if (!framed.pop()) return -1;
+        frames--;
+        capacities.set(frames, Math.max(capacities.get(frames), size));
+        return size;
+    }
+
+    private Ast.Slot lookup(String name) {
+        for (Map<String, Ast.Slot> s : scopes) {
+            Ast.Slot slot = s.get(name);
+            if (slot != null) return slot;
+        }
+        // 'int x = x;' sem x externo: o interpretador lia o próprio slot ainda vazio
+        if (pending != null && pending.getKey().equals(name)) return pending.getValue();
+        return null;
+    }
+
+    private static int line(ParserRuleContext ctx) {
+        return ctx.start.getLine();
+    }
+
+    private Ast.Stmt stmt(ParserRuleContext ctx)  { return (Ast.Stmt) visit(ctx); }
+    private Ast.Expr expr(ParserRuleContext ctx)  { return (Ast.Expr) visit(ctx); }
+    private Ast.Block block(ParserRuleContext ctx) { return (Ast.Block) visit(ctx); }
+
+    private List<Ast.Stmt> stmts(List<TomLangParser.StmtContext> list) {
+        Ast.Stmt[] out = new Ast.Stmt[list.size()];
+        for (int i = 0; i < out.length; i++) out[i] = stmt(list.get(i));
+        return List.of(out);
+    }
+
+    // Valor do literal com escapes decodificados; literais iguais compartilham a instância
+    private Object literal(Token t) {
+        Object v = switch (t.getType()) {
+            case TomLangParser.INT_LIT   -> Integer.parseInt(t.getText());
+            case TomLangParser.FLOAT_LIT -> Double.parseDouble(t.getText());
+            default                      -> Values.unquote(t.getText());
+        };
+        return interned.computeIfAbsent(v, k -> k);
+    }
+
+    private static SymbolTable.Type toType(String t) {
+        return switch (t) {
+            case "int"    -> SymbolTable.Type.INT;
+            case "float"  -> SymbolTable.Type.FLOAT;
+            case "string" -> SymbolTable.Type.STRING;
+            default       -> SymbolTable.Type.UNKNOWN;
+        };
+    }
+
+    // ---------- Statements ----------
+    @Override
+    public Ast.Node visitStmt(TomLangParser.StmtContext ctx) {
+        return visit(ctx.getChild(0));           // 'assign ;', 'printf(...) ;' etc.: o ';' não gera nó
+    }
+
+    @Override
+    public Ast.Node visitDecl(TomLangParser.DeclContext ctx) {
+        String name = ctx.ID().getText();
+        Map<String, Ast.Slot> top = scopes.peek();
+        Ast.Slot slot = new Ast.Slot(frames - 1, top.size(), toType(ctx.type().getText()));
+        // o inicializador é avaliado antes da declaração existir (mesma ordem do interpretador)
+        Ast.Expr init = null;
+        if (ctx.expr() != null) {
+            pending = Map.entry(name, slot);
+            init = expr(ctx.expr());
+            pending = null;
+        }
+        top.put(name, slot);
+        return new Ast.Decl(line(ctx), name, slot, init);
+    }
+
+    @Override
+    public Ast.Node visitAssign(TomLangParser.AssignContext ctx) {
+        String name = ctx.ID().getText();
+        return new Ast.Assign(line(ctx), name, lookup(name), expr(ctx.expr()));
+    }
+
+    @Override
+    public Ast.Node visitBlock(TomLangParser.BlockContext ctx) {
+        pushScope(false);                        // blocos só contêm stmt: nunca declaram
+        List<Ast.Stmt> body = stmts(ctx.stmt());
+        popScope();
+        return new Ast.Block(line(ctx), body);
+    }
+
+    @Override
+    public Ast.Node visitIfStmt(TomLangParser.IfStmtContext ctx) {
+        Ast.Expr cond = expr(ctx.expr());
+        Ast.Block then = block(ctx.block(0));
+        Ast.Block otherwise = ctx.block().size() > 1 ? block(ctx.block(1)) : null;
+        return new Ast.If(line(ctx), cond, then, otherwise);
+    }
+
+    @Override
+    public Ast.Node visitWhileStmt(TomLangParser.WhileStmtContext ctx) {
+        Ast.Expr cond = expr(ctx.expr());
+        return new Ast.While(line(ctx), cond, block(ctx.block()));
+    }
+
+    @Override
+    public Ast.Node visitDoWhileStmt(TomLangParser.DoWhileStmtContext ctx) {
+        Ast.Block body = block(ctx.block());
+        return new Ast.DoWhile(line(ctx), body, expr(ctx.expr()));
+    }
+
+    @Override
+    public Ast.Node visitForStmt(TomLangParser.ForStmtContext ctx) {
+        pushScope(ctx.forInit().decl() != null);
+        Ast.Stmt init = null;
+        if (ctx.forInit().decl() != null)        init = stmt(ctx.forInit().decl());
+        else if (ctx.forInit().assign() != null) init = stmt(ctx.forInit().assign());
+        Ast.Expr cond = ctx.forCond() != null ? expr(ctx.forCond().expr()) : null;
+        Ast.Assign update = ctx.forUpdate() != null ? (Ast.Assign) stmt(ctx.forUpdate().assign()) : null;
+        Ast.Block body = block(ctx.block());
+        int size = popScope();
+        return new Ast.For(line(ctx), init, cond, update, body, size >= 0 ? frames : -1, Math.max(size, 0));
+    }
+
+    @Override
+    public Ast.Node visitBreakStmt(TomLangParser.BreakStmtContext ctx) {
+        return new Ast.Break(line(ctx));
+    }
+
+    @Override
+    public Ast.Node visitSwitchStmt(TomLangParser.SwitchStmtContext ctx) {
+        Ast.Expr key = expr(ctx.expr());
+        List<Ast.Section> sections = new ArrayList<>();
+        for (var sect : ctx.switchSection()) {
+            var label = sect.switchLabel();
+            Ast.Expr l = label.ID() != null
+                    ? new Ast.Var(line(label), label.ID().getText(), lookup(label.ID().getText()))
+                    : new Ast.Literal(line(label), literal(label.getStart()));
+            sections.add(new Ast.Section(line(sect), l, stmts(sect.stmt())));
+        }
+        List<Ast.Stmt> otherwise = ctx.defaultSection() != null ? stmts(ctx.defaultSection().stmt()) : null;
+        return new Ast.Switch(line(ctx), key, List.copyOf(sections), otherwise);
+    }
+
+    @Override
+    public Ast.Node visitPrintStmt(TomLangParser.PrintStmtContext ctx) {
+        if (ctx.STRING() != null) return new Ast.PrintText(line(ctx), (String) literal(ctx.STRING().getSymbol()));
+        return new Ast.Print(line(ctx), expr(ctx.expr()));
+    }
+
+    @Override
+    public Ast.Node visitReadStmt(TomLangParser.ReadStmtContext ctx) {
+        String name = ctx.ID().getText();
+        return new Ast.Read(line(ctx), name, lookup(name));
+    }
+
+    // ---------- Expressões ----------
+    // Parênteses não geram nó: só marcam o operador binário de dentro como agrupado
+    @Override
+    public Ast.Node visitParenExpr(TomLangParser.ParenExprContext ctx) {
+        TomLangParser.ExprContext inner = ctx.expr();
+        while (inner instanceof TomLangParser.ParenExprContext p) inner = p.expr();
+        return inner instanceof TomLangParser.UnaryExprContext || inner instanceof TomLangParser.AtomExprContext
+                ? visit(inner) : binary(inner, true);
+    }
+
+    @Override
+    public Ast.Node visitUnaryExpr(TomLangParser.UnaryExprContext ctx) {
+        Ast.Op op = switch (ctx.op.getText()) {
+            case "!" -> Ast.Op.NOT;
+            case "+" -> Ast.Op.PLUS;
+            default  -> Ast.Op.NEG;
+        };
+        return new Ast.Unary(line(ctx), op, expr(ctx.expr()));
+    }
+
+    @Override public Ast.Node visitMulExpr(TomLangParser.MulExprContext ctx) { return binary(ctx, false); }
+    @Override public Ast.Node visitAddExpr(TomLangParser.AddExprContext ctx) { return binary(ctx, false); }
+    @Override public Ast.Node visitRelExpr(TomLangParser.RelExprContext ctx) { return binary(ctx, false); }
+    @Override public Ast.Node visitEqExpr(TomLangParser.EqExprContext ctx)   { return binary(ctx, false); }
+    @Override public Ast.Node visitAndExpr(TomLangParser.AndExprContext ctx) { return binary(ctx, false); }
+    @Override public Ast.Node visitOrExpr(TomLangParser.OrExprContext ctx)   { return binary(ctx, false); }
+
+    private Ast.Binary binary(TomLangParser.ExprContext ctx, boolean grouped) {
+        Ast.Expr left = expr(ctx.getChild(TomLangParser.ExprContext.class, 0));
+        Ast.Expr right = expr(ctx.getChild(TomLangParser.ExprContext.class, 1));
+        int line = line(ctx);
+        return switch (ctx.getChild(1).getText()) {
+            case "*"  -> new Ast.Mul(line, Ast.Op.MUL, left, right, grouped);
+            case "/"  -> new Ast.Mul(line, Ast.Op.DIV, left, right, grouped);
+            case "+"  -> new Ast.Add(line, Ast.Op.ADD, left, right, grouped);
+            case "-"  -> new Ast.Add(line, Ast.Op.SUB, left, right, grouped);
+            case "<"  -> new Ast.Rel(line, Ast.Op.LT, left, right, grouped);
+            case ">"  -> new Ast.Rel(line, Ast.Op.GT, left, right, grouped);
+            case "<=" -> new Ast.Rel(line, Ast.Op.LE, left, right, grouped);
+            case ">=" -> new Ast.Rel(line, Ast.Op.GE, left, right, grouped);
+            case "==" -> new Ast.Eq(line, Ast.Op.EQ, left, right, grouped);
+            case "!=" -> new Ast.Eq(line, Ast.Op.NE, left, right, grouped);
+            case "&&" -> new Ast.And(line, left, right, grouped);
+            default   -> new Ast.Or(line, left, right, grouped);
+        };
+    }
+
+    @Override
+    public Ast.Node visitAtomExpr(TomLangParser.AtomExprContext ctx) {
+        if (ctx.ID() == null) return new Ast.Literal(line(ctx), literal(ctx.atom));
+        String name = ctx.ID().getText();
+        return new Ast.Var(line(ctx), name, lookup(name));
+    }
+}
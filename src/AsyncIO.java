@@ -0,0 +1,214 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Modo de E/S assíncrona (--async-io): uma thread lê o stdin adiantado e outra
+ * escreve a saída, de modo que a thread que executa o programa só troca blocos
+ * de bytes com elas por anéis sem trava, sem fazer chamadas de sistema.
+ *
+ * Input e Output são streams comuns colocados por baixo do InputReader e do
+ * OutputBuffer. A ordem da saída é a dos blocos no anel; o flush antes do scanf
+ * só entrega o bloco pendente à thread escritora (sem esperar o write), o que
+ * basta para o prompt sair antes de a leitura ficar à espera de uma linha.
+ * close() espera a escrita de tudo e é chamado no fim da execução.
+ */
+public final class AsyncIO {
+
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final int RING_SLOTS = 64;
+
+    private AsyncIO() {}
+
+    /** Stdin lido por uma thread própria, bloco a bloco, antes de o programa pedir. */
+    public static final class Input extends InputStream {
+        private static final byte[] END = new byte[0];
+
+        private final Ring<byte[]> ring = new Ring<>(RING_SLOTS);
+        private volatile IOException error;
+        private byte[] chunk = new byte[0];
+        private int pos;
+
+        public Input(InputStream source) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (true) {
+                        byte[] b = new byte[BLOCK_SIZE];
+                        int n = source.read(b);
+                        if (n < 0) break;
+                        if (n > 0) ring.put(n == b.length ? b : Arrays.copyOf(b, n));
+                    }
+                } catch (IOException e) {
+                    error = e;
+                }
+                ring.put(END);
+            }, "tomlang-stdin");
+            reader.setDaemon(true);              // o programa pode terminar sem consumir a entrada
+            reader.start();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            if (pos == chunk.length) {
+                if (chunk == END) return -1;
+                chunk = ring.take();
+                pos = 0;
+                if (chunk == END) {
+                    if (error != null) throw error;
+                    return -1;
+                }
+            }
+            int n = Math.min(len, chunk.length - pos);
+            System.arraycopy(chunk, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+    }
+
+    /** Saída escrita por uma thread própria, na ordem em que os blocos foram entregues. */
+    public static final class Output extends OutputStream {
+        private static final byte[] FLUSH = new byte[0];
+        private static final byte[] END = new byte[0];
+
+        private final Ring<byte[]> ring = new Ring<>(RING_SLOTS);
+        private final Thread writer;
+        private volatile IOException error;
+        private boolean dirty;                   // algo entregue desde o último flush
+
+        public Output(OutputStream sink) {
+            writer = new Thread(() -> {
+                while (true) {
+                    byte[] b = ring.take();
+                    if (b == END) break;
+                    if (error != null) continue;     // depois de um erro só esvazia o anel
+                    try {
+                        if (b == FLUSH) sink.flush();
+                        else sink.write(b);
+                    } catch (IOException e) {
+                        error = e;
+                    }
+                }
+                try {
+                    sink.flush();
+                } catch (IOException e) {
+                    if (error == null) error = e;
+                }
+            }, "tomlang-stdout");
+            writer.setDaemon(true);
+            writer.start();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            check();
+            if (len == 0) return;
+            ring.put(Arrays.copyOfRange(b, off, off + len));
+            dirty = true;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            check();
+            if (!dirty) return;                  // scanf seguidos sem saída no meio não acordam a escritora
+            ring.put(FLUSH);
+            dirty = false;
+        }
+
+        /** Espera a thread escritora terminar tudo o que foi entregue. */
+        @Override
+        public void close() throws IOException {
+            if (!writer.isAlive()) return;
+            ring.put(END);
+            boolean interrupted = false;
+            while (writer.isAlive()) {
+                try {
+                    writer.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+            check();
+        }
+
+        private void check() throws IOException {
+            if (error != null) throw error;
+        }
+    }
+
+    // Anel de um produtor e um consumidor: cada índice só é escrito por um lado, e
+    // quem encontra o anel cheio/vazio gira um pouco e depois estaciona até ser acordado
+    static final class Ring<T> {
+        private static final int SPINS = 128;
+
+        private final Object[] slots;
+        private final int mask;
+        private final AtomicLong head = new AtomicLong();   // próximo a consumir
+        private final AtomicLong tail = new AtomicLong();   // próximo a produzir
+        private volatile Thread parkedConsumer, parkedProducer;
+
+        Ring(int capacity) {
+            slots = new Object[capacity];                   // potência de 2
+            mask = capacity - 1;
+        }
+
+        void put(T item) {
+            long t = tail.get();
+            if (t - head.get() == slots.length) {
+                int spins = 0;
+                while (t - head.get() == slots.length) {
+                    if (++spins < SPINS) {
+                        Thread.onSpinWait();
+                    } else {
+                        parkedProducer = Thread.currentThread();
+                        if (t - head.get() == slots.length) LockSupport.park(this);
+                        parkedProducer = null;
+                    }
+                }
+            }
+            slots[(int) t & mask] = item;
+            tail.set(t + 1);
+            Thread c = parkedConsumer;
+            if (c != null) LockSupport.unpark(c);
+        }
+
+        @SuppressWarnings("unchecked")
+        T take() {
+            long h = head.get();
+            if (tail.get() == h) {
+                int spins = 0;
+                while (tail.get() == h) {
+                    if (++spins < SPINS) {
+                        Thread.onSpinWait();
+                    } else {
+                        parkedConsumer = Thread.currentThread();
+                        if (tail.get() == h) LockSupport.park(this);
+                        parkedConsumer = null;
+                    }
+                }
+            }
+            int i = (int) h & mask;
+            T item = (T) slots[i];
+            slots[i] = null;
+            head.set(h + 1);
+            Thread p = parkedProducer;
+            if (p != null) LockSupport.unpark(p);
+            return item;
+        }
+    }
+}
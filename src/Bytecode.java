@@ -0,0 +1,120 @@
+/**
+ * Programa compilado para a BytecodeVM: código de registradores em um int[]
+ * (opcode seguido dos operandos) e o pool de constantes.
+ *
+ * Layout do banco de registradores: [variáveis | constantes | temporários].
+ * Cada registrador guarda valores de um único tipo, decidido na compilação, e
+ * vive em um de três bancos paralelos: int[] para int e bool (0/1), double[]
+ * para float e Object[] para string. Operações numéricas nunca empacotam
+ * valores. As constantes são copiadas para o banco do seu tipo antes da
+ * execução, então literais são lidos como qualquer outro operando.
+ */
+public final class Bytecode {
+
+    // ---------- Opcodes (operandos entre parênteses; banco: I=int, F=double, A=Object) ----------
+    public static final int HALT    = 0;   // ()
+    public static final int MOVE_I  = 1;   // (dst, src)
+    public static final int MOVE_F  = 2;
+    public static final int MOVE_A  = 3;
+    public static final int I2F     = 4;   // (F dst, I src)
+    public static final int F2I     = 5;   // (I dst, F src)      trunca
+    public static final int A2I     = 6;   // (I dst, A src)      ((Number) v).intValue(), como o interpretador
+    public static final int A2F     = 7;   // (F dst, A src)
+    public static final int TOSTR_I = 8;   // (A dst, I src)
+    public static final int TOSTR_F = 9;   // (A dst, F src)
+    public static final int TOSTR_B = 10;  // (A dst, I src)      0/1 -> "false"/"true"
+    public static final int BOOL_F  = 11;  // (I dst, F src)      Values.truthy
+    public static final int BOOL_A  = 12;  // (I dst, A src)
+    public static final int BOOL_I  = 13;  // (I dst, I src)      diferente de zero -> 1
+    public static final int ADD_I   = 14;  // (dst, a, b)
+    public static final int SUB_I   = 15;
+    public static final int MUL_I   = 16;
+    public static final int ADD_F   = 17;
+    public static final int SUB_F   = 18;
+    public static final int MUL_F   = 19;
+    public static final int DIV_F   = 20;  // '/' sempre produz float
+    public static final int CONCAT  = 21;  // (A dst, A a, A b)
+    public static final int NEG_I   = 22;  // (I dst, I src)
+    public static final int NEG_F   = 23;  // (F dst, F src)
+    public static final int NOT     = 24;  // (I dst, I src)
+    public static final int LT_I    = 25;  // (I dst, a, b)
+    public static final int LE_I    = 26;
+    public static final int GT_I    = 27;
+    public static final int GE_I    = 28;
+    public static final int LT_F    = 29;
+    public static final int LE_F    = 30;
+    public static final int GT_F    = 31;
+    public static final int GE_F    = 32;
+    public static final int EQ_I    = 33;
+    public static final int NE_I    = 34;
+    public static final int EQ_F    = 35;
+    public static final int NE_F    = 36;
+    public static final int EQ_A    = 37;
+    public static final int NE_A    = 38;
+    public static final int JMP     = 39;  // (target)
+    public static final int JF      = 40;  // (I cond, target)     salta se zero
+    public static final int JT      = 41;  // (I cond, target)     salta se diferente de zero
+    public static final int PRINT_I = 42;  // (src)
+    public static final int PRINT_F = 43;
+    public static final int PRINT_B = 44;
+    public static final int PRINT_A = 45;
+    public static final int READ_I  = 46;  // (dst)
+    public static final int READ_F  = 47;
+    public static final int READ_A  = 48;
+    public static final int SWITCH_I = 49; // (I key, switch)     salta pela tabela switches[switch]
+    public static final int SWITCH_A = 50; // (A key, switch)     chave string, rótulos só strings
+    public static final int PRINT_S = 51;  // (line)              printf("...") pré-codificado: lines[line]
+    public static final int CONCAT_N = 52; // (A dst, concat)     cadeia de '+' de strings: concats[concat]
+
+    static final String[] NAMES = {
+        "HALT", "MOVE_I", "MOVE_F", "MOVE_A", "I2F", "F2I", "A2I", "A2F", "TOSTR_I", "TOSTR_F",
+        "TOSTR_B", "BOOL_F", "BOOL_A", "BOOL_I", "ADD_I", "SUB_I", "MUL_I", "ADD_F", "SUB_F", "MUL_F",
+        "DIV_F", "CONCAT", "NEG_I", "NEG_F", "NOT", "LT_I", "LE_I", "GT_I", "GE_I", "LT_F",
+        "LE_F", "GT_F", "GE_F", "EQ_I", "NE_I", "EQ_F", "NE_F", "EQ_A", "NE_A", "JMP",
+        "JF", "JT", "PRINT_I", "PRINT_F", "PRINT_B", "PRINT_A", "READ_I", "READ_F", "READ_A", "SWITCH_I",
+        "SWITCH_A", "PRINT_S", "CONCAT_N"
+    };
+    static final int[] OPERANDS = {
+        0, 2, 2, 2, 2, 2, 2, 2, 2, 2,
+        2, 2, 2, 2, 3, 3, 3, 3, 3, 3,
+        3, 3, 2, 2, 2, 3, 3, 3, 3, 3,
+        3, 3, 3, 3, 3, 3, 3, 3, 3, 1,
+        2, 2, 1, 1, 1, 1, 1, 1, 1, 2,
+        2, 1, 2
+    };
+
+    /** Tabela de um SWITCH_*: targets[seção] é o início do corpo; o último alvo é o default (ou o fim). */
+    public record Switch(SwitchTable table, int[] targets) { }
+
+    /** Operandos de um CONCAT_N, em ordem: o primeiro é a cabeça, os demais viram texto. */
+    public record Concat(int[] parts) { }
+
+    public final int[] code;
+    public final Object[] constants;
+    public final int constBase;      // registrador da primeira constante
+    public final int registers;      // tamanho de cada banco de registradores
+    public final Switch[] switches;
+    public final OutputBuffer.Literal[] lines;
+    public final Concat[] concats;
+
+    public Bytecode(int[] code, Object[] constants, int constBase, int registers, Switch[] switches,
+                    OutputBuffer.Literal[] lines, Concat[] concats) {
+        this.code = code;
+        this.constants = constants;
+        this.constBase = constBase;
+        this.registers = registers;
+        this.switches = switches;
+        this.lines = lines;
+        this.concats = concats;
+    }
+
+    public String disassemble() {
+        StringBuilder sb = new StringBuilder();
+        for (int pc = 0; pc < code.length; pc += 1 + OPERANDS[code[pc]]) {
+            sb.append(String.format("%4d  %-7s", pc, NAMES[code[pc]]));
+            for (int i = 1; i <= OPERANDS[code[pc]]; i++) sb.append(' ').append(code[pc + i]);
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
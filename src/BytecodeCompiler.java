@@ -0,0 +1,581 @@
+import java.util.*;
+
+/**
+ * Traduz a Ast já verificada para o código
+ * de registradores da BytecodeVM. Cada variável ganha um registrador fixo, cada
+ * literal um registrador de constante, e os temporários são alocados em pilha
+ * acima deles. Expressões retornam o registrador que contém o resultado; o tipo
+ * em execução do resultado (campo kind) decide o banco do registrador (int/bool
+ * no int[], float no double[], string no Object[]) e a variante tipada de cada
+ * instrução, inserindo conversões explícitas entre bancos.
+ */
+public class BytecodeCompiler implements Ast.Visitor<Integer> {
+
+    private final ConstantFolder constants;
+    private final Map<Ast.Slot, Integer> varRegs = new HashMap<>();
+    private final Map<Object, Integer> constRegs = new LinkedHashMap<>();
+    private int constBase, tempBase;
+    private int temps, maxRegs;
+
+    private int[] code = new int[256];
+    private int pc = 0;
+    private int lastDst = -1;                 // posição do operando destino da última instrução
+    private SymbolTable.Type kind;            // tipo (em execução) da última expressão compilada
+    private final Deque<List<Integer>> breaks = new ArrayDeque<>();
+    private final List<Bytecode.Switch> switches = new ArrayList<>();
+    private final List<OutputBuffer.Literal> lines = new ArrayList<>();
+    private final List<Bytecode.Concat> concats = new ArrayList<>();
+    private Map<Ast.Add, ConcatChain> chains = Map.of();
+
+    public BytecodeCompiler(ConstantFolder constants) {
+        this.constants = constants;
+    }
+
+    public Bytecode compile(Ast.Program prog) {
+        chains = ConcatChain.collect(prog, constants);
+        new Allocator().visitAll(prog.body);
+        constBase = varRegs.size();
+        tempBase = temps = maxRegs = constBase + constRegs.size();
+        for (Ast.Stmt s : prog.body) visit(s);
+        emit(Bytecode.HALT);
+        return new Bytecode(Arrays.copyOf(code, pc), constRegs.keySet().toArray(), constBase, maxRegs,
+                switches.toArray(new Bytecode.Switch[0]), lines.toArray(new OutputBuffer.Literal[0]),
+                concats.toArray(new Bytecode.Concat[0]));
+    }
+
+    // Pré-passo: registradores de variáveis e pool de constantes (literais, valores
+    // dobrados e textos das cadeias de concatenação)
+    private final class Allocator extends Ast.BaseVisitor<Void> {
+        @Override
+        protected Void visit(Ast.Node node) {
+            Object folded = constants.valueOf(node);
+            if (folded != null) {
+                constant(register(folded));
+                return null;
+            }
+            return super.visit(node);
+        }
+
+        @Override
+        public Void visitAdd(Ast.Add n) {
+            ConcatChain chain = chains.get(n);
+            if (chain != null) {
+                for (int k = 0; k < chain.size(); k++) if (chain.text(k) != null) constant(chain.text(k));
+            }
+            return super.visitAdd(n);
+        }
+
+        @Override
+        public Void visitDecl(Ast.Decl n) {
+            varRegs.putIfAbsent(n.slot, varRegs.size());
+            if (n.init == null) constant(Values.defaultFor(n.slot.type()));
+            return super.visitDecl(n);
+        }
+
+        @Override
+        public Void visitFor(Ast.For n) {
+            if (n.init instanceof Ast.Decl d) constant(Values.defaultFor(d.slot.type()));   // limpeza na entrada
+            return super.visitFor(n);
+        }
+
+        @Override
+        public Void visitLiteral(Ast.Literal n) {
+            constant(n.value);
+            return null;
+        }
+
+        @Override
+        public Void visitPrintText(Ast.PrintText n) {
+            constant(n.text);
+            return null;
+        }
+    }
+
+    // Booleanos ocupam o banco int[] como 0/1
+    private static Object register(Object v) {
+        return v instanceof Boolean b ? (b ? 1 : 0) : v;
+    }
+
+    private void constant(Object v) { constRegs.putIfAbsent(v, constRegs.size()); }
+    private int constReg(Object v)  { return constBase + constRegs.get(v); }
+    private int varReg(Ast.Slot slot) { return varRegs.get(slot); }
+
+    private int newTemp() {
+        int r = temps++;
+        maxRegs = Math.max(maxRegs, temps);
+        return r;
+    }
+
+    // ---------- Emissão ----------
+    private void emit(int op, int... operands) {
+        if (pc + operands.length + 1 > code.length) code = Arrays.copyOf(code, code.length * 2);
+        code[pc++] = op;
+        lastDst = (operands.length >= 2 && op != Bytecode.JF && op != Bytecode.JT
+                   && op != Bytecode.SWITCH_I && op != Bytecode.SWITCH_A) ? pc : -1;
+        for (int o : operands) code[pc++] = o;
+    }
+    private int emitJump(int op, int... operands) {
+        emit(op, operands);
+        return pc - 1;                        // posição do alvo, corrigida em patch()
+    }
+    private int label() {
+        lastDst = -1;                         // nada pode ser redirecionado através de um alvo de salto
+        return pc;
+    }
+    private void patch(int at, int target) { code[at] = target; }
+
+    private static int moveOp(SymbolTable.Type t) {
+        return switch (t) {
+            case INT, BOOL -> Bytecode.MOVE_I;
+            case FLOAT     -> Bytecode.MOVE_F;
+            default        -> Bytecode.MOVE_A;
+        };
+    }
+
+    private int unary(int op, int src) {
+        int dst = newTemp();
+        emit(op, dst, src);
+        return dst;
+    }
+
+    // Copia o valor de src (do tipo from) para um temporário do banco de 'to',
+    // como castTo; string/bool -> número falha com ClassCastException, como no interpretador
+    private int convert(int src, SymbolTable.Type from, SymbolTable.Type to) {
+        if (from == to) return src;
+        return switch (to) {
+            case INT -> from == SymbolTable.Type.FLOAT ? unary(Bytecode.F2I, src)
+                      : unary(Bytecode.A2I, convert(src, from, SymbolTable.Type.STRING));
+            case FLOAT -> from == SymbolTable.Type.INT ? unary(Bytecode.I2F, src)
+                      : unary(Bytecode.A2F, convert(src, from, SymbolTable.Type.STRING));
+            default -> unary(switch (from) {
+                case INT   -> Bytecode.TOSTR_I;
+                case FLOAT -> Bytecode.TOSTR_F;
+                default    -> Bytecode.TOSTR_B;
+            }, src);
+        };
+    }
+
+    // Registrador do int[] que é diferente de zero quando o valor é verdadeiro (Values.truthy)
+    private int truth(int src, SymbolTable.Type from) {
+        return switch (from) {
+            case INT, BOOL -> src;
+            case FLOAT     -> unary(Bytecode.BOOL_F, src);
+            default        -> unary(Bytecode.BOOL_A, src);
+        };
+    }
+
+    // Grava src no registrador da variável, convertendo como castTo
+    private void store(int dst, int src, SymbolTable.Type from, SymbolTable.Type to) {
+        src = convert(src, from, to);
+        if (src >= tempBase && lastDst >= 0 && code[lastDst] == src) code[lastDst] = dst;
+        else if (src != dst)                                          emit(moveOp(to), dst, src);
+    }
+
+    // Tipo em que dois valores são comparados por '==' (ver Values.equalsValue)
+    private static SymbolTable.Type equalityType(SymbolTable.Type a, SymbolTable.Type b) {
+        if (a == b) return a;
+        if (numeric(a) && numeric(b)) return SymbolTable.Type.FLOAT;
+        return SymbolTable.Type.STRING;
+    }
+
+    private static boolean numeric(SymbolTable.Type t) {
+        return t == SymbolTable.Type.INT || t == SymbolTable.Type.FLOAT;
+    }
+
+    private static int eqOp(SymbolTable.Type t, boolean equal) {
+        return switch (t) {
+            case INT, BOOL -> equal ? Bytecode.EQ_I : Bytecode.NE_I;
+            case FLOAT     -> equal ? Bytecode.EQ_F : Bytecode.NE_F;
+            default        -> equal ? Bytecode.EQ_A : Bytecode.NE_A;
+        };
+    }
+
+    private int binary(int op, int a, int b, int mark) {
+        temps = mark;
+        int dst = newTemp();
+        emit(op, dst, a, b);
+        return dst;
+    }
+
+    // ---------- Statements ----------
+    @Override
+    public Integer visitDecl(Ast.Decl n) {
+        Ast.Slot s = n.slot;
+        int dst = varRegs.get(s);
+        if (n.init != null) {
+            int mark = temps;
+            int v = visit(n.init);
+            store(dst, v, kind, s.type());
+            temps = mark;
+        } else {
+            emit(moveOp(s.type()), dst, constReg(Values.defaultFor(s.type())));
+        }
+        return -1;
+    }
+
+    @Override
+    public Integer visitAssign(Ast.Assign n) {
+        Ast.Slot s = n.slot;
+        int mark = temps;
+        int v = visit(n.value);
+        store(varRegs.get(s), v, kind, s.type());
+        temps = mark;
+        return -1;
+    }
+
+    @Override
+    public Integer visitBlock(Ast.Block n) {
+        for (Ast.Stmt s : n.body) visit(s);
+        return -1;
+    }
+
+    // ---------- Condições: desvios diretos, sem materializar booleano ----------
+    // Emite desvios tomados quando o valor de verdade de 'cond' for 'when'; as posições
+    // dos alvos vão para 'jumps' e são corrigidas por quem chamou. '||' e '&&' viram
+    // cadeias de desvios que param no primeiro operando que decide o resultado.
+    private void branch(Ast.Expr e, boolean when, List<Integer> jumps) {
+        Object folded = constants.valueOf(e);
+        if (folded != null) {
+            if (Values.truthy(folded) == when) jumps.add(emitJump(Bytecode.JMP, 0));
+            return;
+        }
+        List<Ast.Expr> operands = null;
+        boolean or = false;
+        if (e instanceof Ast.Or c) {
+            operands = OperatorChain.operands(c);
+            or = true;
+        } else if (e instanceof Ast.And c) {
+            operands = OperatorChain.operands(c);
+        }
+        if (operands != null) {
+            if (when == or) {
+                for (Ast.Expr op : operands) branch(op, when, jumps);
+            } else {
+                // só o último operando pode dar o resultado procurado; os outros pulam a cadeia
+                List<Integer> skip = new ArrayList<>();
+                for (int i = 0; i < operands.size() - 1; i++) branch(operands.get(i), or, skip);
+                branch(operands.get(operands.size() - 1), when, jumps);
+                patchAll(skip, label());
+            }
+        } else if (e instanceof Ast.Unary c && c.op == Ast.Op.NOT) {
+            branch(c.operand, !when, jumps);
+        } else {
+            int mark = temps;
+            int r = truth(visit(e), kind);
+            temps = mark;
+            jumps.add(emitJump(when ? Bytecode.JT : Bytecode.JF, r, 0));
+        }
+    }
+
+    private void patchAll(List<Integer> jumps, int target) {
+        for (int j : jumps) patch(j, target);
+    }
+
+    @Override
+    public Integer visitIf(Ast.If n) {
+        List<Integer> toElse = new ArrayList<>();
+        branch(n.cond, false, toElse);
+        visit(n.then);
+        if (n.otherwise != null) {
+            int jEnd = emitJump(Bytecode.JMP, 0);
+            patchAll(toElse, label());
+            visit(n.otherwise);
+            patch(jEnd, label());
+        } else {
+            patchAll(toElse, label());
+        }
+        return -1;
+    }
+
+    // Nos laços, a saída pela condição entra na mesma lista dos 'break'
+    @Override
+    public Integer visitWhile(Ast.While n) {
+        int top = label();
+        breaks.push(new ArrayList<>());
+        branch(n.cond, false, breaks.peek());
+        visit(n.body);
+        emit(Bytecode.JMP, top);
+        patchAll(breaks.pop(), label());
+        return -1;
+    }
+
+    @Override
+    public Integer visitDoWhile(Ast.DoWhile n) {
+        int top = label();
+        breaks.push(new ArrayList<>());
+        visit(n.body);
+        List<Integer> again = new ArrayList<>();
+        branch(n.cond, true, again);
+        patchAll(again, top);
+        patchAll(breaks.pop(), label());
+        return -1;
+    }
+
+    @Override
+    public Integer visitFor(Ast.For n) {
+        // Como no interpretador, a variável do for é limpa na entrada: 'int x = x;' não vê a
+        // volta anterior (blocos não declaram, então o escopo do for só tem ela)
+        if (n.init instanceof Ast.Decl d) {
+            emit(moveOp(d.slot.type()), varRegs.get(d.slot), constReg(Values.defaultFor(d.slot.type())));
+        }
+        if (n.init != null) visit(n.init);
+        int top = label();
+        breaks.push(new ArrayList<>());
+        if (n.cond != null) branch(n.cond, false, breaks.peek());
+        visit(n.body);
+        if (n.update != null) visit(n.update);
+        emit(Bytecode.JMP, top);
+        patchAll(breaks.pop(), label());
+        return -1;
+    }
+
+    @Override
+    public Integer visitBreak(Ast.Break n) {
+        breaks.peek().add(emitJump(Bytecode.JMP, 0));
+        return -1;
+    }
+
+    @Override
+    public Integer visitSwitch(Ast.Switch n) {
+        int mark = temps;
+        int key = visit(n.key);
+        SymbolTable.Type keyKind = kind;
+        var sections = n.sections;
+        SwitchTable table = SwitchTable.of(n);
+
+        // chave int com rótulos inteiros, ou string com rótulos string: um único salto por tabela
+        int[] targets = null;
+        int[] toBody = null;
+        int toDefault = -1;
+        if (keyKind == SymbolTable.Type.INT && table.intLabelsOnly()
+                || keyKind == SymbolTable.Type.STRING && table.stringLabelsOnly()) {
+            targets = new int[sections.size() + 1];
+            switches.add(new Bytecode.Switch(table, targets));
+            emit(keyKind == SymbolTable.Type.INT ? Bytecode.SWITCH_I : Bytecode.SWITCH_A, key, switches.size() - 1);
+            temps = mark;
+        } else {
+            int keyTop = temps;
+            toBody = new int[sections.size()];
+            for (int i = 0; i < sections.size(); i++) {
+                Ast.Expr label = sections.get(i).label;
+                int lr = label instanceof Ast.Var v ? varReg(v.slot) : constReg(sections.get(i).constant());
+                SymbolTable.Type lk = label.type;
+                SymbolTable.Type eq = equalityType(keyKind, lk);
+                int t = binary(eqOp(eq, true), convert(key, keyKind, eq), convert(lr, lk, eq), keyTop);
+                toBody[i] = emitJump(Bytecode.JT, t, 0);
+            }
+            temps = mark;
+            toDefault = emitJump(Bytecode.JMP, 0);
+        }
+
+        breaks.push(new ArrayList<>());
+        for (int i = 0; i < sections.size(); i++) {
+            int body = label();
+            if (targets != null) targets[i] = body;
+            else                 patch(toBody[i], body);
+            for (var s : sections.get(i).body) visit(s);
+        }
+        // seções casadas caem até o fim sem executar o default
+        int jEnd = n.otherwise != null ? emitJump(Bytecode.JMP, 0) : -1;
+        int dflt = label();
+        if (targets != null) targets[sections.size()] = dflt;
+        else                 patch(toDefault, dflt);
+        if (n.otherwise != null) {
+            for (var s : n.otherwise) visit(s);
+        }
+        int end = label();
+        if (jEnd >= 0) patch(jEnd, end);
+        for (int j : breaks.pop()) patch(j, end);
+        return -1;
+    }
+
+    @Override
+    public Integer visitPrintText(Ast.PrintText n) {
+        lines.add(new OutputBuffer.Literal(n.text));
+        emit(Bytecode.PRINT_S, lines.size() - 1);
+        return -1;
+    }
+
+    @Override
+    public Integer visitPrint(Ast.Print n) {
+        int mark = temps;
+        int v = visit(n.value);
+        emit(switch (kind) {
+            case INT   -> Bytecode.PRINT_I;
+            case FLOAT -> Bytecode.PRINT_F;
+            case BOOL  -> Bytecode.PRINT_B;
+            default    -> Bytecode.PRINT_A;
+        }, v);
+        temps = mark;
+        return -1;
+    }
+
+    @Override
+    public Integer visitRead(Ast.Read n) {
+        emit(switch (n.slot.type()) {
+            case INT   -> Bytecode.READ_I;
+            case FLOAT -> Bytecode.READ_F;
+            default    -> Bytecode.READ_A;
+        }, varReg(n.slot));
+        return -1;
+    }
+
+    // ---------- Expressões ----------
+    // Expressões dobradas pelo ConstantFolder leem direto o registrador da constante
+    private Integer visit(Ast.Node node) {
+        Object c = constants.valueOf(node);
+        if (c == null) return node.accept(this);
+        kind = Values.typeOf(c);
+        lastDst = -1;
+        return constReg(register(c));
+    }
+
+    @Override
+    public Integer visitOr(Ast.Or n) {
+        return logical(OperatorChain.operands(n), true);
+    }
+
+    @Override
+    public Integer visitAnd(Ast.And n) {
+        return logical(OperatorChain.operands(n), false);
+    }
+
+    // Valor 0/1 de '||' (or = true) ou '&&': cada operando é gravado em dst e,
+    // se já decidir o resultado, salta para o fim sem avaliar os seguintes
+    private int logical(List<Ast.Expr> operands, boolean or) {
+        int dst = newTemp();
+        List<Integer> done = new ArrayList<>();
+        for (int i = 0; i < operands.size(); i++) {
+            int v = visit(operands.get(i));
+            if (kind == SymbolTable.Type.INT) emit(Bytecode.BOOL_I, dst, v);
+            else                              store(dst, truth(v, kind), SymbolTable.Type.BOOL, SymbolTable.Type.BOOL);
+            temps = dst + 1;
+            if (i < operands.size() - 1) done.add(emitJump(or ? Bytecode.JT : Bytecode.JF, dst, 0));
+        }
+        patchAll(done, label());
+        kind = SymbolTable.Type.BOOL;
+        return dst;
+    }
+
+    @Override
+    public Integer visitEq(Ast.Eq n) {
+        int mark = temps;
+        int acc = visit(n.left);
+        SymbolTable.Type lk = kind;
+        int rhs = visit(n.right);
+        SymbolTable.Type eq = equalityType(lk, kind);
+        acc = binary(eqOp(eq, n.op == Ast.Op.EQ), convert(acc, lk, eq), convert(rhs, kind, eq), mark);
+        kind = SymbolTable.Type.BOOL;
+        return acc;
+    }
+
+    @Override
+    public Integer visitRel(Ast.Rel n) {
+        int mark = temps;
+        int acc = visit(n.left);
+        SymbolTable.Type lk = kind;
+        int rhs = visit(n.right);
+        boolean ints = lk == SymbolTable.Type.INT && kind == SymbolTable.Type.INT;
+        int opcode = switch (n.op) {
+            case LT -> ints ? Bytecode.LT_I : Bytecode.LT_F;
+            case GT -> ints ? Bytecode.GT_I : Bytecode.GT_F;
+            case LE -> ints ? Bytecode.LE_I : Bytecode.LE_F;
+            default -> ints ? Bytecode.GE_I : Bytecode.GE_F;
+        };
+        if (!ints) {
+            acc = convert(acc, lk, SymbolTable.Type.FLOAT);
+            rhs = convert(rhs, kind, SymbolTable.Type.FLOAT);
+        }
+        acc = binary(opcode, acc, rhs, mark);
+        kind = SymbolTable.Type.BOOL;
+        return acc;
+    }
+
+    @Override
+    public Integer visitAdd(Ast.Add n) {
+        int mark = temps;
+        ConcatChain chain = chains.get(n);
+        if (chain != null) {
+            int[] parts = new int[chain.size()];
+            for (int k = 0; k < parts.length; k++) {
+                if (chain.text(k) != null) {
+                    parts[k] = constReg(chain.text(k));
+                } else {
+                    int r = visit(chain.operand(k));
+                    parts[k] = convert(r, kind, SymbolTable.Type.STRING);
+                }
+            }
+            concats.add(new Bytecode.Concat(parts));
+            temps = mark;
+            int dst = newTemp();
+            emit(Bytecode.CONCAT_N, dst, concats.size() - 1);
+            kind = SymbolTable.Type.STRING;
+            return dst;
+        }
+        boolean plus = n.op == Ast.Op.ADD;
+        int acc = visit(n.left);
+        SymbolTable.Type lk = kind, rk;
+        int rhs = visit(n.right);
+        rk = kind;
+        kind = Values.resultType(lk, rk, n.op.symbol);
+        int opcode = switch (kind) {
+            case STRING -> Bytecode.CONCAT;
+            case FLOAT  -> plus ? Bytecode.ADD_F : Bytecode.SUB_F;
+            default     -> plus ? Bytecode.ADD_I : Bytecode.SUB_I;
+        };
+        return binary(opcode, convert(acc, lk, kind), convert(rhs, rk, kind), mark);
+    }
+
+    @Override
+    public Integer visitMul(Ast.Mul n) {
+        int mark = temps;
+        int acc = visit(n.left);
+        SymbolTable.Type lk = kind, rk;
+        int rhs = visit(n.right);
+        rk = kind;
+        kind = Values.resultType(lk, rk, n.op.symbol);
+        int opcode = n.op == Ast.Op.DIV ? Bytecode.DIV_F
+                   : kind == SymbolTable.Type.FLOAT ? Bytecode.MUL_F : Bytecode.MUL_I;
+        return binary(opcode, convert(acc, lk, kind), convert(rhs, rk, kind), mark);
+    }
+
+    @Override
+    public Integer visitUnary(Ast.Unary n) {
+        Ast.Op op = n.op;
+        int mark = temps;
+        int v = visit(n.operand);
+        if (op == Ast.Op.NOT) {
+            v = truth(v, kind);
+            kind = SymbolTable.Type.BOOL;
+        } else if (kind != SymbolTable.Type.FLOAT && kind != SymbolTable.Type.INT) {
+            v = convert(v, kind, SymbolTable.Type.INT);   // ((Number) v).intValue()
+            kind = SymbolTable.Type.INT;
+        }
+        if (op == Ast.Op.PLUS) return v;
+        temps = mark;
+        int dst = newTemp();
+        if (op == Ast.Op.NOT) {
+            emit(Bytecode.NOT, dst, v);
+        } else if (kind == SymbolTable.Type.FLOAT) {
+            emit(Bytecode.NEG_F, dst, v);
+        } else {
+            // negação inteira (com overflow) promovida a float, como no interpretador
+            emit(Bytecode.NEG_I, dst, v);
+            dst = convert(dst, SymbolTable.Type.INT, SymbolTable.Type.FLOAT);
+            kind = SymbolTable.Type.FLOAT;
+        }
+        return dst;
+    }
+
+    @Override
+    public Integer visitLiteral(Ast.Literal n) {
+        kind = n.type;
+        return constReg(n.value);
+    }
+
+    @Override
+    public Integer visitVar(Ast.Var n) {
+        kind = n.slot.type();
+        return varReg(n.slot);
+    }
+}
@@ -0,0 +1,113 @@
+import java.util.Objects;
+
+/**
+ * Executa o código de registradores produzido pelo BytecodeCompiler com um
+ * único laço de despacho por switch, sem revisitar a árvore sintática.
+ * Os registradores ficam em três bancos tipados (int[], double[], Object[]),
+ * de modo que laços numéricos rodam sem alocar objetos.
+ */
+public class BytecodeVM {
+    private final Bytecode program;
+    private final InputReader in;
+    private final OutputBuffer out;
+
+    public BytecodeVM(Bytecode program, InputReader in, OutputBuffer out) {
+        this.program = program;
+        this.in = in;
+        this.out = out;
+    }
+
+    public void run() {
+        final int[] code = program.code;
+        final int[] i = new int[program.registers];
+        final double[] f = new double[program.registers];
+        final Object[] a = new Object[program.registers];
+        for (int k = 0; k < program.constants.length; k++) {
+            Object c = program.constants[k];
+            int reg = program.constBase + k;
+            if (c instanceof Integer n)      i[reg] = n;
+            else if (c instanceof Double d)  f[reg] = d;
+            else                             a[reg] = c;
+        }
+
+        int pc = 0;
+        while (true) {
+            switch (code[pc]) {
+                case Bytecode.HALT    -> { return; }
+                case Bytecode.MOVE_I  -> { i[code[pc+1]] = i[code[pc+2]]; pc += 3; }
+                case Bytecode.MOVE_F  -> { f[code[pc+1]] = f[code[pc+2]]; pc += 3; }
+                case Bytecode.MOVE_A  -> { a[code[pc+1]] = a[code[pc+2]]; pc += 3; }
+                case Bytecode.I2F     -> { f[code[pc+1]] = i[code[pc+2]]; pc += 3; }
+                case Bytecode.F2I     -> { i[code[pc+1]] = (int) f[code[pc+2]]; pc += 3; }
+                case Bytecode.A2I     -> { i[code[pc+1]] = ((Number) a[code[pc+2]]).intValue(); pc += 3; }
+                case Bytecode.A2F     -> { f[code[pc+1]] = Values.toDouble(a[code[pc+2]]); pc += 3; }
+                case Bytecode.TOSTR_I -> { a[code[pc+1]] = String.valueOf(i[code[pc+2]]); pc += 3; }
+                case Bytecode.TOSTR_F -> { a[code[pc+1]] = String.valueOf(f[code[pc+2]]); pc += 3; }
+                case Bytecode.TOSTR_B -> { a[code[pc+1]] = String.valueOf(i[code[pc+2]] != 0); pc += 3; }
+                case Bytecode.BOOL_F  -> { i[code[pc+1]] = f[code[pc+2]] != 0.0 ? 1 : 0; pc += 3; }
+                case Bytecode.BOOL_A  -> { i[code[pc+1]] = Values.truthy(a[code[pc+2]]) ? 1 : 0; pc += 3; }
+                case Bytecode.BOOL_I  -> { i[code[pc+1]] = i[code[pc+2]] != 0 ? 1 : 0; pc += 3; }
+
+                case Bytecode.ADD_I  -> { i[code[pc+1]] = i[code[pc+2]] + i[code[pc+3]]; pc += 4; }
+                case Bytecode.SUB_I  -> { i[code[pc+1]] = i[code[pc+2]] - i[code[pc+3]]; pc += 4; }
+                case Bytecode.MUL_I  -> { i[code[pc+1]] = i[code[pc+2]] * i[code[pc+3]]; pc += 4; }
+                case Bytecode.ADD_F  -> { f[code[pc+1]] = f[code[pc+2]] + f[code[pc+3]]; pc += 4; }
+                case Bytecode.SUB_F  -> { f[code[pc+1]] = f[code[pc+2]] - f[code[pc+3]]; pc += 4; }
+                case Bytecode.MUL_F  -> { f[code[pc+1]] = f[code[pc+2]] * f[code[pc+3]]; pc += 4; }
+                case Bytecode.DIV_F  -> { f[code[pc+1]] = f[code[pc+2]] / f[code[pc+3]]; pc += 4; }
+                case Bytecode.CONCAT -> { a[code[pc+1]] = ConcatString.concat(a[code[pc+2]], a[code[pc+3]]); pc += 4; }
+
+                case Bytecode.CONCAT_N -> {
+                    int[] parts = program.concats[code[pc+2]].parts();
+                    String[] rest = new String[parts.length - 1];
+                    for (int k = 1; k < parts.length; k++) rest[k - 1] = Values.stringify(a[parts[k]]);
+                    a[code[pc+1]] = ConcatString.concat(a[parts[0]], rest);
+                    pc += 3;
+                }
+                case Bytecode.NEG_I -> { i[code[pc+1]] = -i[code[pc+2]]; pc += 3; }
+                case Bytecode.NEG_F -> { f[code[pc+1]] = -f[code[pc+2]]; pc += 3; }
+                case Bytecode.NOT   -> { i[code[pc+1]] = i[code[pc+2]] == 0 ? 1 : 0; pc += 3; }
+
+                case Bytecode.LT_I -> { i[code[pc+1]] = i[code[pc+2]] <  i[code[pc+3]] ? 1 : 0; pc += 4; }
+                case Bytecode.LE_I -> { i[code[pc+1]] = i[code[pc+2]] <= i[code[pc+3]] ? 1 : 0; pc += 4; }
+                case Bytecode.GT_I -> { i[code[pc+1]] = i[code[pc+2]] >  i[code[pc+3]] ? 1 : 0; pc += 4; }
+                case Bytecode.GE_I -> { i[code[pc+1]] = i[code[pc+2]] >= i[code[pc+3]] ? 1 : 0; pc += 4; }
+                case Bytecode.LT_F -> { i[code[pc+1]] = f[code[pc+2]] <  f[code[pc+3]] ? 1 : 0; pc += 4; }
+                case Bytecode.LE_F -> { i[code[pc+1]] = f[code[pc+2]] <= f[code[pc+3]] ? 1 : 0; pc += 4; }
+                case Bytecode.GT_F -> { i[code[pc+1]] = f[code[pc+2]] >  f[code[pc+3]] ? 1 : 0; pc += 4; }
+                case Bytecode.GE_F -> { i[code[pc+1]] = f[code[pc+2]] >= f[code[pc+3]] ? 1 : 0; pc += 4; }
+                case Bytecode.EQ_I -> { i[code[pc+1]] = i[code[pc+2]] == i[code[pc+3]] ? 1 : 0; pc += 4; }
+                case Bytecode.NE_I -> { i[code[pc+1]] = i[code[pc+2]] != i[code[pc+3]] ? 1 : 0; pc += 4; }
+                case Bytecode.EQ_F -> { i[code[pc+1]] = f[code[pc+2]] == f[code[pc+3]] ? 1 : 0; pc += 4; }
+                case Bytecode.NE_F -> { i[code[pc+1]] = f[code[pc+2]] != f[code[pc+3]] ? 1 : 0; pc += 4; }
+                case Bytecode.EQ_A -> { i[code[pc+1]] = Objects.equals(Values.flat(a[code[pc+2]]), Values.flat(a[code[pc+3]])) ? 1 : 0; pc += 4; }
+                case Bytecode.NE_A -> { i[code[pc+1]] = Objects.equals(Values.flat(a[code[pc+2]]), Values.flat(a[code[pc+3]])) ? 0 : 1; pc += 4; }
+
+                case Bytecode.JMP -> pc = code[pc+1];
+                case Bytecode.JF  -> pc = i[code[pc+1]] != 0 ? pc + 3 : code[pc+2];
+                case Bytecode.JT  -> pc = i[code[pc+1]] != 0 ? code[pc+2] : pc + 3;
+                case Bytecode.SWITCH_I -> {
+                    Bytecode.Switch sw = program.switches[code[pc+2]];
+                    int m = sw.table().matchInt(i[code[pc+1]]);
+                    pc = sw.targets()[m < 0 ? sw.targets().length - 1 : m];
+                }
+                case Bytecode.SWITCH_A -> {
+                    Bytecode.Switch sw = program.switches[code[pc+2]];
+                    int m = sw.table().matchString((String) Values.flat(a[code[pc+1]]));
+                    pc = sw.targets()[m < 0 ? sw.targets().length - 1 : m];
+                }
+
+                case Bytecode.PRINT_I -> { out.println(i[code[pc+1]]); pc += 2; }
+                case Bytecode.PRINT_F -> { out.println(f[code[pc+1]]); pc += 2; }
+                case Bytecode.PRINT_B -> { out.println(i[code[pc+1]] != 0); pc += 2; }
+                case Bytecode.PRINT_A -> { out.println(a[code[pc+1]]); pc += 2; }
+                case Bytecode.PRINT_S -> { out.println(program.lines[code[pc+1]]); pc += 2; }
+                case Bytecode.READ_I  -> { out.flush(); i[code[pc+1]] = in.readInt(); pc += 2; }
+                case Bytecode.READ_F  -> { out.flush(); f[code[pc+1]] = in.readDouble(); pc += 2; }
+                case Bytecode.READ_A  -> { out.flush(); a[code[pc+1]] = in.readLine(); pc += 2; }
+
+                default -> throw new IllegalStateException("Opcode inválido " + code[pc] + " em " + pc);
+            }
+        }
+    }
+}
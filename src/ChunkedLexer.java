@@ -0,0 +1,262 @@
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.misc.Interval;
+import org.antlr.v4.runtime.misc.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Lexer paralelo por trechos (--lexer=chunks): o fonte é cortado logo depois de
+ * ';' ou '}' fora de strings e comentários, cada trecho é lido por um
+ * TomLangLexer próprio no ForkJoinPool comum e os tokens são entregues ao
+ * parser em ordem, com índices deslocados para o arquivo inteiro. Cada lexer
+ * começa com a linha e a coluna do início do seu trecho (setLine /
+ * setCharPositionInLine), então linhas e colunas já saem certas. O parser
+ * consome o primeiro trecho enquanto os outros ainda estão sendo lidos.
+ *
+ * ';' e '}' são tokens de um caractere que nenhum outro token contém, a não ser
+ * strings e comentários; a profundidade de blocos não importa para o lexer.
+ * Sem erros léxicos o corte cai sempre entre dois tokens. Com erro, a
+ * recuperação do lexer pode engolir uma aspa e o corte seguinte deixar de
+ * valer, mas o primeiro erro do arquivo sempre aparece no seu próprio trecho:
+ * a partir do primeiro trecho com erro a leitura volta a ser sequencial, com o
+ * lexer original (e seus listeners), e as mensagens saem iguais às do modo inline.
+ */
+public final class ChunkedLexer implements TokenSource {
+
+    private static final int MIN_CHUNK = 1 << 18;    // caracteres
+    private static final int FIELDS = 6;              // tipo, canal, início, fim, linha, coluna
+
+    private enum Scan { CODE, STRING, ESCAPE, LINE_COMMENT, COMMENT_OPEN, BLOCK_COMMENT, COMMENT_CLOSE }
+
+    // Tokens de um trecho, com índices relativos ao trecho
+    private static final class Chunk {
+        int[] data = new int[1024 * FIELDS];
+        Map<Integer, String> texts;
+        int count;
+        boolean failed;                               // erro léxico no trecho
+    }
+
+    private final TomLangLexer lexer;
+    private final CharStream input;
+    private final Pair<TokenSource, CharStream> pair;
+    private final int[] starts, lines, columns;       // início de cada trecho
+    private final List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+    private TokenFactory<?> factory = CommonTokenFactory.DEFAULT;
+
+    private int current = -1;                         // trecho sendo entregue
+    private Chunk chunk;
+    private int next;
+    private boolean sequential;                       // lexer original, do trecho atual até o fim
+    private int offset;
+    private int line, column;                         // do último token entregue
+
+    public ChunkedLexer(TomLangLexer lexer) {
+        this.lexer = lexer;
+        this.input = lexer.getInputStream();
+        this.pair = new Pair<>(this, input);
+        int chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, input.size() / MIN_CHUNK));
+        List<int[]> cuts = cuts(input, chunks);
+        starts = new int[cuts.size()];
+        lines = new int[cuts.size()];
+        columns = new int[cuts.size()];
+        for (int i = 0; i < cuts.size(); i++) {
+            starts[i] = cuts.get(i)[0];
+            lines[i] = cuts.get(i)[1];
+            columns[i] = cuts.get(i)[2];
+        }
+        for (int i = 0; i < starts.length; i++) {
+            int k = i;
+            tasks.add(ForkJoinPool.commonPool().submit(() -> lex(k)));
+        }
+    }
+
+    // Pontos de corte (posição, linha, coluna), o primeiro no início do arquivo
+    private static List<int[]> cuts(CharStream input, int chunks) {
+        List<int[]> cuts = new ArrayList<>();
+        cuts.add(new int[] { 0, 1, 0 });
+        int n = input.size();
+        if (chunks == 1) return cuts;
+        int step = n / chunks, nextCut = step;
+        int line = 1, column = 0;
+        Scan state = Scan.CODE;
+        for (int i = 0; i < n; i++) {
+            int c = input.LA(i + 1);
+            switch (state) {
+                case CODE -> {
+                    if (c == '"') {
+                        state = Scan.STRING;
+                    } else if (c == '/' && input.LA(i + 2) == '/') {
+                        state = Scan.LINE_COMMENT;
+                    } else if (c == '/' && input.LA(i + 2) == '*') {
+                        state = Scan.COMMENT_OPEN;
+                    } else if ((c == ';' || c == '}') && i + 1 >= nextCut && i + 1 < n) {
+                        cuts.add(new int[] { i + 1, line, column + 1 });
+                        nextCut = i + 1 + step;
+                    }
+                }
+                case STRING -> {
+                    if (c == '\\') state = Scan.ESCAPE;
+                    else if (c == '"') state = Scan.CODE;
+                }
+                case ESCAPE -> state = Scan.STRING;
+                case LINE_COMMENT -> {
+                    if (c == '\r' || c == '\n') state = Scan.CODE;
+                }
+                case COMMENT_OPEN -> state = Scan.BLOCK_COMMENT;          // o '*' de '/*'
+                case BLOCK_COMMENT -> {
+                    if (c == '*' && input.LA(i + 2) == '/') state = Scan.COMMENT_CLOSE;
+                }
+                case COMMENT_CLOSE -> state = Scan.CODE;                  // o '/' de '*/'
+            }
+            if (c == '\n') {
+                line++;
+                column = 0;
+            } else {
+                column++;
+            }
+        }
+        return cuts;
+    }
+
+    private CharStream slice(int from, int to) {
+        if (input instanceof MappedCharStream m) return m.slice(from, to);
+        return CharStreams.fromString(input.getText(Interval.of(from, to - 1)), input.getSourceName());
+    }
+
+    // ---------- Threads do pool ----------
+    private Chunk lex(int i) {
+        Chunk out = new Chunk();
+        TomLangLexer l = new TomLangLexer(slice(starts[i], i + 1 < starts.length ? starts[i + 1] : input.size()));
+        l.setLine(lines[i]);
+        l.setCharPositionInLine(columns[i]);
+        l.removeErrorListeners();
+        l.addErrorListener(new BaseErrorListener() {
+            @Override
+            public void syntaxError(Recognizer<?, ?> r, Object symbol, int line, int column, String msg,
+                                    RecognitionException e) {
+                out.failed = true;
+            }
+        });
+        l.setTokenFactory(new TokenFactory<CommonToken>() {
+            private final CommonToken scratch = new CommonToken(Token.INVALID_TYPE);
+
+            @Override
+            public CommonToken create(Pair<TokenSource, CharStream> source, int type, String text, int channel,
+                                      int start, int stop, int line, int charPositionInLine) {
+                if ((out.count + 1) * FIELDS > out.data.length) out.data = Arrays.copyOf(out.data, out.data.length * 2);
+                int k = out.count * FIELDS;
+                out.data[k] = type;
+                out.data[k + 1] = channel;
+                out.data[k + 2] = start;
+                out.data[k + 3] = stop;
+                out.data[k + 4] = line;
+                out.data[k + 5] = charPositionInLine;
+                if (text != null) {
+                    if (out.texts == null) out.texts = new HashMap<>();
+                    out.texts.put(out.count, text);
+                }
+                out.count++;
+                scratch.setType(type);
+                return scratch;
+            }
+
+            @Override
+            public CommonToken create(int type, String text) {
+                return new CommonToken(type, text);
+            }
+        });
+        while (l.nextToken().getType() != Token.EOF && !out.failed) { }
+        return out;
+    }
+
+    // ---------- Thread do parser ----------
+    @Override
+    public Token nextToken() {
+        if (sequential) {
+            Token t = lexer.nextToken();
+            line = t.getLine();
+            column = t.getCharPositionInLine();
+            return t;
+        }
+        while (chunk == null || next == chunk.count) {
+            current++;
+            chunk = tasks.get(current).join();
+            tasks.set(current, null);
+            next = 0;
+            offset = starts[current];
+            if (chunk.failed) {
+                fallBack();
+                return nextToken();
+            }
+        }
+        int k = next * FIELDS;
+        int[] d = chunk.data;
+        if (d[k] == Token.EOF && current < starts.length - 1) {   // fim de um trecho intermediário
+            next = chunk.count;
+            return nextToken();
+        }
+        String text = chunk.texts != null ? chunk.texts.get(next) : null;
+        if (d[k] != Token.EOF) next++;               // depois do fim, sempre o EOF de novo
+        line = d[k + 4];
+        column = d[k + 5];
+        return factory.create(pair, d[k], text, d[k + 1], d[k + 2] + offset, d[k + 3] + offset, line, column);
+    }
+
+    // Do trecho atual até o fim, o lexer original lê sozinho e reporta os erros
+    private void fallBack() {
+        for (int i = current + 1; i < tasks.size(); i++) tasks.get(i).cancel(false);
+        chunk = null;
+        sequential = true;
+        lexer.setInputStream(slice(offset, input.size()));
+        lexer.setLine(lines[current]);
+        lexer.setCharPositionInLine(columns[current]);
+        lexer.setTokenFactory(new TokenFactory<Token>() {
+            @Override
+            public Token create(Pair<TokenSource, CharStream> source, int type, String text, int channel,
+                                int start, int stop, int line, int charPositionInLine) {
+                return factory.create(pair, type, text, channel, start + offset, stop + offset, line, charPositionInLine);
+            }
+
+            @Override
+            public Token create(int type, String text) {
+                return factory.create(type, text);
+            }
+        });
+    }
+
+    @Override
+    public int getLine() {
+        return line;
+    }
+
+    @Override
+    public int getCharPositionInLine() {
+        return column;
+    }
+
+    @Override
+    public CharStream getInputStream() {
+        return input;
+    }
+
+    @Override
+    public String getSourceName() {
+        return input.getSourceName();
+    }
+
+    @Override
+    public void setTokenFactory(TokenFactory<?> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public TokenFactory<?> getTokenFactory() {
+        return factory;
+    }
+}
@@ -0,0 +1,483 @@
+import java.util.*;
+
+/**
+ * Compila a Ast verificada, uma única vez, em uma árvore de lambdas já
+ * ligadas (--engine=closure). Operadores, literais, slots e conversões são
+ * resolvidos na compilação; na execução só restam chamadas entre closures.
+ *
+ * Cada expressão vira um avaliador tipado pelo seu tipo em execução
+ * (Ast.Expr.type): IntEval, DoubleEval, BoolEval ou RefEval (strings e valores
+ * genéricos). As variáveis ficam em bancos separados do Frame (int[],
+ * double[], Object[]), como os registradores da BytecodeVM.
+ */
+public class ClosureCompiler implements Ast.Visitor<Object> {
+
+    public static final class Frame {
+        final int[] ints;
+        final double[] doubles;
+        final Object[] refs;
+        final InputReader in;
+        final OutputBuffer out;
+
+        Frame(int size, InputReader in, OutputBuffer out) {
+            this.ints = new int[size];
+            this.doubles = new double[size];
+            this.refs = new Object[size];
+            this.in = in;
+            this.out = out;
+        }
+    }
+
+    @FunctionalInterface interface IntEval    { int eval(Frame f); }
+    @FunctionalInterface interface DoubleEval { double eval(Frame f); }
+    @FunctionalInterface interface BoolEval   { boolean eval(Frame f); }
+    @FunctionalInterface interface RefEval    { Object eval(Frame f); }
+    // Comandos devolvem true quando um 'break' deve interromper o laço/switch envolvente
+    @FunctionalInterface interface Exec       { boolean exec(Frame f); }
+
+    /** Programa compilado: comandos de topo e o tamanho dos bancos de variáveis. */
+    public static final class Program {
+        private final Exec body;
+        private final int locals;
+
+        Program(Exec body, int locals) {
+            this.body = body;
+            this.locals = locals;
+        }
+
+        public void run(InputReader in, OutputBuffer out) {
+            body.exec(new Frame(locals, in, out));
+        }
+    }
+
+    private final ConstantFolder constants;
+    private final Map<Ast.Slot, Integer> locals = new HashMap<>();
+    private Map<Ast.Add, ConcatChain> chains = Map.of();
+
+    public ClosureCompiler(ConstantFolder constants) {
+        this.constants = constants;
+    }
+
+    public Program compile(Ast.Program prog) {
+        chains = ConcatChain.collect(prog, constants);
+        return new Program(stmts(prog.body), locals.size());
+    }
+
+    private int local(Ast.Slot slot) {
+        return locals.computeIfAbsent(slot, s -> locals.size());
+    }
+
+    private Exec exec(Ast.Stmt node) { return (Exec) node.accept(this); }
+
+    private Exec sequence(List<Exec> body) {
+        Exec[] stmts = body.toArray(new Exec[0]);
+        return switch (stmts.length) {
+            case 0 -> f -> false;
+            case 1 -> stmts[0];
+            default -> f -> {
+                for (Exec s : stmts) {
+                    if (s.exec(f)) return true;
+                }
+                return false;
+            };
+        };
+    }
+
+    private Exec stmts(List<Ast.Stmt> list) {
+        List<Exec> body = new ArrayList<>();
+        for (var s : list) body.add(exec(s));
+        return sequence(body);
+    }
+
+    // ---------- Conversões entre avaliadores (mesma semântica de Values) ----------
+    private static IntEval asInt(Object e, SymbolTable.Type t) {
+        return switch (t) {
+            case INT   -> (IntEval) e;
+            case FLOAT -> { DoubleEval d = (DoubleEval) e; yield f -> (int) d.eval(f); }
+            default    -> { RefEval o = asObject(e, t); yield f -> ((Number) o.eval(f)).intValue(); }
+        };
+    }
+
+    private static DoubleEval asDouble(Object e, SymbolTable.Type t) {
+        return switch (t) {
+            case INT   -> { IntEval i = (IntEval) e; yield f -> i.eval(f); }
+            case FLOAT -> (DoubleEval) e;
+            default    -> { RefEval o = asObject(e, t); yield f -> Values.toDouble(o.eval(f)); }
+        };
+    }
+
+    private static BoolEval asBool(Object e, SymbolTable.Type t) {
+        return switch (t) {
+            case INT   -> { IntEval i = (IntEval) e; yield f -> i.eval(f) != 0; }
+            case FLOAT -> { DoubleEval d = (DoubleEval) e; yield f -> d.eval(f) != 0.0; }
+            case BOOL  -> (BoolEval) e;
+            default    -> { RefEval o = (RefEval) e; yield f -> Values.truthy(o.eval(f)); }
+        };
+    }
+
+    private static RefEval asString(Object e, SymbolTable.Type t) {
+        return switch (t) {
+            case INT   -> { IntEval i = (IntEval) e; yield f -> String.valueOf(i.eval(f)); }
+            case FLOAT -> { DoubleEval d = (DoubleEval) e; yield f -> String.valueOf(d.eval(f)); }
+            case BOOL  -> { BoolEval b = (BoolEval) e; yield f -> String.valueOf(b.eval(f)); }
+            default    -> { RefEval o = (RefEval) e; yield f -> { Object v = o.eval(f); return Values.isText(v) ? v : Values.stringify(v); }; }
+        };
+    }
+
+    private static RefEval asObject(Object e, SymbolTable.Type t) {
+        return switch (t) {
+            case INT   -> { IntEval i = (IntEval) e; yield f -> i.eval(f); }
+            case FLOAT -> { DoubleEval d = (DoubleEval) e; yield f -> d.eval(f); }
+            case BOOL  -> { BoolEval b = (BoolEval) e; yield f -> b.eval(f); }
+            default    -> (RefEval) e;
+        };
+    }
+
+    // Expressões dobradas pelo ConstantFolder viram avaliadores constantes
+    private Object visit(Ast.Expr node) {
+        Object c = constants.valueOf(node);
+        if (c == null) return node.accept(this);
+        if (c instanceof Integer n) return (IntEval) f -> n;
+        if (c instanceof Double d)  return (DoubleEval) f -> d;
+        if (c instanceof Boolean b) return (BoolEval) f -> b;
+        return (RefEval) f -> c;
+    }
+
+    private Object expr(Ast.Expr e)        { return visit(e); }
+    private IntEval asInt(Ast.Expr e)      { return asInt(visit(e), e.type); }
+    private DoubleEval asDouble(Ast.Expr e){ return asDouble(visit(e), e.type); }
+    private BoolEval asBool(Ast.Expr e)    { return asBool(visit(e), e.type); }
+    private RefEval asString(Ast.Expr e)   { return asString(visit(e), e.type); }
+
+    private static boolean numeric(SymbolTable.Type t) {
+        return t == SymbolTable.Type.INT || t == SymbolTable.Type.FLOAT;
+    }
+
+    // ---------- Statements ----------
+    @Override
+    public Object visitDecl(Ast.Decl n) {
+        return n.init != null ? store(n.slot, n.init) : reset(n.slot);
+    }
+
+    // Grava o valor padrão do tipo
+    private Exec reset(Ast.Slot slot) {
+        int idx = local(slot);
+        return switch (slot.type()) {
+            case INT   -> (Exec) f -> { f.ints[idx] = 0; return false; };
+            case FLOAT -> (Exec) f -> { f.doubles[idx] = 0.0; return false; };
+            default    -> (Exec) f -> { f.refs[idx] = ""; return false; };
+        };
+    }
+
+    @Override
+    public Object visitAssign(Ast.Assign n) {
+        return store(n.slot, n.value);
+    }
+
+    // Grava o valor na variável convertendo como Values.castTo
+    private Exec store(Ast.Slot target, Ast.Expr value) {
+        int idx = local(target);
+        return switch (target.type()) {
+            case INT -> {
+                IntEval e = asInt(value);
+                yield f -> { f.ints[idx] = e.eval(f); return false; };
+            }
+            case FLOAT -> {
+                DoubleEval e = asDouble(value);
+                yield f -> { f.doubles[idx] = e.eval(f); return false; };
+            }
+            default -> {
+                RefEval e = asString(value);
+                yield f -> { f.refs[idx] = e.eval(f); return false; };
+            }
+        };
+    }
+
+    @Override
+    public Object visitBlock(Ast.Block n) {
+        return stmts(n.body);
+    }
+
+    @Override
+    public Object visitIf(Ast.If n) {
+        BoolEval cond = asBool(n.cond);
+        Exec then = exec(n.then);
+        if (n.otherwise == null) return (Exec) f -> cond.eval(f) && then.exec(f);
+        Exec otherwise = exec(n.otherwise);
+        return (Exec) f -> cond.eval(f) ? then.exec(f) : otherwise.exec(f);
+    }
+
+    @Override
+    public Object visitWhile(Ast.While n) {
+        BoolEval cond = asBool(n.cond);
+        Exec body = exec(n.body);
+        return (Exec) f -> {
+            while (cond.eval(f)) {
+                if (body.exec(f)) break;
+            }
+            return false;
+        };
+    }
+
+    @Override
+    public Object visitDoWhile(Ast.DoWhile n) {
+        Exec body = exec(n.body);
+        BoolEval cond = asBool(n.cond);
+        return (Exec) f -> {
+            do {
+                if (body.exec(f)) break;
+            } while (cond.eval(f));
+            return false;
+        };
+    }
+
+    @Override
+    public Object visitFor(Ast.For n) {
+        // Como no interpretador, a variável do for é limpa na entrada: 'int x = x;' não vê a
+        // volta anterior (blocos não declaram, então o escopo do for só tem ela)
+        Exec reset = n.init instanceof Ast.Decl d ? reset(d.slot) : f -> false;
+        Exec init = n.init != null ? exec(n.init) : f -> false;
+        BoolEval cond = n.cond != null ? asBool(n.cond) : f -> true;
+        Exec update = n.update != null ? exec(n.update) : f -> false;
+        Exec body = exec(n.body);
+        return (Exec) f -> {
+            reset.exec(f);
+            init.exec(f);
+            while (cond.eval(f)) {
+                if (body.exec(f)) break;
+                update.exec(f);
+            }
+            return false;
+        };
+    }
+
+    @Override
+    public Object visitBreak(Ast.Break n) {
+        return (Exec) f -> true;
+    }
+
+    @Override
+    public Object visitSwitch(Ast.Switch n) {
+        var sections = n.sections;
+        RefEval[] labels = new RefEval[sections.size()];       // só nas seções com rótulo ID
+        Exec[] bodies = new Exec[sections.size()];
+        for (int i = 0; i < labels.length; i++) {
+            if (sections.get(i).label instanceof Ast.Var v) labels[i] = asObject(load(v.slot), v.type);
+            bodies[i] = stmts(sections.get(i).body);
+        }
+        SwitchTable table = SwitchTable.of(n);
+        Exec otherwise = n.otherwise != null ? stmts(n.otherwise) : f -> false;
+
+        IntEval intKey;
+        RefEval key;
+        if (n.key.type == SymbolTable.Type.INT && table.intLabelsOnly()) {
+            intKey = (IntEval) expr(n.key);
+            key = null;
+        } else {
+            intKey = null;
+            key = asObject(expr(n.key), n.key.type);
+        }
+        return (Exec) f -> {
+            int first = intKey != null ? table.matchInt(intKey.eval(f)) : table.match(key.eval(f), i -> labels[i].eval(f));
+            if (first < 0) {
+                otherwise.exec(f);
+                return false;
+            }
+            // queda livre pelas seções seguintes até um 'break'
+            for (int j = first; j < bodies.length; j++) {
+                if (bodies[j].exec(f)) break;
+            }
+            return false;
+        };
+    }
+
+    @Override
+    public Object visitPrintText(Ast.PrintText n) {
+        OutputBuffer.Literal line = new OutputBuffer.Literal(n.text);
+        return (Exec) f -> { f.out.println(line); return false; };
+    }
+
+    @Override
+    public Object visitPrint(Ast.Print n) {
+        Object e = expr(n.value);
+        return switch (n.value.type) {
+            case INT   -> { IntEval v = (IntEval) e;       yield (Exec) f -> { f.out.println(v.eval(f)); return false; }; }
+            case FLOAT -> { DoubleEval v = (DoubleEval) e; yield (Exec) f -> { f.out.println(v.eval(f)); return false; }; }
+            case BOOL  -> { BoolEval v = (BoolEval) e;     yield (Exec) f -> { f.out.println(v.eval(f)); return false; }; }
+            default    -> { RefEval v = (RefEval) e;       yield (Exec) f -> { f.out.println(v.eval(f)); return false; }; }
+        };
+    }
+
+    @Override
+    public Object visitRead(Ast.Read n) {
+        int idx = local(n.slot);
+        return switch (n.slot.type()) {
+            case INT   -> (Exec) f -> { f.out.flush(); f.ints[idx] = f.in.readInt(); return false; };
+            case FLOAT -> (Exec) f -> { f.out.flush(); f.doubles[idx] = f.in.readDouble(); return false; };
+            default    -> (Exec) f -> { f.out.flush(); f.refs[idx] = f.in.readLine(); return false; };
+        };
+    }
+
+    // ---------- Expressões ----------
+    @Override
+    public Object visitOr(Ast.Or n) {
+        BoolEval a = asBool(n.left), b = asBool(n.right);
+        return (BoolEval) f -> a.eval(f) || b.eval(f);
+    }
+
+    @Override
+    public Object visitAnd(Ast.And n) {
+        BoolEval a = asBool(n.left), b = asBool(n.right);
+        return (BoolEval) f -> a.eval(f) && b.eval(f);
+    }
+
+    @Override
+    public Object visitEq(Ast.Eq n) {
+        Object lhs = expr(n.left);
+        SymbolTable.Type t = n.left.type;
+        boolean negate = n.op == Ast.Op.NE;
+        SymbolTable.Type rt = n.right.type;
+        Object rhs = expr(n.right);
+        if (t == SymbolTable.Type.INT && rt == SymbolTable.Type.INT) {
+            IntEval a = (IntEval) lhs, b = (IntEval) rhs;
+            return negate ? (BoolEval) f -> a.eval(f) != b.eval(f) : (BoolEval) f -> a.eval(f) == b.eval(f);
+        } else if (numeric(t) && numeric(rt)) {
+            DoubleEval a = asDouble(lhs, t), b = asDouble(rhs, rt);
+            return negate ? (BoolEval) f -> a.eval(f) != b.eval(f) : (BoolEval) f -> a.eval(f) == b.eval(f);
+        } else {
+            RefEval a = asObject(lhs, t), b = asObject(rhs, rt);
+            return negate ? (BoolEval) f -> !Values.equalsValue(a.eval(f), b.eval(f)) : (BoolEval) f -> Values.equalsValue(a.eval(f), b.eval(f));
+        }
+    }
+
+    @Override
+    public Object visitRel(Ast.Rel n) {
+        Object lhs = expr(n.left);
+        SymbolTable.Type t = n.left.type;
+        Ast.Op op = n.op;
+        SymbolTable.Type rt = n.right.type;
+        Object rhs = expr(n.right);
+        if (t == SymbolTable.Type.INT && rt == SymbolTable.Type.INT) {
+            IntEval a = (IntEval) lhs, b = (IntEval) rhs;
+            return switch (op) {
+                case LT -> (BoolEval) f -> a.eval(f) <  b.eval(f);
+                case GT -> (BoolEval) f -> a.eval(f) >  b.eval(f);
+                case LE -> (BoolEval) f -> a.eval(f) <= b.eval(f);
+                default -> (BoolEval) f -> a.eval(f) >= b.eval(f);
+            };
+        }
+        DoubleEval a = asDouble(lhs, t), b = asDouble(rhs, rt);
+        return switch (op) {
+            case LT -> (BoolEval) f -> a.eval(f) <  b.eval(f);
+            case GT -> (BoolEval) f -> a.eval(f) >  b.eval(f);
+            case LE -> (BoolEval) f -> a.eval(f) <= b.eval(f);
+            default -> (BoolEval) f -> a.eval(f) >= b.eval(f);
+        };
+    }
+
+    @Override
+    public Object visitAdd(Ast.Add n) {
+        ConcatChain chain = chains.get(n);
+        if (chain != null) return concat(chain);
+        Object lhs = expr(n.left);
+        SymbolTable.Type t = n.left.type;
+        boolean plus = n.op == Ast.Op.ADD;
+        SymbolTable.Type rt = n.right.type;
+        Object rhs = expr(n.right);
+        switch (n.type) {
+            case STRING -> {
+                RefEval a = asString(lhs, t), b = asString(rhs, rt);
+                return (RefEval) f -> ConcatString.concat(a.eval(f), b.eval(f));
+            }
+            case FLOAT -> {
+                DoubleEval a = asDouble(lhs, t), b = asDouble(rhs, rt);
+                return plus ? (DoubleEval) f -> a.eval(f) + b.eval(f) : (DoubleEval) f -> a.eval(f) - b.eval(f);
+            }
+            default -> {
+                IntEval a = asInt(lhs, t), b = asInt(rhs, rt);
+                return plus ? (IntEval) f -> a.eval(f) + b.eval(f) : (IntEval) f -> a.eval(f) - b.eval(f);
+            }
+        }
+    }
+
+    // Cadeia de '+' de strings montada de uma vez (ConcatChain)
+    private RefEval concat(ConcatChain chain) {
+        RefEval[] parts = new RefEval[chain.size()];
+        for (int i = 0; i < parts.length; i++) {
+            String text = chain.text(i);
+            parts[i] = text != null ? f -> text : asString(chain.operand(i));
+        }
+        RefEval head = parts[0];
+        return f -> {
+            Object h = head.eval(f);
+            String[] rest = new String[parts.length - 1];
+            for (int i = 1; i < parts.length; i++) rest[i - 1] = Values.stringify(parts[i].eval(f));
+            return ConcatString.concat(h, rest);
+        };
+    }
+
+    @Override
+    public Object visitMul(Ast.Mul n) {
+        Object lhs = expr(n.left);
+        SymbolTable.Type t = n.left.type;
+        SymbolTable.Type rt = n.right.type;
+        Object rhs = expr(n.right);
+        if (n.type == SymbolTable.Type.FLOAT) {
+            DoubleEval a = asDouble(lhs, t), b = asDouble(rhs, rt);
+            return n.op == Ast.Op.DIV ? (DoubleEval) f -> a.eval(f) / b.eval(f) : (DoubleEval) f -> a.eval(f) * b.eval(f);
+        }
+        IntEval a = asInt(lhs, t), b = asInt(rhs, rt);
+        return (IntEval) f -> a.eval(f) * b.eval(f);
+    }
+
+    @Override
+    public Object visitUnary(Ast.Unary n) {
+        SymbolTable.Type t = n.operand.type;
+        Object v = expr(n.operand);
+        switch (n.op) {
+            case NOT -> {
+                BoolEval b = asBool(v, t);
+                return (BoolEval) f -> !b.eval(f);
+            }
+            case NEG -> {
+                if (t == SymbolTable.Type.FLOAT) {
+                    DoubleEval d = (DoubleEval) v;
+                    return (DoubleEval) f -> -d.eval(f);
+                }
+                IntEval i = asInt(v, t);
+                return (DoubleEval) f -> -i.eval(f);       // negação inteira promovida a float, como no interpretador
+            }
+            default -> {
+                return t == SymbolTable.Type.FLOAT ? v : asInt(v, t);
+            }
+        }
+    }
+
+    @Override
+    public Object visitLiteral(Ast.Literal n) {
+        if (n.value instanceof Integer i) {
+            int v = i;
+            return (IntEval) f -> v;
+        }
+        if (n.value instanceof Double d) {
+            double v = d;
+            return (DoubleEval) f -> v;
+        }
+        Object v = n.value;
+        return (RefEval) f -> v;
+    }
+
+    @Override
+    public Object visitVar(Ast.Var n) {
+        return load(n.slot);
+    }
+
+    private Object load(Ast.Slot slot) {
+        int idx = local(slot);
+        return switch (slot.type()) {
+            case INT   -> (IntEval) f -> f.ints[idx];
+            case FLOAT -> (DoubleEval) f -> f.doubles[idx];
+            default    -> (RefEval) f -> f.refs[idx];
+        };
+    }
+}
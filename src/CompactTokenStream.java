@@ -0,0 +1,256 @@
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.misc.Interval;
+import org.antlr.v4.runtime.misc.Pair;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Substitui o CommonTokenStream: em vez de guardar um CommonToken por token do
+ * arquivo, guarda tipo, início/fim no texto, linha e coluna em arrays int
+ * paralelos (20 bytes por token). O parser recebe visões (View) de poucos
+ * campos, criadas sob demanda; o texto de cada token é lido do CharStream.
+ *
+ * O stream também é a TokenFactory do lexer: durante a leitura o lexer
+ * preenche sempre o mesmo token de rascunho, copiado para os arrays. Tokens
+ * criados fora da leitura (os inventados pela recuperação de erros do parser)
+ * são CommonToken normais. Lido o EOF, o lexer volta à fábrica padrão: se ele
+ * sobreviver ao parse, não prende o stream e seus arrays.
+ *
+ * Como no CommonTokenStream, o parser só enxerga o canal padrão: tokens de
+ * outros canais são descartados (a gramática não usa canais).
+ */
+public final class CompactTokenStream implements TokenStream, TokenFactory<CommonToken> {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final TokenSource source;
+    private int[] types = new int[INITIAL_CAPACITY];
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] stops = new int[INITIAL_CAPACITY];
+    private int[] lines = new int[INITIAL_CAPACITY];
+    private int[] columns = new int[INITIAL_CAPACITY];
+    private final Map<Integer, String> texts = new HashMap<>();   // só tokens com texto trocado pelo lexer
+    private int size = 0;
+    private int p = 0;
+    private boolean fetchedEOF = false;
+
+    private boolean reading = false;
+    private CommonToken scratch;
+    private String scratchText;          // texto dado pelo lexer (setText), raro
+    private View last;                   // a mesma visão atende LT(1), enterRule e o nó terminal
+
+    public CompactTokenStream(TokenSource source) {
+        this.source = source;
+        source.setTokenFactory(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // ---------- Leitura dos tokens ----------
+    // Garante que o token i foi lido, se o arquivo tiver tantos
+    private boolean sync(int i) {
+        while (size <= i && !fetchedEOF) fetch();
+        return i < size;
+    }
+
+    private void fetch() {
+        reading = true;
+        Token t;
+        try {
+            t = source.nextToken();
+        } finally {
+            reading = false;
+        }
+        if (t.getChannel() != Token.DEFAULT_CHANNEL) return;
+        if (size == types.length) grow();
+        types[size] = t.getType();
+        starts[size] = t.getStartIndex();
+        stops[size] = t.getStopIndex();
+        lines[size] = t.getLine();
+        columns[size] = t.getCharPositionInLine();
+        if (t == scratch && scratchText != null) texts.put(size, scratchText);
+        size++;
+        if (t.getType() == Token.EOF) {
+            fetchedEOF = true;
+            source.setTokenFactory(CommonTokenFactory.DEFAULT);
+        }
+    }
+
+    private void grow() {
+        int n = types.length * 2;
+        types = Arrays.copyOf(types, n);
+        starts = Arrays.copyOf(starts, n);
+        stops = Arrays.copyOf(stops, n);
+        lines = Arrays.copyOf(lines, n);
+        columns = Arrays.copyOf(columns, n);
+    }
+
+    private void fill() {
+        while (!fetchedEOF) fetch();
+    }
+
+    private Token view(int i) {
+        View v = last;
+        if (v == null || v.index != i) last = v = new View(i);
+        return v;
+    }
+
+    // Mesmo texto do CommonToken: trecho do CharStream, ou "<EOF>" fora dele
+    private String text(int i) {
+        String t = texts.get(i);
+        if (t != null) return t;
+        CharStream input = source.getInputStream();
+        if (input == null) return null;
+        int n = input.size();
+        if (starts[i] < n && stops[i] < n) return input.getText(Interval.of(starts[i], stops[i]));
+        return "<EOF>";
+    }
+
+    // ---------- TokenFactory ----------
+    @Override
+    public CommonToken create(Pair<TokenSource, CharStream> pair, int type, String text, int channel,
+                              int start, int stop, int line, int charPositionInLine) {
+        if (!reading) {
+            return CommonTokenFactory.DEFAULT.create(pair, type, text, channel, start, stop, line, charPositionInLine);
+        }
+        if (scratch == null || scratch.getTokenSource() != pair.a) {
+            scratch = new CommonToken(pair, type, channel, start, stop);
+        }
+        scratch.setType(type);
+        scratch.setChannel(channel);
+        scratch.setStartIndex(start);
+        scratch.setStopIndex(stop);
+        scratch.setLine(line);
+        scratch.setCharPositionInLine(charPositionInLine);
+        scratchText = text;
+        return scratch;
+    }
+
+    @Override
+    public CommonToken create(int type, String text) {
+        return new CommonToken(type, text);
+    }
+
+    // ---------- TokenStream (mesmo comportamento do BufferedTokenStream) ----------
+    @Override
+    public Token LT(int k) {
+        if (k == 0) return null;
+        if (k < 0) return p + k < 0 ? null : view(p + k);
+        int i = p + k - 1;
+        if (!sync(i)) i = size - 1;      // depois do fim, sempre o EOF
+        return view(i);
+    }
+
+    @Override
+    public int LA(int i) {
+        if (i == 0) return 0;
+        if (i < 0) return p + i < 0 ? 0 : types[p + i];
+        int k = p + i - 1;
+        if (!sync(k)) k = size - 1;
+        return types[k];
+    }
+
+    @Override
+    public Token get(int index) {
+        if (index < 0 || !sync(index)) {
+            throw new IndexOutOfBoundsException("token index " + index + " out of range 0.." + (size - 1));
+        }
+        return view(index);
+    }
+
+    @Override
+    public void consume() {
+        if (LA(1) == Token.EOF) throw new IllegalStateException("cannot consume EOF");
+        p++;
+        sync(p);
+    }
+
+    @Override
+    public int mark() {
+        return 0;
+    }
+
+    @Override
+    public void release(int marker) {
+    }
+
+    @Override
+    public int index() {
+        return p;
+    }
+
+    @Override
+    public void seek(int index) {
+        sync(index);
+        p = Math.min(index, size - 1);
+    }
+
+    @Override
+    public String getSourceName() {
+        return source.getSourceName();
+    }
+
+    @Override
+    public TokenSource getTokenSource() {
+        return source;
+    }
+
+    @Override
+    public String getText(Interval interval) {
+        int start = interval.a, stop = interval.b;
+        if (start < 0 || stop < 0) return "";
+        sync(stop);
+        stop = Math.min(stop, size - 1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = start; i <= stop && types[i] != Token.EOF; i++) sb.append(text(i));
+        return sb.toString();
+    }
+
+    @Override
+    public String getText() {
+        fill();
+        return getText(Interval.of(0, size - 1));
+    }
+
+    @Override
+    public String getText(RuleContext ctx) {
+        return getText(ctx.getSourceInterval());
+    }
+
+    @Override
+    public String getText(Token start, Token stop) {
+        if (start == null || stop == null) return "";
+        return getText(Interval.of(start.getTokenIndex(), stop.getTokenIndex()));
+    }
+
+    // Token visto pelo parser: só o índice; os campos ficam nos arrays do stream
+    private final class View implements Token {
+        final int index;
+
+        View(int index) {
+            this.index = index;
+        }
+
+        @Override public String getText()                { return text(index); }
+        @Override public int getType()                   { return types[index]; }
+        @Override public int getLine()                   { return lines[index]; }
+        @Override public int getCharPositionInLine()     { return columns[index]; }
+        @Override public int getChannel()                { return DEFAULT_CHANNEL; }
+        @Override public int getTokenIndex()             { return index; }
+        @Override public int getStartIndex()             { return starts[index]; }
+        @Override public int getStopIndex()              { return stops[index]; }
+        @Override public TokenSource getTokenSource()    { return source; }
+        @Override public CharStream getInputStream()     { return source.getInputStream(); }
+
+        @Override
+        public String toString() {
+            return "[@" + index + "," + getStartIndex() + ":" + getStopIndex() + "='" + getText() + "',<"
+                    + getType() + ">," + getLine() + ":" + getCharPositionInLine() + "]";
+        }
+    }
+}
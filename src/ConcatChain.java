@@ -0,0 +1,102 @@
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cadeia de '+' do tipo string ('"a=" + a + ", b=" + b') vista como uma única
+ * concatenação: os motores avaliam os operandos da esquerda para a direita e
+ * montam o resultado de uma vez, já com o tamanho final, em vez de criar uma
+ * string intermediária a cada '+'. Operandos constantes vizinhos (literais e
+ * valores do ConstantFolder) são convertidos para texto e juntados aqui.
+ *
+ * Só vira cadeia o Ast.Add do topo de uma cadeia (OperatorChain) com três ou
+ * mais operandos, todos ligados por '+', que já é string a partir do primeiro
+ * '+' (Values.resultType): '1 + 2 + "x"' soma antes de concatenar e continua
+ * sendo avaliado par a par.
+ */
+public final class ConcatChain {
+
+    // Segmento i: operands[i] avaliado na execução, ou texts[i] constante
+    private final Ast.Expr[] operands;
+    private final String[] texts;
+
+    private ConcatChain(Ast.Expr[] operands, String[] texts) {
+        this.operands = operands;
+        this.texts = texts;
+    }
+
+    /** Cadeias de todos os Ast.Add do programa que podem ser fundidos. */
+    public static Map<Ast.Add, ConcatChain> collect(Ast.Program program, ConstantFolder constants) {
+        Map<Ast.Add, ConcatChain> chains = new IdentityHashMap<>();
+        new Ast.BaseVisitor<Void>() {
+            @Override
+            public Void visitAdd(Ast.Add n) {
+                ConcatChain chain = of(n, constants);
+                if (chain == null) return super.visitAdd(n);
+                chains.put(n, chain);
+                for (int i = 0; i < chain.size(); i++) visit(chain.operand(i));
+                return null;
+            }
+        }.visitAll(program.body);
+        return chains;
+    }
+
+    // Cadeia do topo n, ou null se ela não pode ser fundida
+    private static ConcatChain of(Ast.Add n, ConstantFolder constants) {
+        List<Ast.Expr> list = OperatorChain.operands(n);
+        if (list.size() < 3 || constants.valueOf(n) != null) return null;
+        for (Ast.Op op : OperatorChain.operators(n)) {
+            if (op != Ast.Op.ADD) return null;
+        }
+        SymbolTable.Type first = Values.resultType(list.get(0).type, list.get(1).type, "+");
+        if (first != SymbolTable.Type.STRING) return null;
+
+        List<Ast.Expr> operands = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        StringBuilder pending = null;            // constantes ainda não fechadas num segmento
+        for (Ast.Expr e : list) {
+            Object c = constant(e, constants);
+            if (c != null) {
+                if (pending == null) pending = new StringBuilder();
+                pending.append(Values.stringify(c));
+                continue;
+            }
+            if (pending != null) {
+                operands.add(null);
+                texts.add(pending.toString());
+                pending = null;
+            }
+            operands.add(e);
+            texts.add(null);
+        }
+        if (pending != null) {
+            operands.add(null);
+            texts.add(pending.toString());
+        }
+        if (operands.size() < 2) return null;
+        return new ConcatChain(operands.toArray(new Ast.Expr[0]), texts.toArray(new String[0]));
+    }
+
+    // Valor dobrado ou literal simples do operando; null se depende da execução
+    private static Object constant(Ast.Expr e, ConstantFolder constants) {
+        Object c = constants.valueOf(e);
+        if (c != null) return c;
+        return e instanceof Ast.Literal l ? l.value : null;
+    }
+
+    /** Quantidade de segmentos (operandos e textos constantes já juntados). */
+    public int size() {
+        return texts.length;
+    }
+
+    /** Operando do segmento i, ou null se o segmento é constante. */
+    public Ast.Expr operand(int i) {
+        return operands[i];
+    }
+
+    /** Texto constante do segmento i, ou null se ele é avaliado na execução. */
+    public String text(int i) {
+        return texts[i];
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Resultado de um '+' de strings que cresce no lugar: o valor é o prefixo
+ * [0, length) de um StringBuilder compartilhado. Como esse prefixo nunca muda,
+ * o valor continua imutável, e concatenar de novo ao valor que está no fim do
+ * builder só anexa o texto novo, tornando 's = s + x' num laço O(1) amortizado
+ * em vez de copiar a string inteira a cada volta.
+ *
+ * Concatenações curtas continuam gerando String comum. O texto só é achatado
+ * (e guardado) em toString(), chamado ao imprimir, comparar ou usar no switch.
+ */
+public final class ConcatString implements CharSequence {
+
+    // Abaixo disso copiar é mais barato que manter um builder
+    private static final int MIN_LENGTH = 64;
+
+    private final StringBuilder chars;
+    private final int length;
+    private String flat;
+
+    private ConcatString(StringBuilder chars, int length) {
+        this.chars = chars;
+        this.length = length;
+    }
+
+    /** a + b com ao menos um operando string; devolve String ou ConcatString. */
+    public static Object concat(Object a, Object b) {
+        String right = Values.stringify(b);
+        if (a instanceof ConcatString c && c.length == c.chars.length()) {
+            c.chars.append(right);               // 'a' é o fim do builder: anexa sem copiar
+            return new ConcatString(c.chars, c.chars.length());
+        }
+        String left = Values.stringify(a);
+        int n = left.length() + right.length();
+        if (n < MIN_LENGTH) return left.concat(right);
+        return new ConcatString(new StringBuilder(n).append(left).append(right), n);
+    }
+
+    /** head + parts[0] + parts[1] + ... de uma ConcatChain, num único buffer do tamanho final. */
+    public static Object concat(Object head, String[] parts) {
+        int extra = 0;
+        for (String p : parts) extra += p.length();
+        if (head instanceof ConcatString c && c.length == c.chars.length()) {
+            c.chars.ensureCapacity(c.length + extra);
+            for (String p : parts) c.chars.append(p);
+            return new ConcatString(c.chars, c.chars.length());
+        }
+        String left = Values.stringify(head);
+        int n = left.length() + extra;
+        StringBuilder sb = new StringBuilder(n).append(left);
+        for (String p : parts) sb.append(p);
+        return n < MIN_LENGTH ? sb.toString() : new ConcatString(sb, n);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) throw new StringIndexOutOfBoundsException(index);
+        return chars.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        if (flat == null) flat = chars.substring(0, length);
+        return flat;
+    }
+}
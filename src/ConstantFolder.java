@@ -0,0 +1,187 @@
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Passo de otimização sobre a Ast já verificada: calcula na compilação as
+ * subexpressões constantes ('60 * 60 * 24', '"a" + "-" + 1') e propaga o
+ * valor de variáveis que nunca são reatribuídas (uma única declaração, sem
+ * atribuição nem scanf). A conta usa as mesmas operações de Values que o
+ * interpretador, então o resultado e seu tipo são os mesmos da execução;
+ * operações que falhariam (comparar strings com '<', por exemplo) não são
+ * dobradas e continuam falhando em tempo de execução.
+ *
+ * Os motores consultam valueOf() antes de compilar/avaliar um nó de expressão
+ * e, se houver valor, usam diretamente a constante.
+ */
+public class ConstantFolder extends Ast.BaseVisitor<Object> {
+
+    private final Map<Ast.Node, Object> values = new IdentityHashMap<>();
+    private final Map<Ast.Slot, Integer> declarations = new HashMap<>();
+    private final Set<Ast.Slot> reassigned = new HashSet<>();
+    private final Map<Ast.Slot, Object> propagated = new HashMap<>();
+    private int foldedCount;
+
+    /** Valor constante do nó, ou null se ele não foi dobrado (literais simples não são). */
+    public Object valueOf(Ast.Node node) {
+        return values.get(node);
+    }
+
+    /** Quantidade de expressões substituídas por constantes (só as mais externas contam). */
+    public int foldedCount() {
+        return foldedCount;
+    }
+
+    public void fold(Ast.Program program) {
+        Ast.BaseVisitor<Void> writes = new Ast.BaseVisitor<>() {
+            @Override
+            public Void visitDecl(Ast.Decl n) {
+                declarations.merge(n.slot, 1, Integer::sum);
+                return super.visitDecl(n);
+            }
+
+            @Override
+            public Void visitAssign(Ast.Assign n) {
+                reassigned.add(n.slot);
+                return super.visitAssign(n);
+            }
+
+            @Override
+            public Void visitRead(Ast.Read n) {
+                reassigned.add(n.slot);
+                return null;
+            }
+        };
+        writes.visitAll(program.body);           // pré-passo: declarações por slot e slots escritos depois
+        visitAll(program.body);
+    }
+
+    /**
+     * Só as subexpressões constantes, sem propagar variáveis: no --stream o resto do
+     * programa, que pode reatribuí-las, ainda não foi lido.
+     */
+    public void foldExpressions(Ast.Program program) {
+        visitAll(program.body);
+    }
+
+    // Registra o valor do nó; os filhos dobrados deixam de ser os mais externos
+    private Object fold(Ast.Expr n, Object v, Ast.Expr... children) {
+        if (v == null) return null;
+        v = Values.flat(v);                  // constantes vão para os motores como String
+        values.put(n, v);
+        foldedCount++;
+        for (Ast.Expr c : children) {
+            if (values.containsKey(c)) foldedCount--;
+        }
+        return v;
+    }
+
+    private static Object attempt(Supplier<Object> op) {
+        try {
+            return op.get();
+        } catch (RuntimeException e) {
+            return null;                     // falha fica para a execução, com a mesma mensagem
+        }
+    }
+
+    // ---------- Statements ----------
+    @Override
+    public Object visitDecl(Ast.Decl n) {
+        Ast.Slot s = n.slot;
+        Object init = n.init != null ? visit(n.init) : Values.defaultFor(s.type());
+        if (init != null && declarations.getOrDefault(s, 0) == 1 && !reassigned.contains(s)) {
+            Object v = attempt(() -> Values.castTo(s.type(), init));
+            if (v != null) propagated.put(s, v);
+        }
+        return null;
+    }
+
+    // Rótulos de 'case' ficam como estão: os motores montam a SwitchTable com eles
+    @Override
+    public Object visitSwitch(Ast.Switch n) {
+        visit(n.key);
+        for (Ast.Section s : n.sections) visitAll(s.body);
+        if (n.otherwise != null) visitAll(n.otherwise);
+        return null;
+    }
+
+    // ---------- Expressões (mesma semântica do InterpreterVisitor) ----------
+    @Override
+    public Object visitOr(Ast.Or n) {
+        return shortCircuit(n, true);
+    }
+
+    @Override
+    public Object visitAnd(Ast.And n) {
+        return shortCircuit(n, false);
+    }
+
+    // '||' (decides = true) e '&&' (decides = false): um operando esquerdo constante cujo
+    // valor de verdade decide a expressão basta, mesmo que o direito não seja constante
+    private Object shortCircuit(Ast.Binary n, boolean decides) {
+        Object left = visit(n.left);
+        Object right = visit(n.right);
+        if (left == null) return null;
+        if (Values.truthy(left) == decides) return fold(n, decides, n.left, n.right);
+        if (right == null) return null;
+        return fold(n, Values.truthy(right), n.left, n.right);
+    }
+
+    @Override
+    public Object visitEq(Ast.Eq n) {
+        Object left = visit(n.left), right = visit(n.right);
+        if (left == null || right == null) return null;
+        return fold(n, (n.op == Ast.Op.EQ) == Values.equalsValue(left, right), n.left, n.right);
+    }
+
+    @Override
+    public Object visitRel(Ast.Rel n) {
+        Object left = visit(n.left), right = visit(n.right);
+        if (left == null || right == null) return null;
+        return fold(n, attempt(() -> {
+            double a = Values.toDouble(left), b = Values.toDouble(right);
+            return switch (n.op) {
+                case LT -> a <  b;
+                case GT -> a >  b;
+                case LE -> a <= b;
+                default -> a >= b;
+            };
+        }), n.left, n.right);
+    }
+
+    @Override
+    public Object visitAdd(Ast.Add n) {
+        Object left = visit(n.left), right = visit(n.right);
+        if (left == null || right == null) return null;
+        return fold(n, attempt(() -> n.op == Ast.Op.ADD
+                ? Values.add(left, right) : Values.subtract(left, right)), n.left, n.right);
+    }
+
+    @Override
+    public Object visitMul(Ast.Mul n) {
+        Object left = visit(n.left), right = visit(n.right);
+        if (left == null || right == null) return null;
+        return fold(n, attempt(() -> n.op == Ast.Op.MUL
+                ? Values.multiply(left, right) : Values.divide(left, right)), n.left, n.right);
+    }
+
+    @Override
+    public Object visitUnary(Ast.Unary n) {
+        Object v = visit(n.operand);
+        if (v == null) return null;
+        return fold(n, attempt(() -> switch (n.op) {
+            case NOT  -> !Values.truthy(v);
+            case PLUS -> (v instanceof Double) ? v : ((Number) v).intValue();
+            default   -> (v instanceof Double) ? -((Double) v) : -((Number) v).intValue();
+        }), n.operand);
+    }
+
+    @Override
+    public Object visitLiteral(Ast.Literal n) {
+        return n.value;
+    }
+
+    @Override
+    public Object visitVar(Ast.Var n) {
+        return fold(n, propagated.get(n.slot));
+    }
+}
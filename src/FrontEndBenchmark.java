@@ -0,0 +1,82 @@
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.TokenSource;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mede o tempo de parede do front end (leitura, lexer e parse até a árvore)
+ * em cada modo de --lexer, sobre um arquivo grande. Sem arquivo, gera um
+ * programa plano de declarações, atribuições, if/while e printf.
+ *
+ *   java FrontEndBenchmark [arquivo.mlg | linhas] [repetições]
+ *   ./gradlew benchmark --args "200000 10"
+ */
+public final class FrontEndBenchmark {
+
+    private static final List<String> MODES = List.of("inline", "thread", "chunks");
+    private static final int WARMUP = 3;
+
+    private FrontEndBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        Path file;
+        if (args.length > 0 && !args[0].chars().allMatch(Character::isDigit)) {
+            file = Path.of(args[0]);
+        } else {
+            file = generate(args.length > 0 ? Integer.parseInt(args[0]) : 200_000);
+            file.toFile().deleteOnExit();
+        }
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        System.out.printf("%s: %d bytes, %d processadores%n", file, Files.size(file),
+                Runtime.getRuntime().availableProcessors());
+
+        for (String mode : MODES) {
+            for (int i = 0; i < WARMUP; i++) frontEnd(file, mode);
+        }
+        for (String mode : MODES) {
+            double[] ms = new double[runs];
+            for (int i = 0; i < runs; i++) ms[i] = frontEnd(file, mode);
+            Arrays.sort(ms);
+            System.out.printf("--lexer=%-7s mediana %8.1f ms   mínimo %8.1f ms%n", mode, ms[runs / 2], ms[0]);
+        }
+    }
+
+    private static double frontEnd(Path file, String mode) throws IOException {
+        System.gc();
+        long t0 = System.nanoTime();
+        CharStream input = MappedCharStream.open(file);
+        TomLangLexer lexer = new TomLangLexer(input);
+        TokenSource source = switch (mode) {
+            case "thread" -> new PipelinedLexer(lexer);
+            case "chunks" -> new ChunkedLexer(lexer);
+            default -> lexer;
+        };
+        TomLangParseDriver.Result parsed = TomLangParseDriver.parse(source);
+        double ms = (System.nanoTime() - t0) / 1e6;
+        if (parsed.hasErrors()) throw new IllegalStateException("Erros sintáticos: " + parsed.errors());
+        return ms;
+    }
+
+    private static Path generate(int lines) throws IOException {
+        Path file = Files.createTempFile("tomlang-bench", ".mlg");
+        try (Writer w = Files.newBufferedWriter(file)) {
+            int vars = 0;
+            for (int i = 0; i < lines; i++) {
+                switch (i % 6) {
+                    case 0 -> w.write("int v" + vars++ + " = " + i + " * 3 + (" + i + " - 1) / 2;\n");
+                    case 1 -> w.write("float f" + i + " = 1.5 * " + i + ".0 - 0.25;\n");
+                    case 2 -> w.write("v" + (vars - 1) + " = v" + (vars - 1) + " + " + i + " * 2 - 7;\n");
+                    case 3 -> w.write("if (v" + (vars - 1) + " > " + i + " && v0 != 3) { v0 = v0 + 1; } else { v0 = v0 - 1; }\n");
+                    case 4 -> w.write("while (v0 < 0) { v0 = v0 + 10; }\n");
+                    default -> w.write("printf(\"linha " + i + ": \" + v" + (vars - 1) + ");\n");
+                }
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,193 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Entrada do scanf compartilhada pelos motores de execução, no lugar do
+ * java.util.Scanner. Lê o stream em blocos de bytes e encontra o fim de linha
+ * direto no buffer; inteiros e floats são convertidos a partir dos bytes, sem
+ * criar uma String por linha. A semântica é a do Scanner.nextLine() seguido de
+ * trim() e Integer.parseInt/Double.parseDouble: qualquer entrada fora do caso
+ * simples (expoente, muitos dígitos, dígitos não ASCII, lixo) é repassada a
+ * esses métodos, que dão o mesmo resultado ou a mesma exceção.
+ */
+public final class InputReader {
+
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final double[] POW10 = new double[16];
+    static {
+        POW10[0] = 1;
+        for (int k = 1; k < POW10.length; k++) POW10[k] = POW10[k - 1] * 10;
+    }
+
+    private final InputStream source;
+    private final Charset charset;
+    private final boolean asciiCompatible;
+    private final boolean utf8;
+    private byte[] buf = new byte[BLOCK_SIZE];
+    private int pos, limit;
+    private boolean eof;
+    // Linha corrente: buf[lineStart, lineEnd)
+    private int lineStart, lineEnd;
+
+    public InputReader(InputStream source, Charset charset) {
+        this.source = source;
+        this.charset = charset;
+        this.utf8 = charset.equals(StandardCharsets.UTF_8);
+        this.asciiCompatible = utf8 || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    // ---------- scanf ----------
+    public Object read(SymbolTable.Type type) {
+        return switch (type) {
+            case INT   -> readInt();
+            case FLOAT -> readDouble();
+            case BOOL  -> readBool();
+            default    -> readLine();
+        };
+    }
+
+    public String readLine() {
+        nextLine();
+        return new String(buf, lineStart, lineEnd - lineStart, charset);
+    }
+
+    public int readInt() {
+        if (!asciiCompatible) return Integer.parseInt(readLine().trim());
+        nextLine();
+        int p = trimStart(), end = trimEnd(p);
+        boolean negative = p < end && buf[p] == '-';
+        if (p < end && (buf[p] == '-' || buf[p] == '+')) p++;
+        int digits = end - p;
+        if (digits < 1 || digits > 10) return Integer.parseInt(lineText());
+        long v = 0;
+        for (; p < end; p++) {
+            int d = buf[p] - '0';
+            if (d < 0 || d > 9) return Integer.parseInt(lineText());
+            v = v * 10 + d;
+        }
+        if (negative) v = -v;
+        if (v < Integer.MIN_VALUE || v > Integer.MAX_VALUE) return Integer.parseInt(lineText());
+        return (int) v;
+    }
+
+    // Caso rápido: até 15 dígitos decimais sem expoente. Mantissa e potência de 10 são
+    // exatas em double e a divisão é arredondada corretamente, como no parseDouble
+    public double readDouble() {
+        if (!asciiCompatible) return Double.parseDouble(readLine().trim());
+        nextLine();
+        int p = trimStart(), end = trimEnd(p);
+        boolean negative = p < end && buf[p] == '-';
+        if (p < end && (buf[p] == '-' || buf[p] == '+')) p++;
+        long mantissa = 0;
+        int digits = 0, fraction = -1;
+        for (; p < end; p++) {
+            byte b = buf[p];
+            if (b == '.' && fraction < 0) {
+                fraction = 0;
+                continue;
+            }
+            int d = b - '0';
+            if (d < 0 || d > 9 || ++digits > 15) return Double.parseDouble(lineText());
+            mantissa = mantissa * 10 + d;
+            if (fraction >= 0) fraction++;
+        }
+        if (digits == 0) return Double.parseDouble(lineText());
+        double v = fraction > 0 ? mantissa / POW10[fraction] : mantissa;
+        return negative ? -v : v;
+    }
+
+    public boolean readBool() {
+        return switch (readLine().trim()) {
+            case "1", "true", "TRUE", "True" -> true;
+            default -> false;
+        };
+    }
+
+    // ---------- Linhas ----------
+    // Delimita a próxima linha em buf[lineStart, lineEnd) e consome o terminador
+    // (\n, \r\n, \r e U+0085, U+2028 e U+2029, como o Scanner)
+    private void nextLine() {
+        int scanned = pos;
+        while (true) {
+            int p = scanned;
+            for (; p < limit; p++) {
+                int b = buf[p] & 0xFF;
+                if (b > '\r' && b < 0x80) continue;
+                int terminator = terminatorLength(p);
+                if (terminator > 0) {
+                    lineStart = pos;
+                    lineEnd = p;
+                    pos = p + terminator;
+                    return;
+                }
+                if (terminator < 0) break;           // \r ou separador multibyte cortado no fim do buffer
+            }
+            if (eof) {
+                if (pos == limit) throw new NoSuchElementException("No line found");
+                lineStart = pos;
+                lineEnd = limit;
+                pos = limit;
+                return;
+            }
+            scanned = p - pos;
+            fill();
+        }
+    }
+
+    // Tamanho do terminador em buf[p], 0 se não for um, -1 se depende de bytes ainda não lidos
+    private int terminatorLength(int p) {
+        int b = buf[p] & 0xFF;
+        if (b == '\n') return 1;
+        if (b == '\r') {
+            if (p + 1 < limit) return buf[p + 1] == '\n' ? 2 : 1;
+            return eof ? 1 : -1;
+        }
+        if (!utf8) return b == 0x85 && charset.equals(StandardCharsets.ISO_8859_1) ? 1 : 0;
+        if (b != 0xC2 && b != 0xE2) return 0;
+        int n = b == 0xC2 ? 2 : 3;
+        if (p + n > limit) return eof ? 0 : -1;
+        if (b == 0xC2) return (buf[p + 1] & 0xFF) == 0x85 ? 2 : 0;
+        return (buf[p + 1] & 0xFF) == 0x80 && ((buf[p + 2] & 0xFF) == 0xA8 || (buf[p + 2] & 0xFF) == 0xA9) ? 3 : 0;
+    }
+
+    // Move a linha incompleta para o início do buffer (crescendo se ela ocupa tudo) e lê mais um bloco
+    private void fill() {
+        int pending = limit - pos;
+        if (pending == buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+        System.arraycopy(buf, pos, buf, 0, pending);
+        pos = 0;
+        limit = pending;
+        try {
+            int n = source.read(buf, limit, buf.length - limit);
+            if (n < 0) eof = true;
+            else limit += n;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Limites do trim() aplicados aos bytes da linha corrente
+    private int trimStart() {
+        int p = lineStart;
+        while (p < lineEnd && (buf[p] & 0xFF) <= ' ') p++;
+        return p;
+    }
+
+    private int trimEnd(int start) {
+        int end = lineEnd;
+        while (end > start && (buf[end - 1] & 0xFF) <= ' ') end--;
+        return end;
+    }
+
+    // Texto da linha já sem espaços, para os casos delegados ao parse do Java
+    private String lineText() {
+        int p = trimStart();
+        return new String(buf, p, trimEnd(p) - p, charset);
+    }
+}
@@ -1,91 +1,111 @@
 import java.util.*;
-import java.util.regex.Pattern;
 
-public class InterpreterVisitor extends TomLangBaseVisitor<Object> {
+public class InterpreterVisitor implements Ast.Visitor<Object> {
 
-    private final Deque<Map<String, Object>> scopes = new ArrayDeque<>();
-    private final Deque<Map<String, SymbolTable.Type>> types = new ArrayDeque<>();
     private enum Ctx { LOOP, SWITCH }
     private final Deque<Ctx> breakCtx = new ArrayDeque<>();
     private Ctx breakSignal = null;
-    private final Scanner in;
-
-    public InterpreterVisitor(Scanner in) {
+    private final InputReader in;
+    private final OutputBuffer out;
+    private ConstantFolder constants;
+    private final Map<Ast.Switch, SwitchTable> switchTables = new IdentityHashMap<>();
+    private final Map<Ast.PrintText, OutputBuffer.Literal> printLines = new IdentityHashMap<>();
+    private Map<Ast.Add, ConcatChain> chains = Map.of();
+    private Object[][] frames;           // display: frames[d] é o frame vivo na profundidade d, pré-alocado
+
+    public InterpreterVisitor(InputReader in, OutputBuffer out, ConstantFolder constants) {
         this.in = in;
-        pushScope();
+        this.out = out;
+        this.constants = constants;
+    }
+
+    public void run(Ast.Program program) {
+        frames = new Object[program.maxDepth()][];
+        for (int d = 0; d < frames.length; d++) frames[d] = new Object[program.frameCapacity(d)];
+        chains = ConcatChain.collect(program, constants);
+        enterScope(0, program.frameSize);
+        for (Ast.Stmt s : program.body) visit(s);
+    }
+
+    /**
+     * Executa um item de nível superior do --stream (StreamingRunner): 'item' traz só esse
+     * comando e as capacidades de frame vistas até ele, e cada item tem sua dobra de
+     * constantes. As variáveis do programa continuam de um item para o próximo; os caches
+     * por nó valem só para o item.
+     */
+    public void runItem(Ast.Program item, ConstantFolder constants) {
+        this.constants = constants;
+        if (frames == null) frames = new Object[0][];
+        if (frames.length < item.maxDepth()) frames = Arrays.copyOf(frames, item.maxDepth());
+        for (int d = 0; d < frames.length; d++) {
+            int capacity = item.frameCapacity(d);
+            if (frames[d] == null) frames[d] = new Object[capacity];
+            else if (frames[d].length < capacity) frames[d] = Arrays.copyOf(frames[d], Math.max(capacity, 2 * frames[d].length));
+        }
+        switchTables.clear();
+        printLines.clear();
+        chains = ConcatChain.collect(item, constants);
+        for (Ast.Stmt s : item.body) visit(s);
     }
 
-    private void pushScope() { scopes.push(new HashMap<>()); types.push(new HashMap<>()); }
-    private void popScope()  { scopes.pop(); types.pop(); }
-
-    private void declare(String name, SymbolTable.Type t, Object value) {
-        types.peek().put(name, t);
-        scopes.peek().put(name, value);
+    // Escopo que declara variáveis reutiliza o frame da sua profundidade, limpo na entrada
+    // ('int x = x;' lê o próprio slot ainda vazio). Escopos sem declaração não custam nada.
+    private void enterScope(int depth, int size) {
+        if (depth >= 0) Arrays.fill(frames[depth], 0, size, null);
     }
-    private SymbolTable.Type typeOf(String name) {
-        for (Map<String, SymbolTable.Type> s : types) if (s.containsKey(name)) return s.get(name);
-        return null;
-    }
-    private Object get(String name) {
-        for (Map<String, Object> s : scopes) if (s.containsKey(name)) return s.get(name);
-        return null;
+
+    private Object get(Ast.Slot s) {
+        return frames[s.depth()][s.index()];
     }
-    private void set(String name, Object v) {
-        for (Map<String, Object> s : scopes) if (s.containsKey(name)) { s.put(name, v); return; }
-        scopes.peek().put(name, v);
+    private void set(Ast.Slot s, Object v) {
+        frames[s.depth()][s.index()] = v;
     }
 
-    @Override
-    public Object visitProg(TomLangParser.ProgContext ctx) {
-        for (var c : ctx.children) visit(c);
-        return null;
+    private Object visit(Ast.Node n) {
+        return n.accept(this);
     }
 
     @Override
-    public Object visitDecl(TomLangParser.DeclContext ctx) {
-        String name = ctx.ID().getText();
-        SymbolTable.Type t = toType(ctx.type().getText());
-        Object init = defaultFor(t);
-        if (ctx.expr() != null) init = castTo(t, eval(ctx.expr()));
-        declare(name, t, init);
+    public Object visitDecl(Ast.Decl n) {
+        Ast.Slot s = n.slot;
+        Object init = Values.defaultFor(s.type());
+        if (n.init != null) init = Values.castTo(s.type(), eval(n.init));
+        set(s, init);
         return null;
     }
 
     @Override
-    public Object visitBlock(TomLangParser.BlockContext ctx) {
-        pushScope();
-        for (var s : ctx.stmt()) {
+    public Object visitBlock(Ast.Block n) {
+        for (var s : n.body) {
             visit(s);
             if (breakSignal != null) break;
         }
-        popScope();
         return null;
     }
 
     @Override
-    public Object visitAssign(TomLangParser.AssignContext ctx) {
-        String name = ctx.ID().getText();
-        SymbolTable.Type t = typeOf(name);
-        Object v = castTo(t, eval(ctx.expr()));
-        set(name, v);
+    public Object visitAssign(Ast.Assign n) {
+        Ast.Slot s = n.slot;
+        Object v = Values.castTo(s.type(), eval(n.value));
+        set(s, v);
         return null;
     }
 
     @Override
-    public Object visitIfStmt(TomLangParser.IfStmtContext ctx) {
-        if (truthy(eval(ctx.expr()))) {
-            visit(ctx.block(0));
-        } else if (ctx.block().size() > 1) {
-            visit(ctx.block(1));
+    public Object visitIf(Ast.If n) {
+        if (Values.truthy(eval(n.cond))) {
+            visit(n.then);
+        } else if (n.otherwise != null) {
+            visit(n.otherwise);
         }
         return null;
     }
 
     @Override
-    public Object visitWhileStmt(TomLangParser.WhileStmtContext ctx) {
+    public Object visitWhile(Ast.While n) {
         breakCtx.push(Ctx.LOOP);
-        while (truthy(eval(ctx.expr()))) {
-            visit(ctx.block());
+        while (Values.truthy(eval(n.cond))) {
+            visit(n.body);
             if (breakSignal == Ctx.LOOP) { breakSignal = null; break; }
         }
         breakCtx.pop();
@@ -93,63 +113,59 @@ public class InterpreterVisitor extends TomLangBaseVisitor<Object> {
     }
 
     @Override
-    public Object visitDoWhileStmt(TomLangParser.DoWhileStmtContext ctx) {
+    public Object visitDoWhile(Ast.DoWhile n) {
         breakCtx.push(Ctx.LOOP);
         do {
-            visit(ctx.block());
+            visit(n.body);
             if (breakSignal == Ctx.LOOP) { breakSignal = null; break; }
-        } while (truthy(eval(ctx.expr())));
+        } while (Values.truthy(eval(n.cond)));
         breakCtx.pop();
         return null;
     }
 
     @Override
-    public Object visitForStmt(TomLangParser.ForStmtContext ctx) {
-        pushScope();
+    public Object visitFor(Ast.For n) {
+        enterScope(n.frameDepth, n.frameSize);
         breakCtx.push(Ctx.LOOP);
-        if (ctx.forInit().getText().length() > 0) visit(ctx.forInit());
-        while (ctx.forCond() == null || truthy(eval(ctx.forCond().expr()))) {
-            visit(ctx.block());
+        if (n.init != null) visit(n.init);
+        while (n.cond == null || Values.truthy(eval(n.cond))) {
+            visit(n.body);
             if (breakSignal == Ctx.LOOP) { breakSignal = null; break; }
-            if (ctx.forUpdate() != null) visit(ctx.forUpdate());
+            if (n.update != null) visit(n.update);
         }
         breakCtx.pop();
-        popScope();
         return null;
     }
 
     @Override
-    public Object visitBreakStmt(TomLangParser.BreakStmtContext ctx) {
+    public Object visitBreak(Ast.Break n) {
         if (!breakCtx.isEmpty()) breakSignal = breakCtx.peek();
         return null;
     }
 
     @Override
-    public Object visitSwitchStmt(TomLangParser.SwitchStmtContext ctx) {
-        Object key = eval(ctx.expr());
+    public Object visitSwitch(Ast.Switch n) {
+        Object key = eval(n.key);
         breakCtx.push(Ctx.SWITCH);
-        boolean matched = false;
-
-        for (var sect : ctx.switchSection()) {
-            Object label = evalSwitchLabel(sect.switchLabel());
-            boolean eq = equalsValue(key, label);
-            if (eq || matched) {
-                matched = true;
-                for (var s : sect.stmt()) {
-                    visit(s);
-                    if (breakSignal == Ctx.SWITCH) {
-                        break;
-                    }
-                }
+        var sections = n.sections;
+        int first = switchTable(n).match(key, i -> get(((Ast.Var) sections.get(i).label).slot));
+
+        // queda livre a partir da primeira seção casada até um 'break'
+        for (int i = first; i >= 0 && i < sections.size(); i++) {
+            for (var s : sections.get(i).body) {
+                visit(s);
                 if (breakSignal == Ctx.SWITCH) {
-                    breakSignal = null;
                     break;
                 }
             }
+            if (breakSignal == Ctx.SWITCH) {
+                breakSignal = null;
+                break;
+            }
         }
 
-        if (!matched && ctx.defaultSection() != null) {
-            for (var s : ctx.defaultSection().stmt()) {
+        if (first < 0 && n.otherwise != null) {
+            for (var s : n.otherwise) {
                 visit(s);
                 if (breakSignal == Ctx.SWITCH) { breakSignal = null; break; }
             }
@@ -159,230 +175,114 @@ public class InterpreterVisitor extends TomLangBaseVisitor<Object> {
         return null;
     }
 
-    private Object evalSwitchLabel(TomLangParser.SwitchLabelContext ctx) {
-        if (ctx.INT_LIT() != null)   return Integer.parseInt(ctx.INT_LIT().getText());
-        if (ctx.STRING() != null)    return unquote(ctx.STRING().getText());
-        if (ctx.ID() != null)        return get(ctx.ID().getText());
-        return null;
+    // Tabela de despacho montada na primeira execução do switch; rótulos ID ficam como null
+    private SwitchTable switchTable(Ast.Switch n) {
+        return switchTables.computeIfAbsent(n, SwitchTable::of);
     }
 
     @Override
-    public Object visitPrintStmt(TomLangParser.PrintStmtContext ctx) {
-        if (ctx.STRING() != null) {
-            System.out.println(unquote(ctx.STRING().getText()));
-        } else if (ctx.expr() != null) {
-            Object v = eval(ctx.expr());
-            System.out.println(stringify(v));
-        }
+    public Object visitPrintText(Ast.PrintText n) {
+        out.println(printLines.computeIfAbsent(n, p -> new OutputBuffer.Literal(p.text)));
         return null;
     }
 
     @Override
-    public Object visitReadStmt(TomLangParser.ReadStmtContext ctx) {
-        String name = ctx.ID().getText();
-        SymbolTable.Type t = typeOf(name);
-        String line = in.nextLine();
-        Object v = parseAs(t, line);
-        set(name, v);
+    public Object visitPrint(Ast.Print n) {
+        Object v = eval(n.value);
+        out.println(v);
         return null;
     }
 
-    private Object eval(TomLangParser.ExprContext ctx)      { return visit(ctx); }
-    private Object eval(TomLangParser.OrExprContext ctx)    { return visit(ctx); }
-    private Object eval(TomLangParser.AndExprContext ctx)   { return visit(ctx); }
-    private Object eval(TomLangParser.EqExprContext ctx)    { return visit(ctx); }
-    private Object eval(TomLangParser.RelExprContext ctx)   { return visit(ctx); }
-    private Object eval(TomLangParser.AddExprContext ctx)   { return visit(ctx); }
-    private Object eval(TomLangParser.MulExprContext ctx)   { return visit(ctx); }
-    private Object eval(TomLangParser.UnaryContext ctx)     { return visit(ctx); }
-    private Object eval(TomLangParser.PrimaryContext ctx)   { return visit(ctx); }
-
     @Override
-    public Object visitOrExpr(TomLangParser.OrExprContext ctx) {
-        Object left = eval(ctx.andExpr(0));
-        for (int i = 1; i < ctx.andExpr().size(); i++) {
-            Object right = eval(ctx.andExpr(i));
-            left = (truthy(left) || truthy(right));
-        }
-        return left;
+    public Object visitRead(Ast.Read n) {
+        Ast.Slot s = n.slot;
+        out.flush();                             // o prompt aparece antes de bloquear na leitura
+        set(s, in.read(s.type()));
+        return null;
     }
 
-    @Override
-    public Object visitAndExpr(TomLangParser.AndExprContext ctx) {
-        Object left = eval(ctx.eqExpr(0));
-        for (int i = 1; i < ctx.eqExpr().size(); i++) {
-            Object right = eval(ctx.eqExpr(i));
-            left = (truthy(left) && truthy(right));
-        }
-        return left;
+    // Expressões dobradas pelo ConstantFolder não são percorridas
+    private Object eval(Ast.Expr e) {
+        Object c = constants.valueOf(e);
+        return c != null ? c : e.accept(this);
     }
 
+    // '||' e '&&' param no primeiro operando que decide o resultado
     @Override
-    public Object visitEqExpr(TomLangParser.EqExprContext ctx) {
-        Object left = eval(ctx.relExpr(0));
-        for (int i = 1; i < ctx.relExpr().size(); i++) {
-            String op = ctx.getChild(2*i - 1).getText();
-            Object right = eval(ctx.relExpr(i));
-            boolean res = op.equals("==") ? equalsValue(left, right) : !equalsValue(left, right);
-            left = res;
-        }
-        return left;
+    public Object visitOr(Ast.Or n) {
+        return Values.truthy(eval(n.left)) || Values.truthy(eval(n.right));
     }
 
     @Override
-    public Object visitRelExpr(TomLangParser.RelExprContext ctx) {
-        Object left = eval(ctx.addExpr(0));
-        for (int i = 1; i < ctx.addExpr().size(); i++) {
-            String op = ctx.getChild(2*i - 1).getText();
-            Object right = eval(ctx.addExpr(i));
-            double a = toDouble(left), b = toDouble(right);
-            boolean res = switch (op) {
-                case "<"  -> a <  b;
-                case ">"  -> a >  b;
-                case "<=" -> a <= b;
-                case ">=" -> a >= b;
-                default   -> false;
-            };
-            left = res;
-        }
-        return left;
+    public Object visitAnd(Ast.And n) {
+        return Values.truthy(eval(n.left)) && Values.truthy(eval(n.right));
     }
 
     @Override
-    public Object visitAddExpr(TomLangParser.AddExprContext ctx) {
-        Object val = eval(ctx.mulExpr(0));
-        for (int i = 1; i < ctx.mulExpr().size(); i++) {
-            String op = ctx.getChild(2*i - 1).getText();
-            Object rhs = eval(ctx.mulExpr(i));
-            if (op.equals("+")) {
-                if (val instanceof String || rhs instanceof String) {
-                    val = stringify(val) + stringify(rhs);
-                } else if (val instanceof Double || rhs instanceof Double) {
-                    val = toDouble(val) + toDouble(rhs);
-                } else {
-                    val = ((Number)val).intValue() + ((Number)rhs).intValue();
-                }
-            } else {
-                if (val instanceof String || rhs instanceof String) {
-                    throw new RuntimeException("Operador '-' inválido para string");
-                } else if (val instanceof Double || rhs instanceof Double) {
-                    val = toDouble(val) - toDouble(rhs);
-                } else {
-                    val = ((Number)val).intValue() - ((Number)rhs).intValue();
-                }
-            }
-        }
-        return val;
+    public Object visitEq(Ast.Eq n) {
+        Object left = eval(n.left);
+        Object right = eval(n.right);
+        return n.op == Ast.Op.EQ ? Values.equalsValue(left, right) : !Values.equalsValue(left, right);
     }
 
     @Override
-    public Object visitMulExpr(TomLangParser.MulExprContext ctx) {
-        Object val = eval(ctx.unary(0));
-        for (int i = 1; i < ctx.unary().size(); i++) {
-            String op = ctx.getChild(2*i - 1).getText();
-            Object rhs = eval(ctx.unary(i));
-            if (val instanceof String || rhs instanceof String) {
-                throw new RuntimeException("Operadores '*'/'/' inválidos para string");
-            }
-            if (op.equals("*")) {
-                if (val instanceof Double || rhs instanceof Double) {
-                    val = toDouble(val) * toDouble(rhs);
-                } else {
-                    val = ((Number)val).intValue() * ((Number)rhs).intValue();
-                }
-            } else {
-                val = toDouble(val) / toDouble(rhs);
-            }
-        }
-        return val;
+    public Object visitRel(Ast.Rel n) {
+        Object left = eval(n.left);
+        Object right = eval(n.right);
+        double a = Values.toDouble(left), b = Values.toDouble(right);
+        return switch (n.op) {
+            case LT -> a <  b;
+            case GT -> a >  b;
+            case LE -> a <= b;
+            case GE -> a >= b;
+            default -> false;
+        };
     }
 
     @Override
-    public Object visitUnary(TomLangParser.UnaryContext ctx) {
-        if (ctx.getChildCount() == 2) {
-            String op = ctx.getChild(0).getText();
-            Object v = eval(ctx.unary());
-            return switch (op) {
-                case "!" -> !truthy(v);
-                case "+" -> (v instanceof Double) ? v : ((Number)v).intValue();
-                case "-" -> (v instanceof Double) ? -((Double)v) : -((Number)v).intValue();
-                default  -> v;
-            };
+    public Object visitAdd(Ast.Add n) {
+        ConcatChain chain = chains.get(n);
+        if (chain != null) return concat(chain);
+        Object val = eval(n.left);
+        Object rhs = eval(n.right);
+        return n.op == Ast.Op.ADD ? Values.add(val, rhs) : Values.subtract(val, rhs);
+    }
+
+    // Cadeia de '+' de strings montada de uma vez (ConcatChain)
+    private Object concat(ConcatChain chain) {
+        Object head = chain.text(0) != null ? chain.text(0) : eval(chain.operand(0));
+        String[] parts = new String[chain.size() - 1];
+        for (int i = 1; i < chain.size(); i++) {
+            parts[i - 1] = chain.text(i) != null ? chain.text(i) : Values.stringify(eval(chain.operand(i)));
         }
-        return eval(ctx.primary());
+        return ConcatString.concat(head, parts);
     }
 
     @Override
-    public Object visitPrimary(TomLangParser.PrimaryContext ctx) {
-        if (ctx.INT_LIT()   != null) return Integer.parseInt(ctx.INT_LIT().getText());
-        if (ctx.FLOAT_LIT() != null) return Double.parseDouble(ctx.FLOAT_LIT().getText());
-        if (ctx.STRING()    != null) return unquote(ctx.STRING().getText());
-        if (ctx.ID()        != null) return get(ctx.ID().getText());
-        return eval(ctx.expr());
+    public Object visitMul(Ast.Mul n) {
+        Object val = eval(n.left);
+        Object rhs = eval(n.right);
+        return n.op == Ast.Op.MUL ? Values.multiply(val, rhs) : Values.divide(val, rhs);
     }
 
-    private SymbolTable.Type toType(String t) {
-        return switch (t) {
-            case "int"    -> SymbolTable.Type.INT;
-            case "float"  -> SymbolTable.Type.FLOAT;
-            case "string" -> SymbolTable.Type.STRING;
-            default       -> SymbolTable.Type.UNKNOWN;
-        };
-    }
-    private Object defaultFor(SymbolTable.Type t) {
-        return switch (t) {
-            case INT   -> 0;
-            case FLOAT -> 0.0;
-            case STRING-> "";
-            case BOOL  -> false;
-            default    -> null;
-        };
-    }
-    private Object castTo(SymbolTable.Type t, Object v) {
-        if (v == null) return null;
-        return switch (t) {
-            case INT   -> (v instanceof Double) ? ((Double)v).intValue() : ((Number)v).intValue();
-            case FLOAT -> (v instanceof Double) ? v : ((Number)v).doubleValue();
-            case STRING-> stringify(v);
-            case BOOL  -> truthy(v);
-            default    -> v;
-        };
-    }
-    private boolean truthy(Object v) {
-        if (v instanceof Boolean b) return b;
-        if (v instanceof Number n)  return n.doubleValue() != 0.0;
-        if (v instanceof String s)  return !s.isEmpty();
-        return v != null;
-    }
-    private double toDouble(Object v) {
-        return (v instanceof Double d) ? d : ((Number)v).doubleValue();
-    }
-    private boolean equalsValue(Object a, Object b) {
-        if (a instanceof Number && b instanceof Number) return toDouble(a) == toDouble(b);
-        return Objects.equals(stringify(a), stringify(b));
-    }
-    private String stringify(Object v) { return String.valueOf(v); }
-    private String unquote(String s)   { return s.substring(1, s.length()-1); }
-
-    private Object parseAs(SymbolTable.Type t, String s) {
-        return switch (t) {
-            case INT    -> Integer.parseInt(s.trim());
-            case FLOAT  -> Double.parseDouble(s.trim());
-            case STRING -> s;
-            case BOOL   -> Pattern.compile("^(1|true|TRUE|True)$").matcher(s.trim()).find();
-            default     -> s;
+    @Override
+    public Object visitUnary(Ast.Unary n) {
+        Object v = eval(n.operand);
+        return switch (n.op) {
+            case NOT  -> !Values.truthy(v);
+            case PLUS -> (v instanceof Double) ? v : ((Number)v).intValue();
+            case NEG  -> (v instanceof Double) ? -((Double)v) : -((Number)v).intValue();
+            default   -> v;
         };
     }
 
     @Override
-    public Object visitForInit(TomLangParser.ForInitContext ctx) {
-        if (ctx.decl() != null) return visit(ctx.decl());
-        if (ctx.assign() != null) return visit(ctx.assign());
-        return null;
+    public Object visitLiteral(Ast.Literal n) {
+        return n.value;
     }
+
     @Override
-    public Object visitForUpdate(TomLangParser.ForUpdateContext ctx) {
-        if (ctx.assign() != null) return visit(ctx.assign());
-        return null;
+    public Object visitVar(Ast.Var n) {
+        return get(n.slot);
     }
 }
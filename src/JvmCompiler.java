@@ -0,0 +1,863 @@
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Compila a Ast verificada para uma classe JVM carregada como hidden class
+ * (MethodHandles.Lookup.defineHiddenClass), deixando os laços do programa para o
+ * JIT da HotSpot. Variáveis viram locais JVM tipados pelo SymbolTable.Type
+ * (int -> I, float -> D, string -> String) e o controle de fluxo vira desvios
+ * nativos; 'switch' inteiro com rótulos literais vira tableswitch/lookupswitch,
+ * e 'switch' de strings com rótulos literais despacha pelo hashCode.
+ *
+ * Programa grande não cabe num método só (64 KB de bytecode, e acima de 8000 bytes
+ * a HotSpot nem compila o método): os comandos de topo são então repartidos em
+ * métodos part0, part1... chamados em ordem pelo run. As variáveis do programa
+ * viram campos; cada parte as copia para locais na entrada e de volta na saída,
+ * então os laços continuam sobre locais. Um único comando de topo grande demais
+ * ainda estoura o limite (MethodTooLargeException), assim como um programa com mais
+ * de 65535 constantes (ClassTooLargeException), e o TomLangMain volta para a VM.
+ */
+public class JvmCompiler implements Ast.Visitor<SymbolTable.Type> {
+
+    /** Interface implementada pela classe gerada. */
+    public interface CompiledProgram {
+        void run(InputReader in, OutputBuffer out);
+    }
+
+    private static final String CLASS_NAME = "TomLangProgram";
+    private static final String VALUES = "Values";
+    private static final String OUTPUT = "OutputBuffer";
+    private static final String READER = "InputReader";
+    private static final int INPUT = 1;                   // local 0 = this
+    private static final int MAX_CONCAT_ARGS = 100;        // o StringConcatFactory aceita até 200 slots
+    private static final Handle STRING_CONCAT = new Handle(H_INVOKESTATIC, "java/lang/invoke/StringConcatFactory",
+            "makeConcatWithConstants", "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;"
+            + "Ljava/lang/invoke/MethodType;Ljava/lang/String;[Ljava/lang/Object;)Ljava/lang/invoke/CallSite;", false);
+    private static final int OUT = 2;
+    private static final int PART_NODES = 500;            // nós da Ast por método: fica abaixo de 8000 bytes
+    private static final String METHOD_DESC = "(LInputReader;LOutputBuffer;)V";
+
+    private final ConstantFolder constants;
+    private final Map<Ast.Slot, Integer> locals = new HashMap<>();
+    private Map<Ast.Add, ConcatChain> chains = Map.of();
+    private int nextLocal = OUT + 1;
+    private boolean split;                                 // variáveis do programa em campos
+    private final Deque<Label> breaks = new ArrayDeque<>();
+    private MethodVisitor mv;
+
+    public JvmCompiler(ConstantFolder constants) {
+        this.constants = constants;
+    }
+
+    public CompiledProgram compile(Ast.Program prog) {
+        byte[] bytes = generate(prog);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            return (CompiledProgram) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Falha ao carregar o programa compilado", e);
+        }
+    }
+
+    public byte[] generate(Ast.Program prog) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        cw.visit(V17, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, CLASS_NAME, null, "java/lang/Object",
+                new String[] { Type.getInternalName(CompiledProgram.class) });
+
+        MethodVisitor init = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(ALOAD, 0);
+        init.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        init.visitInsn(RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        chains = ConcatChain.collect(prog, constants);
+        List<List<Ast.Stmt>> parts = partition(prog.body);
+        split = parts.size() > 1;
+        if (!split) {
+            method(cw, "run", prog.body);
+        } else {
+            Set<Ast.Slot> fields = new LinkedHashSet<>();
+            new Ast.BaseVisitor<Void>() {
+                @Override
+                public Void visitDecl(Ast.Decl n) {
+                    if (n.slot.depth() == 0 && fields.add(n.slot)) {
+                        cw.visitField(ACC_PRIVATE, field(n.slot), descriptor(n.slot), null, null).visitEnd();
+                    }
+                    return null;
+                }
+            }.visitAll(prog.body);
+            for (int i = 0; i < parts.size(); i++) method(cw, "part" + i, parts.get(i));
+            mv = cw.visitMethod(ACC_PUBLIC, "run", METHOD_DESC, null, null);
+            mv.visitCode();
+            for (int i = 0; i < parts.size(); i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, INPUT);
+                mv.visitVarInsn(ALOAD, OUT);
+                mv.visitMethodInsn(INVOKEVIRTUAL, CLASS_NAME, "part" + i, METHOD_DESC, false);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    // Um método com os comandos dados; no modo dividido, as variáveis do programa que eles
+    // usam entram dos campos para locais e voltam no fim (não há saída antecipada de um
+    // comando de topo, e um erro de execução encerra o programa)
+    private void method(ClassWriter cw, String name, List<Ast.Stmt> body) {
+        mv = cw.visitMethod(name.equals("run") ? ACC_PUBLIC : ACC_PRIVATE, name, METHOD_DESC, null, null);
+        mv.visitCode();
+        locals.clear();
+        nextLocal = OUT + 1;
+        allocateLocals(body);
+        for (Ast.Stmt s : body) visit(s);
+        if (split) {
+            for (Ast.Slot s : locals.keySet()) {
+                if (s.depth() != 0) continue;
+                mv.visitVarInsn(ALOAD, 0);
+                load(s);
+                mv.visitFieldInsn(PUTFIELD, CLASS_NAME, field(s), descriptor(s));
+            }
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    // Comandos de topo em grupos de até PART_NODES nós (um comando maior fica sozinho)
+    private static List<List<Ast.Stmt>> partition(List<Ast.Stmt> body) {
+        List<List<Ast.Stmt>> parts = new ArrayList<>();
+        List<Ast.Stmt> part = new ArrayList<>();
+        int[] count = { 0 };
+        Ast.BaseVisitor<Void> counter = new Ast.BaseVisitor<>() {
+            @Override
+            protected Void visit(Ast.Node n) {
+                if (n != null) count[0]++;
+                return super.visit(n);
+            }
+
+            @Override
+            protected void visitAll(List<? extends Ast.Node> nodes) {
+                count[0] += nodes.size();
+                super.visitAll(nodes);
+            }
+        };
+        int size = 0;
+        for (Ast.Stmt s : body) {
+            count[0] = 1;
+            s.accept(counter);
+            if (!part.isEmpty() && size + count[0] > PART_NODES) {
+                parts.add(part);
+                part = new ArrayList<>();
+                size = 0;
+            }
+            part.add(s);
+            size += count[0];
+        }
+        parts.add(part);
+        return parts;
+    }
+
+    private static String field(Ast.Slot s) {
+        return "v" + s.index();
+    }
+
+    private static String descriptor(Ast.Slot s) {
+        return switch (s.type()) { case INT -> "I"; case FLOAT -> "D"; default -> "Ljava/lang/String;"; };
+    }
+
+    // Pré-passo: um local JVM por slot, iniciado com o valor padrão do tipo (o verificador
+    // exige locais definidos em todos os caminhos) ou, no modo dividido, com o campo
+    private void allocateLocals(List<Ast.Stmt> body) {
+        new Ast.BaseVisitor<Void>() {
+            @Override
+            public Void visitDecl(Ast.Decl n) {
+                allocate(n.slot);
+                return split ? super.visitDecl(n) : null;   // só no modo dividido há campos a ler
+            }
+
+            @Override
+            public Void visitAssign(Ast.Assign n) {
+                if (split) allocate(n.slot);
+                return super.visitAssign(n);
+            }
+
+            @Override
+            public Void visitRead(Ast.Read n) {
+                if (split) allocate(n.slot);
+                return null;
+            }
+
+            @Override
+            public Void visitVar(Ast.Var n) {
+                if (split) allocate(n.slot);
+                return null;
+            }
+        }.visitAll(body);
+    }
+
+    private void allocate(Ast.Slot s) {
+        if (locals.containsKey(s)) return;
+        locals.put(s, nextLocal);
+        nextLocal += s.type() == SymbolTable.Type.FLOAT ? 2 : 1;
+        if (split && s.depth() == 0) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, CLASS_NAME, field(s), descriptor(s));
+        } else {
+            switch (s.type()) {
+                case INT   -> mv.visitInsn(ICONST_0);
+                case FLOAT -> mv.visitInsn(DCONST_0);
+                default    -> mv.visitInsn(ACONST_NULL);
+            }
+        }
+        store(s);
+    }
+
+    private void load(Ast.Slot s) {
+        int op = switch (s.type()) { case INT -> ILOAD; case FLOAT -> DLOAD; default -> ALOAD; };
+        mv.visitVarInsn(op, locals.get(s));
+    }
+
+    private void store(Ast.Slot s) {
+        int op = switch (s.type()) { case INT -> ISTORE; case FLOAT -> DSTORE; default -> ASTORE; };
+        mv.visitVarInsn(op, locals.get(s));
+    }
+
+    // ---------- Conversões do valor no topo da pilha ----------
+    private void coerce(SymbolTable.Type from, SymbolTable.Type to) {
+        if (from == to) return;
+        switch (to) {
+            case INT -> {
+                if (from == SymbolTable.Type.FLOAT) mv.visitInsn(D2I);
+                else toNumberInt(from);
+            }
+            case FLOAT -> toDouble(from);
+            case STRING -> stringify(from);
+            default -> box(from);
+        }
+    }
+
+    private void toDouble(SymbolTable.Type from) {
+        switch (from) {
+            case INT -> mv.visitInsn(I2D);
+            case FLOAT -> { }
+            default -> {                               // string/bool: mesmo ClassCastException do interpretador
+                box(from);
+                mv.visitMethodInsn(INVOKESTATIC, VALUES, "toDouble", "(Ljava/lang/Object;)D", false);
+            }
+        }
+    }
+
+    private void toNumberInt(SymbolTable.Type from) {       // ((Number) v).intValue()
+        box(from);
+        mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
+        mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number", "intValue", "()I", false);
+    }
+
+    private void stringify(SymbolTable.Type from) {
+        String desc = switch (from) {
+            case INT -> "(I)Ljava/lang/String;";
+            case FLOAT -> "(D)Ljava/lang/String;";
+            case BOOL -> "(Z)Ljava/lang/String;";
+            default -> "(Ljava/lang/Object;)Ljava/lang/String;";
+        };
+        mv.visitMethodInsn(INVOKESTATIC, "java/lang/String", "valueOf", desc, false);
+    }
+
+    private void box(SymbolTable.Type from) {
+        switch (from) {
+            case INT -> mv.visitMethodInsn(INVOKESTATIC, "java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;", false);
+            case FLOAT -> mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "valueOf", "(D)Ljava/lang/Double;", false);
+            case BOOL -> mv.visitMethodInsn(INVOKESTATIC, "java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;", false);
+            default -> { }
+        }
+    }
+
+    // Valor no topo -> 0/1 segundo Values.truthy
+    private void truthy(SymbolTable.Type from) {
+        switch (from) {
+            case BOOL -> { }
+            case INT -> materialize(IFNE);
+            case FLOAT -> {
+                mv.visitInsn(DCONST_0);
+                mv.visitInsn(DCMPL);                   // NaN != 0.0 é verdadeiro
+                materialize(IFNE);
+            }
+            default -> mv.visitMethodInsn(INVOKESTATIC, VALUES, "truthy", "(Ljava/lang/Object;)Z", false);
+        }
+    }
+
+    // Converte um desvio condicional em 0/1 na pilha
+    private void materialize(int jumpIfTrue) {
+        Label yes = new Label(), end = new Label();
+        mv.visitJumpInsn(jumpIfTrue, yes);
+        mv.visitInsn(ICONST_0);
+        mv.visitJumpInsn(GOTO, end);
+        mv.visitLabel(yes);
+        mv.visitInsn(ICONST_1);
+        mv.visitLabel(end);
+    }
+
+    private void pushInt(int v) {
+        if (v >= -1 && v <= 5) mv.visitInsn(ICONST_0 + v);
+        else if (v >= Byte.MIN_VALUE && v <= Byte.MAX_VALUE) mv.visitIntInsn(BIPUSH, v);
+        else if (v >= Short.MIN_VALUE && v <= Short.MAX_VALUE) mv.visitIntInsn(SIPUSH, v);
+        else mv.visitLdcInsn(v);
+    }
+
+    // ---------- Comparações ----------
+    private enum Domain { INT, DOUBLE, STRING, OBJECT }
+
+    private static boolean numeric(SymbolTable.Type t) {
+        return t == SymbolTable.Type.INT || t == SymbolTable.Type.FLOAT;
+    }
+
+    private static Domain equalityDomain(SymbolTable.Type a, SymbolTable.Type b) {
+        if (a == SymbolTable.Type.INT && b == SymbolTable.Type.INT) return Domain.INT;
+        if (numeric(a) && numeric(b)) return Domain.DOUBLE;
+        if (a == SymbolTable.Type.STRING && b == SymbolTable.Type.STRING) return Domain.STRING;
+        return Domain.OBJECT;
+    }
+
+    private void toDomain(SymbolTable.Type from, Domain d) {
+        switch (d) {
+            case INT, STRING -> { }
+            case DOUBLE -> toDouble(from);
+            case OBJECT -> box(from);
+        }
+    }
+
+    // Com os dois operandos na pilha, salta para 'target' se a igualdade valer (ou não, se negate)
+    private void jumpEquals(Domain d, boolean negate, Label target) {
+        switch (d) {
+            case INT -> mv.visitJumpInsn(negate ? IF_ICMPNE : IF_ICMPEQ, target);
+            case DOUBLE -> {
+                mv.visitInsn(DCMPL);
+                mv.visitJumpInsn(negate ? IFNE : IFEQ, target);
+            }
+            case STRING -> {
+                mv.visitMethodInsn(INVOKESTATIC, "java/util/Objects", "equals", "(Ljava/lang/Object;Ljava/lang/Object;)Z", false);
+                mv.visitJumpInsn(negate ? IFEQ : IFNE, target);
+            }
+            case OBJECT -> {
+                mv.visitMethodInsn(INVOKESTATIC, VALUES, "equalsValue", "(Ljava/lang/Object;Ljava/lang/Object;)Z", false);
+                mv.visitJumpInsn(negate ? IFEQ : IFNE, target);
+            }
+        }
+    }
+
+    // Com os dois operandos na pilha, salta para 'target' se 'a op b' valer (ou não, se negate)
+    private void jumpRelational(boolean ints, Ast.Op op, boolean negate, Label target) {
+        if (ints) {
+            mv.visitJumpInsn(switch (negate ? negateRelational(op) : op) {
+                case LT -> IF_ICMPLT; case LE -> IF_ICMPLE; case GT -> IF_ICMPGT; default -> IF_ICMPGE;
+            }, target);
+        } else {
+            // NaN torna qualquer comparação falsa: DCMPG para '<'/'<=', DCMPL para '>'/'>='.
+            // A negação mantém a instrução e inverte o salto, como o javac: !(a >= b) não é
+            // a < b quando há NaN
+            boolean less = op == Ast.Op.LT || op == Ast.Op.LE;
+            mv.visitInsn(less ? DCMPG : DCMPL);
+            mv.visitJumpInsn(negate
+                    ? switch (op) { case LT -> IFGE; case LE -> IFGT; case GT -> IFLE; default -> IFLT; }
+                    : switch (op) { case LT -> IFLT; case LE -> IFLE; case GT -> IFGT; default -> IFGE; }, target);
+        }
+    }
+
+    private static Ast.Op negateRelational(Ast.Op op) {
+        return switch (op) { case LT -> Ast.Op.GE; case LE -> Ast.Op.GT; case GT -> Ast.Op.LE; default -> Ast.Op.LT; };
+    }
+
+    // ---------- Condições: desvio direto, sem materializar booleano ----------
+    private void jumpIf(Ast.Expr e, boolean when, Label target) {
+        Object folded = constants.valueOf(e);
+        if (folded != null) {                        // condição constante: salto incondicional ou nenhum
+            if (Values.truthy(folded) == when) mv.visitJumpInsn(GOTO, target);
+            return;
+        }
+        if (e instanceof Ast.Rel c) {
+            SymbolTable.Type a = c.left.type, b = c.right.type;
+            boolean ints = a == SymbolTable.Type.INT && b == SymbolTable.Type.INT;
+            visit(c.left);
+            if (!ints) toDouble(a);
+            visit(c.right);
+            if (!ints) toDouble(b);
+            jumpRelational(ints, c.op, !when, target);
+        } else if (e instanceof Ast.Eq c) {
+            SymbolTable.Type a = c.left.type, b = c.right.type;
+            Domain d = equalityDomain(a, b);
+            visit(c.left);
+            toDomain(a, d);
+            visit(c.right);
+            toDomain(b, d);
+            boolean eq = c.op == Ast.Op.EQ;
+            jumpEquals(d, eq != when, target);
+        } else if (e instanceof Ast.Or c) {
+            jumpIfAny(OperatorChain.operands(c), true, when, target);
+        } else if (e instanceof Ast.And c) {
+            jumpIfAny(OperatorChain.operands(c), false, when, target);
+        } else if (e instanceof Ast.Unary c && c.op == Ast.Op.NOT) {
+            jumpIf(c.operand, !when, target);
+        } else {
+            truthy(visit(e));
+            mv.visitJumpInsn(when ? IFNE : IFEQ, target);
+        }
+    }
+
+    // Expressões dobradas pelo ConstantFolder viram uma constante na pilha
+    private SymbolTable.Type visit(Ast.Node node) {
+        Object c = constants.valueOf(node);
+        if (c == null) return node.accept(this);
+        if (c instanceof Integer n)      pushInt(n);
+        else if (c instanceof Boolean b) mv.visitInsn(b ? ICONST_1 : ICONST_0);
+        else                             mv.visitLdcInsn(c);
+        return Values.typeOf(c);
+    }
+
+    // '||' (or = true) e '&&' em curto-circuito: param no primeiro operando que decide
+    private void jumpIfAny(List<Ast.Expr> operands, boolean or, boolean when, Label target) {
+        if (when == or) {
+            for (Ast.Expr op : operands) jumpIf(op, when, target);
+            return;
+        }
+        Label skip = new Label();                    // só o último operando pode dar o resultado procurado
+        for (int i = 0; i < operands.size() - 1; i++) jumpIf(operands.get(i), or, skip);
+        jumpIf(operands.get(operands.size() - 1), when, target);
+        mv.visitLabel(skip);
+    }
+
+    // ---------- Statements ----------
+    @Override
+    public SymbolTable.Type visitDecl(Ast.Decl n) {
+        Ast.Slot s = n.slot;
+        if (n.init != null) coerce(visit(n.init), s.type());
+        else pushDefault(s.type());
+        store(s);
+        return null;
+    }
+
+    // Valor de uma declaração sem inicialização
+    private void pushDefault(SymbolTable.Type type) {
+        switch (type) {
+            case INT -> mv.visitInsn(ICONST_0);
+            case FLOAT -> mv.visitInsn(DCONST_0);
+            default -> mv.visitLdcInsn("");
+        }
+    }
+
+    @Override
+    public SymbolTable.Type visitAssign(Ast.Assign n) {
+        Ast.Slot s = n.slot;
+        coerce(visit(n.value), s.type());
+        store(s);
+        return null;
+    }
+
+    @Override
+    public SymbolTable.Type visitBlock(Ast.Block n) {
+        for (Ast.Stmt s : n.body) visit(s);
+        return null;
+    }
+
+    @Override
+    public SymbolTable.Type visitIf(Ast.If n) {
+        Label otherwise = new Label(), end = new Label();
+        jumpIf(n.cond, false, otherwise);
+        visit(n.then);
+        if (n.otherwise != null) {
+            mv.visitJumpInsn(GOTO, end);
+            mv.visitLabel(otherwise);
+            visit(n.otherwise);
+            mv.visitLabel(end);
+        } else {
+            mv.visitLabel(otherwise);
+        }
+        return null;
+    }
+
+    @Override
+    public SymbolTable.Type visitWhile(Ast.While n) {
+        Label top = new Label(), end = new Label();
+        mv.visitLabel(top);
+        jumpIf(n.cond, false, end);
+        breaks.push(end);
+        visit(n.body);
+        breaks.pop();
+        mv.visitJumpInsn(GOTO, top);
+        mv.visitLabel(end);
+        return null;
+    }
+
+    @Override
+    public SymbolTable.Type visitDoWhile(Ast.DoWhile n) {
+        Label top = new Label(), end = new Label();
+        mv.visitLabel(top);
+        breaks.push(end);
+        visit(n.body);
+        breaks.pop();
+        jumpIf(n.cond, true, top);
+        mv.visitLabel(end);
+        return null;
+    }
+
+    @Override
+    public SymbolTable.Type visitFor(Ast.For n) {
+        Label top = new Label(), end = new Label();
+        // Como no interpretador, a variável do for é limpa na entrada: 'int x = x;' não vê a
+        // volta anterior (blocos não declaram, então o escopo do for só tem ela)
+        if (n.init instanceof Ast.Decl d) {
+            pushDefault(d.slot.type());
+            store(d.slot);
+        }
+        if (n.init != null) visit(n.init);
+        mv.visitLabel(top);
+        if (n.cond != null) jumpIf(n.cond, false, end);
+        breaks.push(end);
+        visit(n.body);
+        breaks.pop();
+        if (n.update != null) visit(n.update);
+        mv.visitJumpInsn(GOTO, top);
+        mv.visitLabel(end);
+        return null;
+    }
+
+    @Override
+    public SymbolTable.Type visitBreak(Ast.Break n) {
+        mv.visitJumpInsn(GOTO, breaks.peek());
+        return null;
+    }
+
+    @Override
+    public SymbolTable.Type visitSwitch(Ast.Switch n) {
+        var sections = n.sections;
+        Label[] bodies = new Label[sections.size()];
+        for (int i = 0; i < bodies.length; i++) bodies[i] = new Label();
+        Label end = new Label();
+        Label toDefault = n.otherwise != null ? new Label() : end;
+
+        SymbolTable.Type keyType = n.key.type;
+        boolean intTable = keyType == SymbolTable.Type.INT
+                && sections.stream().allMatch(s -> s.constant() instanceof Integer);
+        boolean stringTable = keyType == SymbolTable.Type.STRING
+                && sections.stream().allMatch(s -> s.constant() instanceof String);
+
+        if (intTable) {
+            // rótulos repetidos: vale a primeira seção, como na busca sequencial
+            TreeMap<Integer, Label> cases = new TreeMap<>();
+            for (int i = 0; i < sections.size(); i++) {
+                cases.putIfAbsent((Integer) sections.get(i).constant(), bodies[i]);
+            }
+            visit(n.key);
+            emitIntSwitch(cases, toDefault);
+        } else if (stringTable) {
+            // como o switch de strings do javac: lookupswitch pelo hashCode, equals dentro de cada balde
+            Map<String, Label> firsts = new LinkedHashMap<>();
+            for (int i = 0; i < sections.size(); i++) {
+                firsts.putIfAbsent((String) sections.get(i).constant(), bodies[i]);
+            }
+            TreeMap<Integer, List<String>> buckets = new TreeMap<>();
+            for (String v : firsts.keySet()) buckets.computeIfAbsent(v.hashCode(), h -> new ArrayList<>()).add(v);
+            TreeMap<Integer, Label> cases = new TreeMap<>();
+            for (int h : buckets.keySet()) cases.put(h, new Label());
+
+            int key = nextLocal++;
+            visit(n.key);
+            mv.visitVarInsn(ASTORE, key);
+            mv.visitVarInsn(ALOAD, key);
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "hashCode", "()I", false);
+            emitIntSwitch(cases, toDefault);
+            for (var bucket : buckets.entrySet()) {
+                mv.visitLabel(cases.get(bucket.getKey()));
+                for (String v : bucket.getValue()) {
+                    mv.visitVarInsn(ALOAD, key);
+                    mv.visitLdcInsn(v);
+                    mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "equals", "(Ljava/lang/Object;)Z", false);
+                    mv.visitJumpInsn(IFNE, firsts.get(v));
+                }
+                mv.visitJumpInsn(GOTO, toDefault);
+            }
+        } else {
+            int key = nextLocal;
+            nextLocal += keyType == SymbolTable.Type.FLOAT ? 2 : 1;
+            visit(n.key);
+            int keyOp = switch (keyType) { case INT, BOOL -> ISTORE; case FLOAT -> DSTORE; default -> ASTORE; };
+            mv.visitVarInsn(keyOp, key);
+            for (int i = 0; i < sections.size(); i++) {
+                Ast.Expr label = sections.get(i).label;
+                SymbolTable.Type labelType = label.type;
+                Domain d = equalityDomain(keyType, labelType);
+                mv.visitVarInsn(keyOp - (ISTORE - ILOAD), key);
+                toDomain(keyType, d);
+                visit(label);
+                toDomain(labelType, d);
+                jumpEquals(d, false, bodies[i]);
+            }
+            mv.visitJumpInsn(GOTO, toDefault);
+        }
+
+        breaks.push(end);
+        for (int i = 0; i < sections.size(); i++) {
+            mv.visitLabel(bodies[i]);
+            for (var s : sections.get(i).body) visit(s);
+        }
+        if (n.otherwise != null) {
+            mv.visitJumpInsn(GOTO, end);             // seções casadas não executam o default
+            mv.visitLabel(toDefault);
+            for (var s : n.otherwise) visit(s);
+        }
+        breaks.pop();
+        mv.visitLabel(end);
+        return null;
+    }
+
+    private void emitIntSwitch(TreeMap<Integer, Label> cases, Label dflt) {
+        if (cases.isEmpty()) {
+            mv.visitInsn(POP);
+            mv.visitJumpInsn(GOTO, dflt);
+            return;
+        }
+        int min = cases.firstKey(), max = cases.lastKey();
+        long range = (long) max - min + 1;
+        if (range <= 2L * cases.size() + 8) {
+            Label[] table = new Label[(int) range];
+            for (int v = 0; v < table.length; v++) table[v] = cases.getOrDefault(min + v, dflt);
+            mv.visitTableSwitchInsn(min, max, dflt, table);
+        } else {
+            int[] keys = cases.keySet().stream().mapToInt(Integer::intValue).toArray();
+            mv.visitLookupSwitchInsn(dflt, keys, cases.values().toArray(new Label[0]));
+        }
+    }
+
+    @Override
+    public SymbolTable.Type visitPrintText(Ast.PrintText n) {
+        mv.visitVarInsn(ALOAD, OUT);
+        mv.visitLdcInsn(n.text);
+        mv.visitMethodInsn(INVOKEVIRTUAL, OUTPUT, "println", "(Ljava/lang/String;)V", false);
+        return null;
+    }
+
+    @Override
+    public SymbolTable.Type visitPrint(Ast.Print n) {
+        mv.visitVarInsn(ALOAD, OUT);
+        SymbolTable.Type t = visit(n.value);
+        String desc = switch (t) {
+            case INT -> "(I)V";
+            case FLOAT -> "(D)V";
+            case BOOL -> "(Z)V";
+            default -> "(Ljava/lang/String;)V";
+        };
+        mv.visitMethodInsn(INVOKEVIRTUAL, OUTPUT, "println", desc, false);
+        return null;
+    }
+
+    @Override
+    public SymbolTable.Type visitRead(Ast.Read n) {
+        Ast.Slot s = n.slot;
+        mv.visitVarInsn(ALOAD, OUT);
+        mv.visitMethodInsn(INVOKEVIRTUAL, OUTPUT, "flush", "()V", false);
+        mv.visitVarInsn(ALOAD, INPUT);
+        switch (s.type()) {
+            case INT   -> mv.visitMethodInsn(INVOKEVIRTUAL, READER, "readInt", "()I", false);
+            case FLOAT -> mv.visitMethodInsn(INVOKEVIRTUAL, READER, "readDouble", "()D", false);
+            default    -> mv.visitMethodInsn(INVOKEVIRTUAL, READER, "readLine", "()Ljava/lang/String;", false);
+        }
+        store(s);
+        return null;
+    }
+
+    // ---------- Expressões (deixam o valor na pilha e retornam seu tipo) ----------
+    @Override
+    public SymbolTable.Type visitOr(Ast.Or n) {
+        return logical(n);
+    }
+
+    @Override
+    public SymbolTable.Type visitAnd(Ast.And n) {
+        return logical(n);
+    }
+
+    // Valor 0/1 de '||'/'&&': os mesmos desvios em curto-circuito das condições
+    private SymbolTable.Type logical(Ast.Binary n) {
+        Label no = new Label(), end = new Label();
+        jumpIf(n, false, no);
+        mv.visitInsn(ICONST_1);
+        mv.visitJumpInsn(GOTO, end);
+        mv.visitLabel(no);
+        mv.visitInsn(ICONST_0);
+        mv.visitLabel(end);
+        return SymbolTable.Type.BOOL;
+    }
+
+    @Override
+    public SymbolTable.Type visitEq(Ast.Eq n) {
+        SymbolTable.Type t = visit(n.left);
+        SymbolTable.Type rhs = n.right.type;
+        Domain d = equalityDomain(t, rhs);
+        toDomain(t, d);
+        visit(n.right);
+        toDomain(rhs, d);
+        Label yes = new Label(), end = new Label();
+        jumpEquals(d, n.op == Ast.Op.NE, yes);
+        mv.visitInsn(ICONST_0);
+        mv.visitJumpInsn(GOTO, end);
+        mv.visitLabel(yes);
+        mv.visitInsn(ICONST_1);
+        mv.visitLabel(end);
+        return SymbolTable.Type.BOOL;
+    }
+
+    @Override
+    public SymbolTable.Type visitRel(Ast.Rel n) {
+        SymbolTable.Type t = visit(n.left);
+        SymbolTable.Type rhs = n.right.type;
+        boolean ints = t == SymbolTable.Type.INT && rhs == SymbolTable.Type.INT;
+        if (!ints) toDouble(t);
+        visit(n.right);
+        if (!ints) toDouble(rhs);
+        Label yes = new Label(), end = new Label();
+        jumpRelational(ints, n.op, false, yes);
+        mv.visitInsn(ICONST_0);
+        mv.visitJumpInsn(GOTO, end);
+        mv.visitLabel(yes);
+        mv.visitInsn(ICONST_1);
+        mv.visitLabel(end);
+        return SymbolTable.Type.BOOL;
+    }
+
+    @Override
+    public SymbolTable.Type visitAdd(Ast.Add n) {
+        ConcatChain chain = chains.get(n);
+        if (chain != null && chain.size() <= MAX_CONCAT_ARGS) {
+            concat(chain);
+            return SymbolTable.Type.STRING;
+        }
+        SymbolTable.Type t = visit(n.left);
+        boolean plus = n.op == Ast.Op.ADD;
+        SymbolTable.Type rhs = n.right.type;
+        SymbolTable.Type result = Values.resultType(t, rhs, n.op.symbol);
+        switch (result) {
+            case STRING -> {
+                stringify(t);
+                visit(n.right);
+                stringify(rhs);
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "concat", "(Ljava/lang/String;)Ljava/lang/String;", false);
+            }
+            case FLOAT -> {
+                toDouble(t);
+                visit(n.right);
+                toDouble(rhs);
+                mv.visitInsn(plus ? DADD : DSUB);
+            }
+            default -> {
+                visit(n.right);
+                mv.visitInsn(plus ? IADD : ISUB);
+            }
+        }
+        return result;
+    }
+
+    // Cadeia de '+' de strings numa única chamada ao StringConcatFactory, como o javac faz:
+    // textos constantes vão na receita, e \1/\2 literais viram constantes da bootstrap
+    private void concat(ConcatChain chain) {
+        StringBuilder recipe = new StringBuilder();
+        StringBuilder desc = new StringBuilder("(");
+        List<Object> bsmArgs = new ArrayList<>();
+        bsmArgs.add(null);
+        for (int i = 0; i < chain.size(); i++) {
+            String text = chain.text(i);
+            if (text == null) {
+                SymbolTable.Type t = visit(chain.operand(i));
+                recipe.append('\u0001');
+                desc.append(switch (t) {
+                    case INT   -> "I";
+                    case FLOAT -> "D";
+                    case BOOL  -> "Z";
+                    default    -> "Ljava/lang/String;";
+                });
+                continue;
+            }
+            for (int k = 0; k < text.length(); k++) {
+                char c = text.charAt(k);
+                if (c == '\u0001' || c == '\u0002') {
+                    recipe.append('\u0002');
+                    bsmArgs.add(String.valueOf(c));
+                } else {
+                    recipe.append(c);
+                }
+            }
+        }
+        bsmArgs.set(0, recipe.toString());
+        mv.visitInvokeDynamicInsn("concat", desc.append(")Ljava/lang/String;").toString(), STRING_CONCAT,
+                bsmArgs.toArray());
+    }
+
+    @Override
+    public SymbolTable.Type visitMul(Ast.Mul n) {
+        SymbolTable.Type t = visit(n.left);
+        SymbolTable.Type rhs = n.right.type;
+        SymbolTable.Type result = Values.resultType(t, rhs, n.op.symbol);
+        if (result == SymbolTable.Type.FLOAT) {
+            toDouble(t);
+            visit(n.right);
+            toDouble(rhs);
+            mv.visitInsn(n.op == Ast.Op.DIV ? DDIV : DMUL);
+        } else {
+            visit(n.right);
+            mv.visitInsn(IMUL);
+        }
+        return result;
+    }
+
+    @Override
+    public SymbolTable.Type visitUnary(Ast.Unary n) {
+        SymbolTable.Type t = visit(n.operand);
+        if (n.op == Ast.Op.NOT) {
+            truthy(t);
+            mv.visitInsn(ICONST_1);
+            mv.visitInsn(IXOR);
+            return SymbolTable.Type.BOOL;
+        }
+        if (t != SymbolTable.Type.FLOAT && t != SymbolTable.Type.INT) {
+            toNumberInt(t);
+            t = SymbolTable.Type.INT;
+        }
+        if (n.op == Ast.Op.NEG) {                      // '-' sempre produz float, como no interpretador
+            if (t == SymbolTable.Type.FLOAT) {
+                mv.visitInsn(DNEG);
+            } else {
+                mv.visitInsn(INEG);                // negação inteira (com overflow) antes da promoção
+                mv.visitInsn(I2D);
+            }
+            return SymbolTable.Type.FLOAT;
+        }
+        return t;
+    }
+
+    @Override
+    public SymbolTable.Type visitLiteral(Ast.Literal n) {
+        if (n.value instanceof Integer v) pushInt(v);
+        else                              mv.visitLdcInsn(n.value);
+        return n.type;
+    }
+
+    @Override
+    public SymbolTable.Type visitVar(Ast.Var n) {
+        load(n.slot);
+        return n.slot.type();
+    }
+}
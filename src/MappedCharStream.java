@@ -0,0 +1,125 @@
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fonte do lexer lida direto do arquivo mapeado em memória (FileChannel.map),
+ * sem copiar o texto para o heap. Vale para arquivos só com ASCII, o caso comum:
+ * aí cada byte é um caractere e o índice do CharStream é o deslocamento no
+ * arquivo. Com qualquer byte acima de 0x7F o arquivo é decodificado como UTF-8
+ * numa única cópia (CharStreams.fromChannel), com o mesmo erro de codificação
+ * que o Files.readString daria.
+ */
+public final class MappedCharStream implements CharStream {
+
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private final MappedByteBuffer bytes;
+    private final int size;
+    private final String name;
+    private int position = 0;
+
+    private MappedCharStream(MappedByteBuffer bytes, String name) {
+        this.bytes = bytes;
+        this.size = bytes.limit();
+        this.name = name;
+    }
+
+    public static CharStream open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length <= Integer.MAX_VALUE) {
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+                if (isAscii(bytes)) return new MappedCharStream(bytes, path.toString());
+            }
+            channel.position(0);
+            return CharStreams.fromChannel(channel, StandardCharsets.UTF_8, 1 << 16,
+                    CodingErrorAction.REPORT, path.toString(), length);
+        }
+    }
+
+    // Trecho [from, to) do mesmo mapeamento, com índices a partir de 0 e posição própria
+    MappedCharStream slice(int from, int to) {
+        return new MappedCharStream(bytes.slice(from, to - from), name);
+    }
+
+    // Oito bytes por vez: basta um bit alto em qualquer um deles
+    private static boolean isAscii(MappedByteBuffer bytes) {
+        int n = bytes.limit(), i = 0;
+        for (; i + Long.BYTES <= n; i += Long.BYTES) {
+            if ((bytes.getLong(i) & HIGH_BITS) != 0) return false;
+        }
+        for (; i < n; i++) {
+            if (bytes.get(i) < 0) return false;
+        }
+        return true;
+    }
+
+    // ---------- CharStream (mesmo comportamento do CodePointCharStream) ----------
+    @Override
+    public int LA(int i) {
+        if (i == 0) return 0;
+        int offset = i > 0 ? position + i - 1 : position + i;
+        if (offset < 0 || offset >= size) return IntStream.EOF;
+        return bytes.get(offset);                    // ASCII: byte sem sinal
+    }
+
+    @Override
+    public void consume() {
+        if (position >= size) throw new IllegalStateException("cannot consume EOF");
+        position++;
+    }
+
+    @Override
+    public int mark() {
+        return -1;
+    }
+
+    @Override
+    public void release(int marker) {
+    }
+
+    @Override
+    public int index() {
+        return position;
+    }
+
+    @Override
+    public void seek(int index) {
+        position = index;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String getSourceName() {
+        return name;
+    }
+
+    @Override
+    public String getText(Interval interval) {
+        int start = Math.min(interval.a, size);
+        int length = Math.min(interval.b - interval.a + 1, size - start);
+        if (length <= 0) return "";
+        byte[] chunk = new byte[length];
+        bytes.get(start, chunk);
+        return new String(chunk, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return getText(Interval.of(0, size - 1));
+    }
+}
@@ -0,0 +1,182 @@
+import java.util.*;
+
+/**
+ * Monta a árvore de nós executáveis (Nodes) a partir da Ast já verificada.
+ * Cada slot vira um índice do Object[] de variáveis; a especialização por tipo
+ * acontece depois, durante a execução.
+ */
+public class NodeCompiler implements Ast.Visitor<Nodes.Node> {
+
+    private final ConstantFolder constants;
+    private final Map<Ast.Slot, Integer> locals = new HashMap<>();
+    private Map<Ast.Add, ConcatChain> chains = Map.of();
+
+    public NodeCompiler(ConstantFolder constants) {
+        this.constants = constants;
+    }
+
+    public Nodes.Program compile(Ast.Program prog) {
+        chains = ConcatChain.collect(prog, constants);
+        return new Nodes.Program(stmts(prog.body), locals.size());
+    }
+
+    private int local(Ast.Slot slot) {
+        return locals.computeIfAbsent(slot, s -> locals.size());
+    }
+
+    private Nodes.Stmt stmt(Ast.Stmt node)   { return (Nodes.Stmt) node.accept(this); }
+    private Nodes.Expr expr(Ast.Expr node) {
+        Object c = constants.valueOf(node);
+        return c != null ? new Nodes.Literal(c) : (Nodes.Expr) node.accept(this);
+    }
+
+    private Nodes.Stmt[] stmts(List<Ast.Stmt> list) {
+        Nodes.Stmt[] out = new Nodes.Stmt[list.size()];
+        for (int i = 0; i < out.length; i++) out[i] = stmt(list.get(i));
+        return out;
+    }
+
+    // ---------- Statements ----------
+    @Override
+    public Nodes.Node visitDecl(Ast.Decl n) {
+        SymbolTable.Type type = n.slot.type();
+        Nodes.Expr init = n.init != null ? expr(n.init) : new Nodes.Literal(Values.defaultFor(type));
+        return new Nodes.Store(local(n.slot), type, init);
+    }
+
+    @Override
+    public Nodes.Node visitAssign(Ast.Assign n) {
+        return new Nodes.Store(local(n.slot), n.slot.type(), expr(n.value));
+    }
+
+    @Override
+    public Nodes.Node visitBlock(Ast.Block n) {
+        return new Nodes.Block(stmts(n.body));
+    }
+
+    @Override
+    public Nodes.Node visitIf(Ast.If n) {
+        Nodes.Stmt otherwise = n.otherwise != null ? stmt(n.otherwise) : null;
+        return new Nodes.If(expr(n.cond), stmt(n.then), otherwise);
+    }
+
+    @Override
+    public Nodes.Node visitWhile(Ast.While n) {
+        return new Nodes.While(expr(n.cond), stmt(n.body));
+    }
+
+    @Override
+    public Nodes.Node visitDoWhile(Ast.DoWhile n) {
+        return new Nodes.DoWhile(stmt(n.body), expr(n.cond));
+    }
+
+    @Override
+    public Nodes.Node visitFor(Ast.For n) {
+        // Como blocos não declaram, o escopo do for só tem a variável do init
+        int[] scope = n.init instanceof Ast.Decl d ? new int[] { local(d.slot) } : new int[0];
+        Nodes.Stmt init = n.init != null ? stmt(n.init) : null;
+        Nodes.Expr cond = n.cond != null ? expr(n.cond) : null;
+        Nodes.Stmt update = n.update != null ? stmt(n.update) : null;
+        return new Nodes.For(scope, init, cond, update, stmt(n.body));
+    }
+
+    @Override
+    public Nodes.Node visitBreak(Ast.Break n) {
+        return new Nodes.Break();
+    }
+
+    @Override
+    public Nodes.Node visitSwitch(Ast.Switch n) {
+        var sections = n.sections;
+        Nodes.Expr[] labels = new Nodes.Expr[sections.size()];
+        Nodes.Stmt[][] bodies = new Nodes.Stmt[sections.size()][];
+        for (int i = 0; i < labels.length; i++) {
+            if (sections.get(i).label instanceof Ast.Var v) labels[i] = new Nodes.Local(local(v.slot));
+            bodies[i] = stmts(sections.get(i).body);
+        }
+        Nodes.Stmt[] otherwise = n.otherwise != null ? stmts(n.otherwise) : null;
+        return new Nodes.Switch(expr(n.key), labels, SwitchTable.of(n), bodies, otherwise);
+    }
+
+    @Override
+    public Nodes.Node visitPrintText(Ast.PrintText n) {
+        return new Nodes.PrintLiteral(n.text);
+    }
+
+    @Override
+    public Nodes.Node visitPrint(Ast.Print n) {
+        return new Nodes.Print(expr(n.value));
+    }
+
+    @Override
+    public Nodes.Node visitRead(Ast.Read n) {
+        return new Nodes.Read(local(n.slot), n.slot.type());
+    }
+
+    // ---------- Expressões ----------
+    @Override
+    public Nodes.Node visitOr(Ast.Or n) {
+        return new Nodes.Or(expr(n.left), expr(n.right));
+    }
+
+    @Override
+    public Nodes.Node visitAnd(Ast.And n) {
+        return new Nodes.And(expr(n.left), expr(n.right));
+    }
+
+    @Override
+    public Nodes.Node visitEq(Ast.Eq n) {
+        return new Nodes.UninitEquals(n.op == Ast.Op.NE, expr(n.left), expr(n.right));
+    }
+
+    @Override
+    public Nodes.Node visitRel(Ast.Rel n) {
+        Nodes.CompareOp op = switch (n.op) {
+            case LT -> Nodes.CompareOp.LT;
+            case GT -> Nodes.CompareOp.GT;
+            case LE -> Nodes.CompareOp.LE;
+            default -> Nodes.CompareOp.GE;
+        };
+        return new Nodes.UninitCompare(op, expr(n.left), expr(n.right));
+    }
+
+    @Override
+    public Nodes.Node visitAdd(Ast.Add n) {
+        ConcatChain chain = chains.get(n);
+        if (chain != null) {
+            Nodes.Expr[] parts = new Nodes.Expr[chain.size()];
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = chain.text(i) != null ? new Nodes.Literal(chain.text(i)) : expr(chain.operand(i));
+            }
+            return new Nodes.Concat(parts);
+        }
+        Nodes.ArithOp op = n.op == Ast.Op.ADD ? Nodes.ArithOp.ADD : Nodes.ArithOp.SUB;
+        return new Nodes.UninitArith(op, expr(n.left), expr(n.right));
+    }
+
+    @Override
+    public Nodes.Node visitMul(Ast.Mul n) {
+        Nodes.ArithOp op = n.op == Ast.Op.MUL ? Nodes.ArithOp.MUL : Nodes.ArithOp.DIV;
+        return new Nodes.UninitArith(op, expr(n.left), expr(n.right));
+    }
+
+    @Override
+    public Nodes.Node visitUnary(Ast.Unary n) {
+        Nodes.Expr operand = expr(n.operand);
+        return switch (n.op) {
+            case NOT -> new Nodes.Not(operand);
+            case NEG -> new Nodes.Negate(operand);
+            default  -> new Nodes.Plus(operand);
+        };
+    }
+
+    @Override
+    public Nodes.Node visitLiteral(Ast.Literal n) {
+        return new Nodes.Literal(n.value);
+    }
+
+    @Override
+    public Nodes.Node visitVar(Ast.Var n) {
+        return new Nodes.Local(local(n.slot));
+    }
+}
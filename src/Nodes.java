@@ -0,0 +1,542 @@
+
+/**
+ * Nós executáveis do motor auto-especializante (--engine=nodes), montados pelo
+ * NodeCompiler. Operadores binários começam não inicializados e, na primeira
+ * execução, se substituem na árvore por uma versão especializada para os tipos
+ * observados (por exemplo IntAdd). Se um tipo novo aparecer, o nó especializado
+ * se reescreve para a versão genérica, que segue Values como o interpretador.
+ *
+ * Variáveis ficam em um único Object[] indexado pelo slot resolvido; como não
+ * há funções, cada slot tem no máximo uma instância viva.
+ */
+public final class Nodes {
+    private Nodes() {}
+
+    /** Estado de uma execução: variáveis, entrada e saída padrão. */
+    public static final class Frame {
+        final Object[] locals;
+        final InputReader in;
+        final OutputBuffer out;
+
+        Frame(int size, InputReader in, OutputBuffer out) {
+            this.locals = new Object[size];
+            this.in = in;
+            this.out = out;
+        }
+    }
+
+    public abstract static class Node {
+        Node parent;
+
+        <T extends Node> T adopt(T child) {
+            if (child != null) child.parent = this;
+            return child;
+        }
+
+        // Troca um filho especializado; só nós com expressões filhas sobrescrevem
+        void replaceChild(Expr old, Expr neu) {
+            throw new IllegalStateException("Nó sem filhos substituíveis: " + getClass().getSimpleName());
+        }
+    }
+
+    // ======================= Expressões =======================
+    public abstract static class Expr extends Node {
+        abstract Object execute(Object[] locals);
+
+        final <T extends Expr> T replace(T neu) {
+            neu.parent = parent;
+            parent.replaceChild(this, neu);
+            return neu;
+        }
+
+        final boolean executeBoolean(Object[] locals) {
+            return Values.truthy(execute(locals));
+        }
+    }
+
+    static final class Literal extends Expr {
+        private final Object value;
+        Literal(Object value) { this.value = value; }
+        @Override Object execute(Object[] locals) { return value; }
+    }
+
+    static final class Local extends Expr {
+        private final int index;
+        Local(int index) { this.index = index; }
+        @Override Object execute(Object[] locals) { return locals[index]; }
+    }
+
+    abstract static class Unary extends Expr {
+        Expr operand;
+        Unary(Expr operand) { this.operand = adopt(operand); }
+        @Override void replaceChild(Expr old, Expr neu) { if (operand == old) operand = neu; }
+    }
+
+    static final class Not extends Unary {
+        Not(Expr operand) { super(operand); }
+        @Override Object execute(Object[] locals) { return !operand.executeBoolean(locals); }
+    }
+
+    static final class Plus extends Unary {
+        Plus(Expr operand) { super(operand); }
+        @Override Object execute(Object[] locals) {
+            Object v = operand.execute(locals);
+            return (v instanceof Double) ? v : ((Number)v).intValue();
+        }
+    }
+
+    static final class Negate extends Unary {
+        Negate(Expr operand) { super(operand); }
+        @Override Object execute(Object[] locals) {
+            Object v = operand.execute(locals);
+            return (v instanceof Double) ? -((Double)v) : -((Number)v).intValue();   // sempre double, como no interpretador
+        }
+    }
+
+    abstract static class Binary extends Expr {
+        Expr left, right;
+        Binary(Expr left, Expr right) {
+            this.left = adopt(left);
+            this.right = adopt(right);
+        }
+        @Override void replaceChild(Expr old, Expr neu) {
+            if (left == old) left = neu;
+            if (right == old) right = neu;
+        }
+    }
+
+    static final class And extends Binary {
+        And(Expr left, Expr right) { super(left, right); }
+        @Override Object execute(Object[] locals) {
+            return left.executeBoolean(locals) && right.executeBoolean(locals);
+        }
+    }
+
+    static final class Or extends Binary {
+        Or(Expr left, Expr right) { super(left, right); }
+        @Override Object execute(Object[] locals) {
+            return left.executeBoolean(locals) || right.executeBoolean(locals);
+        }
+    }
+
+    // ---------- Aritmética: Uninit -> Int/Double/Concat -> Generic ----------
+    enum ArithOp { ADD, SUB, MUL, DIV }
+
+    static Object arith(ArithOp op, Object a, Object b) {
+        return switch (op) {
+            case ADD -> Values.add(a, b);
+            case SUB -> Values.subtract(a, b);
+            case MUL -> Values.multiply(a, b);
+            case DIV -> Values.divide(a, b);
+        };
+    }
+
+    static final class UninitArith extends Binary {
+        private final ArithOp op;
+        UninitArith(ArithOp op, Expr left, Expr right) { super(left, right); this.op = op; }
+
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            replace(specialize(a, b));
+            return arith(op, a, b);
+        }
+
+        private Expr specialize(Object a, Object b) {
+            boolean ints = a instanceof Integer && b instanceof Integer;
+            boolean doubles = a instanceof Double && b instanceof Double;
+            return switch (op) {
+                case ADD -> ints ? new IntAdd(left, right) : doubles ? new DoubleAdd(left, right)
+                          : (Values.isText(a) && Values.isText(b)) ? new StringConcat(left, right)
+                          : new GenericArith(op, left, right);
+                case SUB -> ints ? new IntSub(left, right) : doubles ? new DoubleSub(left, right)
+                          : new GenericArith(op, left, right);
+                case MUL -> ints ? new IntMul(left, right) : doubles ? new DoubleMul(left, right)
+                          : new GenericArith(op, left, right);
+                case DIV -> doubles ? new DoubleDiv(left, right) : new GenericArith(op, left, right);
+            };
+        }
+    }
+
+    static final class GenericArith extends Binary {
+        private final ArithOp op;
+        GenericArith(ArithOp op, Expr left, Expr right) { super(left, right); this.op = op; }
+        @Override Object execute(Object[] locals) {
+            return arith(op, left.execute(locals), right.execute(locals));
+        }
+    }
+
+    static final class IntAdd extends Binary {
+        IntAdd(Expr left, Expr right) { super(left, right); }
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            if (a instanceof Integer x && b instanceof Integer y) return x + y;
+            replace(new GenericArith(ArithOp.ADD, left, right));
+            return Values.add(a, b);
+        }
+    }
+
+    static final class IntSub extends Binary {
+        IntSub(Expr left, Expr right) { super(left, right); }
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            if (a instanceof Integer x && b instanceof Integer y) return x - y;
+            replace(new GenericArith(ArithOp.SUB, left, right));
+            return Values.subtract(a, b);
+        }
+    }
+
+    static final class IntMul extends Binary {
+        IntMul(Expr left, Expr right) { super(left, right); }
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            if (a instanceof Integer x && b instanceof Integer y) return x * y;
+            replace(new GenericArith(ArithOp.MUL, left, right));
+            return Values.multiply(a, b);
+        }
+    }
+
+    static final class DoubleAdd extends Binary {
+        DoubleAdd(Expr left, Expr right) { super(left, right); }
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            if (a instanceof Double x && b instanceof Double y) return x + y;
+            replace(new GenericArith(ArithOp.ADD, left, right));
+            return Values.add(a, b);
+        }
+    }
+
+    static final class DoubleSub extends Binary {
+        DoubleSub(Expr left, Expr right) { super(left, right); }
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            if (a instanceof Double x && b instanceof Double y) return x - y;
+            replace(new GenericArith(ArithOp.SUB, left, right));
+            return Values.subtract(a, b);
+        }
+    }
+
+    static final class DoubleMul extends Binary {
+        DoubleMul(Expr left, Expr right) { super(left, right); }
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            if (a instanceof Double x && b instanceof Double y) return x * y;
+            replace(new GenericArith(ArithOp.MUL, left, right));
+            return Values.multiply(a, b);
+        }
+    }
+
+    static final class DoubleDiv extends Binary {
+        DoubleDiv(Expr left, Expr right) { super(left, right); }
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            if (a instanceof Double x && b instanceof Double y) return x / y;
+            replace(new GenericArith(ArithOp.DIV, left, right));
+            return Values.divide(a, b);
+        }
+    }
+
+    static final class StringConcat extends Binary {
+        StringConcat(Expr left, Expr right) { super(left, right); }
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            if (Values.isText(a) && Values.isText(b)) return ConcatString.concat(a, b);
+            replace(new GenericArith(ArithOp.ADD, left, right));
+            return Values.add(a, b);
+        }
+    }
+
+    // Cadeia de '+' de strings (ConcatChain): segmentos constantes são Literal com o texto
+    static final class Concat extends Expr {
+        private final Expr[] parts;
+        Concat(Expr[] parts) {
+            this.parts = parts;
+            for (Expr p : parts) adopt(p);
+        }
+        @Override void replaceChild(Expr old, Expr neu) {
+            for (int i = 0; i < parts.length; i++) if (parts[i] == old) parts[i] = neu;
+        }
+        @Override Object execute(Object[] locals) {
+            Object head = parts[0].execute(locals);
+            String[] rest = new String[parts.length - 1];
+            for (int i = 1; i < parts.length; i++) rest[i - 1] = Values.stringify(parts[i].execute(locals));
+            return ConcatString.concat(head, rest);
+        }
+    }
+
+    // ---------- Comparações: Uninit -> Int -> Generic ----------
+    enum CompareOp { LT, GT, LE, GE }
+
+    static boolean compare(CompareOp op, double a, double b) {
+        return switch (op) {
+            case LT -> a <  b;
+            case GT -> a >  b;
+            case LE -> a <= b;
+            case GE -> a >= b;
+        };
+    }
+
+    static final class UninitCompare extends Binary {
+        private final CompareOp op;
+        UninitCompare(CompareOp op, Expr left, Expr right) { super(left, right); this.op = op; }
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            replace(a instanceof Integer && b instanceof Integer ? new IntCompare(op, left, right)
+                                                                  : new GenericCompare(op, left, right));
+            return compare(op, Values.toDouble(a), Values.toDouble(b));
+        }
+    }
+
+    static final class IntCompare extends Binary {
+        private final CompareOp op;
+        IntCompare(CompareOp op, Expr left, Expr right) { super(left, right); this.op = op; }
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            if (a instanceof Integer x && b instanceof Integer y) {
+                int i = x, j = y;
+                return switch (op) {
+                    case LT -> i <  j;
+                    case GT -> i >  j;
+                    case LE -> i <= j;
+                    case GE -> i >= j;
+                };
+            }
+            replace(new GenericCompare(op, left, right));
+            return compare(op, Values.toDouble(a), Values.toDouble(b));
+        }
+    }
+
+    static final class GenericCompare extends Binary {
+        private final CompareOp op;
+        GenericCompare(CompareOp op, Expr left, Expr right) { super(left, right); this.op = op; }
+        @Override Object execute(Object[] locals) {
+            return compare(op, Values.toDouble(left.execute(locals)), Values.toDouble(right.execute(locals)));
+        }
+    }
+
+    // ---------- Igualdade: Uninit -> Int -> Generic ----------
+    static final class UninitEquals extends Binary {
+        private final boolean negate;
+        UninitEquals(boolean negate, Expr left, Expr right) { super(left, right); this.negate = negate; }
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            replace(a instanceof Integer && b instanceof Integer ? new IntEquals(negate, left, right)
+                                                                  : new GenericEquals(negate, left, right));
+            return Values.equalsValue(a, b) != negate;
+        }
+    }
+
+    static final class IntEquals extends Binary {
+        private final boolean negate;
+        IntEquals(boolean negate, Expr left, Expr right) { super(left, right); this.negate = negate; }
+        @Override Object execute(Object[] locals) {
+            Object a = left.execute(locals), b = right.execute(locals);
+            if (a instanceof Integer x && b instanceof Integer y) return (x.intValue() == y.intValue()) != negate;
+            replace(new GenericEquals(negate, left, right));
+            return Values.equalsValue(a, b) != negate;
+        }
+    }
+
+    static final class GenericEquals extends Binary {
+        private final boolean negate;
+        GenericEquals(boolean negate, Expr left, Expr right) { super(left, right); this.negate = negate; }
+        @Override Object execute(Object[] locals) {
+            return Values.equalsValue(left.execute(locals), right.execute(locals)) != negate;
+        }
+    }
+
+    // ======================= Comandos =======================
+    // execute() devolve true quando um 'break' deve interromper o laço/switch envolvente
+    public abstract static class Stmt extends Node {
+        abstract boolean execute(Frame f);
+    }
+
+    static final class Store extends Stmt {
+        private final int index;
+        private final SymbolTable.Type type;
+        Expr value;
+        Store(int index, SymbolTable.Type type, Expr value) {
+            this.index = index;
+            this.type = type;
+            this.value = adopt(value);
+        }
+        @Override void replaceChild(Expr old, Expr neu) { if (value == old) value = neu; }
+        @Override boolean execute(Frame f) {
+            f.locals[index] = Values.castTo(type, value.execute(f.locals));
+            return false;
+        }
+    }
+
+    static final class Print extends Stmt {
+        Expr value;
+        Print(Expr value) { this.value = adopt(value); }
+        @Override void replaceChild(Expr old, Expr neu) { if (value == old) value = neu; }
+        @Override boolean execute(Frame f) {
+            f.out.println(value.execute(f.locals));
+            return false;
+        }
+    }
+
+    static final class PrintLiteral extends Stmt {
+        private final OutputBuffer.Literal line;
+        PrintLiteral(String text) { this.line = new OutputBuffer.Literal(text); }
+        @Override boolean execute(Frame f) {
+            f.out.println(line);
+            return false;
+        }
+    }
+
+    static final class Read extends Stmt {
+        private final int index;
+        private final SymbolTable.Type type;
+        Read(int index, SymbolTable.Type type) {
+            this.index = index;
+            this.type = type;
+        }
+        @Override boolean execute(Frame f) {
+            f.out.flush();
+            f.locals[index] = f.in.read(type);
+            return false;
+        }
+    }
+
+    static final class Break extends Stmt {
+        @Override boolean execute(Frame f) { return true; }
+    }
+
+    static final class Block extends Stmt {
+        private final Stmt[] body;
+        Block(Stmt[] body) {
+            this.body = body;
+            for (Stmt s : body) adopt(s);
+        }
+        @Override boolean execute(Frame f) {
+            for (Stmt s : body) {
+                if (s.execute(f)) return true;
+            }
+            return false;
+        }
+    }
+
+    static final class If extends Stmt {
+        Expr cond;
+        private final Stmt then, otherwise;
+        If(Expr cond, Stmt then, Stmt otherwise) {
+            this.cond = adopt(cond);
+            this.then = adopt(then);
+            this.otherwise = adopt(otherwise);
+        }
+        @Override void replaceChild(Expr old, Expr neu) { if (cond == old) cond = neu; }
+        @Override boolean execute(Frame f) {
+            if (cond.executeBoolean(f.locals)) return then.execute(f);
+            return otherwise != null && otherwise.execute(f);
+        }
+    }
+
+    static final class While extends Stmt {
+        Expr cond;
+        private final Stmt body;
+        While(Expr cond, Stmt body) {
+            this.cond = adopt(cond);
+            this.body = adopt(body);
+        }
+        @Override void replaceChild(Expr old, Expr neu) { if (cond == old) cond = neu; }
+        @Override boolean execute(Frame f) {
+            while (cond.executeBoolean(f.locals)) {
+                if (body.execute(f)) break;
+            }
+            return false;
+        }
+    }
+
+    static final class DoWhile extends Stmt {
+        Expr cond;
+        private final Stmt body;
+        DoWhile(Stmt body, Expr cond) {
+            this.body = adopt(body);
+            this.cond = adopt(cond);
+        }
+        @Override void replaceChild(Expr old, Expr neu) { if (cond == old) cond = neu; }
+        @Override boolean execute(Frame f) {
+            do {
+                if (body.execute(f)) break;
+            } while (cond.executeBoolean(f.locals));
+            return false;
+        }
+    }
+
+    static final class For extends Stmt {
+        Expr cond;                                   // null = sem condição
+        private final Stmt init, update, body;       // init/update podem ser null
+        private final int[] scope;                   // variáveis do for, limpas na entrada
+        For(int[] scope, Stmt init, Expr cond, Stmt update, Stmt body) {
+            this.scope = scope;
+            this.init = adopt(init);
+            this.cond = adopt(cond);
+            this.update = adopt(update);
+            this.body = adopt(body);
+        }
+        @Override void replaceChild(Expr old, Expr neu) { if (cond == old) cond = neu; }
+        @Override boolean execute(Frame f) {
+            for (int i : scope) f.locals[i] = null;  // 'int x = x;' não vê a volta anterior
+            if (init != null) init.execute(f);
+            while (cond == null || cond.executeBoolean(f.locals)) {
+                if (body.execute(f)) break;
+                if (update != null) update.execute(f);
+            }
+            return false;
+        }
+    }
+
+    static final class Switch extends Stmt {
+        Expr key;
+        private final Expr[] labels;                 // null nas seções com rótulo constante
+        private final SwitchTable table;
+        private final Stmt[][] sections;
+        private final Stmt[] otherwise;              // null = sem default
+        Switch(Expr key, Expr[] labels, SwitchTable table, Stmt[][] sections, Stmt[] otherwise) {
+            this.key = adopt(key);
+            this.labels = labels;
+            this.table = table;
+            this.sections = sections;
+            this.otherwise = otherwise;
+            for (Expr l : labels) adopt(l);
+            for (Stmt[] sect : sections) for (Stmt s : sect) adopt(s);
+            if (otherwise != null) for (Stmt s : otherwise) adopt(s);
+        }
+        @Override void replaceChild(Expr old, Expr neu) { if (key == old) key = neu; }
+        @Override boolean execute(Frame f) {
+            Object k = key.execute(f.locals);
+            int first = table.match(k, i -> labels[i].execute(f.locals));
+            if (first < 0) {
+                if (otherwise != null) runSection(otherwise, f);
+                return false;
+            }
+            // queda livre pelas seções seguintes até um 'break'
+            for (int i = first; i < sections.length; i++) {
+                if (runSection(sections[i], f)) break;
+            }
+            return false;
+        }
+        private static boolean runSection(Stmt[] body, Frame f) {
+            for (Stmt s : body) {
+                if (s.execute(f)) return true;
+            }
+            return false;
+        }
+    }
+
+    /** Raiz da árvore de nós: os comandos do programa e o número de variáveis. */
+    public static final class Program extends Node {
+        private final Stmt[] body;
+        private final int locals;
+        Program(Stmt[] body, int locals) {
+            this.body = body;
+            this.locals = locals;
+            for (Stmt s : body) adopt(s);
+        }
+        public void run(InputReader in, OutputBuffer out) {
+            Frame f = new Frame(locals, in, out);
+            for (Stmt s : body) s.execute(f);
+        }
+    }
+}
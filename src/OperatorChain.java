@@ -0,0 +1,47 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Na Ast, 'a + b - c' vira (a + b) - c: cada operador binário é um nó com dois
+ * operandos. Onde a cadeia inteira do mesmo nível importa (desvios de '||'/'&&',
+ * ConcatChain, mensagens do SemanticVisitor) ela é lida aqui, descendo pelo
+ * operando esquerdo enquanto ele for um nó do mesmo nível. Parênteses
+ * interrompem a cadeia (Ast.Binary.grouped), como antes.
+ */
+public final class OperatorChain {
+
+    private OperatorChain() {}
+
+    /** Operandos da cadeia binária que termina em n, da esquerda para a direita. */
+    public static List<Ast.Expr> operands(Ast.Binary n) {
+        List<Ast.Expr> list = new ArrayList<>();
+        Ast.Expr e = n;
+        while (e == n || continues(e, n)) {
+            Ast.Binary b = (Ast.Binary) e;
+            list.add(b.right);
+            e = b.left;
+        }
+        list.add(e);
+        Collections.reverse(list);
+        return list;
+    }
+
+    /** Operadores da cadeia: o i-ésimo liga operands(n).get(i) e .get(i + 1). */
+    public static List<Ast.Op> operators(Ast.Binary n) {
+        List<Ast.Op> list = new ArrayList<>();
+        Ast.Expr e = n;
+        while (e == n || continues(e, n)) {
+            Ast.Binary b = (Ast.Binary) e;
+            list.add(b.op);
+            e = b.left;
+        }
+        Collections.reverse(list);
+        return list;
+    }
+
+    // Operando esquerdo que faz parte da mesma cadeia: mesmo nível e sem parênteses
+    private static boolean continues(Ast.Expr e, Ast.Binary top) {
+        return e.getClass() == top.getClass() && !((Ast.Binary) e).grouped;
+    }
+}
@@ -0,0 +1,257 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Saída do printf compartilhada pelos motores de execução. As linhas são
+ * codificadas direto num buffer de bytes próprio, sem passar pelo PrintStream
+ * sincronizado a cada chamada, e só vão para o stream conforme a política:
+ * LINE descarrega a cada linha, BLOCK quando o bloco enche e EXIT só no fim
+ * (o buffer cresce). Em qualquer política a saída é descarregada antes de um
+ * scanf, para que o prompt apareça, e no fim da execução.
+ */
+public final class OutputBuffer {
+
+    public enum FlushPolicy { LINE, BLOCK, EXIT }
+
+    /** Texto de um printf("...") literal, codificado (com a quebra de linha) na primeira escrita. */
+    public static final class Literal {
+        private final String text;
+        private Charset charset;
+        private byte[] bytes;
+
+        public Literal(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final byte[] INT_MIN = "-2147483648".getBytes(StandardCharsets.US_ASCII);
+    private static final double[] POW10 = new double[18];
+    static {
+        POW10[0] = 1;
+        for (int k = 1; k < POW10.length; k++) POW10[k] = POW10[k - 1] * 10;
+    }
+
+    private final OutputStream sink;
+    private final Charset charset;
+    private final FlushPolicy policy;
+    private final byte[] newline;
+    private final boolean asciiCompatible;
+    private byte[] buf = new byte[BLOCK_SIZE];
+    private int len;
+
+    public OutputBuffer(OutputStream sink, Charset charset, FlushPolicy policy) {
+        this.sink = sink;
+        this.charset = charset;
+        this.policy = policy;
+        this.newline = System.lineSeparator().getBytes(charset);
+        this.asciiCompatible = charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    /** Codificação usada pelo System.out (stdout.encoding, ou a padrão da JVM). */
+    public static Charset consoleCharset() {
+        String name = System.getProperty("stdout.encoding", System.getProperty("sun.stdout.encoding"));
+        try {
+            return name != null ? Charset.forName(name) : Charset.defaultCharset();
+        } catch (IllegalArgumentException e) {
+            return Charset.defaultCharset();
+        }
+    }
+
+    public static FlushPolicy parsePolicy(String name) {
+        return switch (name) {
+            case "line"  -> FlushPolicy.LINE;
+            case "block" -> FlushPolicy.BLOCK;
+            case "exit"  -> FlushPolicy.EXIT;
+            default      -> null;
+        };
+    }
+
+    // ---------- printf ----------
+    public void println(Literal line) {
+        if (line.charset != charset) {
+            byte[] text = line.text.getBytes(charset);
+            byte[] bytes = Arrays.copyOf(text, text.length + newline.length);
+            System.arraycopy(newline, 0, bytes, text.length, newline.length);
+            line.bytes = bytes;
+            line.charset = charset;
+        }
+        write(line.bytes, line.bytes.length);
+        if (policy == FlushPolicy.LINE) drain();
+    }
+
+    public void println(String s) {
+        append(String.valueOf(s));
+        endLine();
+    }
+
+    // Números são escritos direto no buffer, com o mesmo texto de String.valueOf
+    public void println(int v) {
+        if (!asciiCompatible) {
+            println(Integer.toString(v));
+            return;
+        }
+        reserve(11);
+        appendInt(v);
+        endLine();
+    }
+
+    public void println(double v) {
+        if (!asciiCompatible || !appendPlainDouble(v)) {
+            println(Double.toString(v));
+            return;
+        }
+        endLine();
+    }
+
+    /** Valor do interpretador: números e booleanos sem passar por String. */
+    public void println(Object v) {
+        if (v instanceof Integer n)      println(n.intValue());
+        else if (v instanceof Double d)  println(d.doubleValue());
+        else if (v instanceof Boolean b) println(b.booleanValue());
+        else                             println(String.valueOf(v));
+    }
+
+    public void println(boolean v) {
+        println(v ? "true" : "false");
+    }
+
+    /** Descarrega o buffer e o stream (antes de scanf e no fim da execução). */
+    public void flush() {
+        drain();
+        try {
+            sink.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ---------- Buffer ----------
+    private void append(String s) {
+        int n = s.length();
+        if (asciiCompatible) {
+            reserve(n);
+            int start = len;
+            for (int k = 0; k < n; k++) {
+                char c = s.charAt(k);
+                if (c >= 0x80) {                     // fora do ASCII: volta ao codificador
+                    len = start;
+                    byte[] bytes = s.getBytes(charset);
+                    write(bytes, bytes.length);
+                    return;
+                }
+                buf[len++] = (byte) c;
+            }
+        } else {
+            byte[] bytes = s.getBytes(charset);
+            write(bytes, bytes.length);
+        }
+    }
+
+    // Cabe em 11 bytes, reservados por quem chama
+    private void appendInt(int v) {
+        if (v == Integer.MIN_VALUE) {
+            System.arraycopy(INT_MIN, 0, buf, len, INT_MIN.length);
+            len += INT_MIN.length;
+            return;
+        }
+        if (v < 0) {
+            buf[len++] = '-';
+            v = -v;
+        }
+        int end = len + digits(v);
+        for (int p = end - 1; p >= len; p--) {
+            buf[p] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        len = end;
+    }
+
+    private static int digits(long v) {
+        int n = 1;
+        while (v >= 10) {
+            v /= 10;
+            n++;
+        }
+        return n;
+    }
+
+    // Caso comum do Double.toString: notação sem expoente (1e-3 <= |v| < 1e7) e poucos dígitos.
+    // Procura o menor k tal que m / 10^k, com m = round(|v| * 10^k), volta exatamente a |v|;
+    // com |v| * 10^k < 2^50 o inteiro mais próximo é único, e esse é o decimal mais curto que
+    // identifica v, o mesmo que o Double.toString escreve. Devolve false para os demais casos.
+    private boolean appendPlainDouble(double v) {
+        if (v == 0) {
+            reserve(4);
+            if (Double.doubleToRawLongBits(v) != 0) buf[len++] = '-';
+            buf[len++] = '0';
+            buf[len++] = '.';
+            buf[len++] = '0';
+            return true;
+        }
+        double a = Math.abs(v);
+        if (!(a >= 1e-3 && a < 1e7)) return false;       // também exclui NaN
+        for (int k = 0; k < POW10.length; k++) {
+            double scaled = a * POW10[k];
+            if (scaled >= 0x1p50) return false;
+            long m = Math.round(scaled);
+            if (m / POW10[k] != a) continue;
+            reserve(k + 10);                 // sinal, 7 dígitos inteiros, ponto e k decimais
+            if (v < 0) buf[len++] = '-';
+            long unit = (long) POW10[k];
+            long whole = m / unit, fraction = m % unit;
+            int start = len, end = len + digits(whole);
+            for (int p = end - 1; p >= start; p--) {
+                buf[p] = (byte) ('0' + whole % 10);
+                whole /= 10;
+            }
+            len = end;
+            buf[len++] = '.';
+            if (k == 0) {
+                buf[len++] = '0';
+            } else {
+                for (int p = len + k - 1; p >= len; p--) {
+                    buf[p] = (byte) ('0' + fraction % 10);
+                    fraction /= 10;
+                }
+                len += k;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void endLine() {
+        write(newline, newline.length);
+        if (policy == FlushPolicy.LINE) drain();
+    }
+
+    private void write(byte[] bytes, int n) {
+        reserve(n);
+        System.arraycopy(bytes, 0, buf, len, n);
+        len += n;
+    }
+
+    // Garante espaço para n bytes: fora de EXIT descarrega o bloco cheio; o buffer só
+    // cresce em EXIT ou para uma linha maior que o bloco inteiro
+    private void reserve(int n) {
+        if (n <= buf.length - len) return;
+        if (policy != FlushPolicy.EXIT) drain();
+        if (n > buf.length - len) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + n));
+    }
+
+    private void drain() {
+        if (len == 0) return;
+        try {
+            sink.write(buf, 0, len);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        len = 0;
+    }
+}
@@ -0,0 +1,153 @@
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.misc.Pair;
+
+import java.util.Arrays;
+
+/**
+ * Lexer numa thread própria (--lexer=thread): o TomLangLexer roda adiantado e
+ * entrega os tokens em lotes por um AsyncIO.Ring sem trava; o parser consome
+ * esta TokenSource na thread principal, à medida que os lotes chegam. Os lotes
+ * são arrays int reaproveitados (voltam ao lexer por um segundo anel), então o
+ * fluxo não aloca um objeto por token; o token devolvido por nextToken() vem da
+ * TokenFactory instalada pelo stream, como num Lexer comum.
+ *
+ * O anel é limitado: o lexer fica no máximo BATCHES lotes à frente do parser.
+ * Erros de reconhecimento do lexer vão para os listeners dele, na thread do
+ * lexer; uma exceção inesperada é relançada no nextToken() do parser.
+ */
+public final class PipelinedLexer implements TokenSource {
+
+    private static final int BATCH_TOKENS = 2048;
+    private static final int BATCHES = 32;          // potência de 2, capacidade dos anéis
+    private static final int FIELDS = 6;            // tipo, canal, início, fim, linha, coluna
+
+    private static final class Batch {
+        final int[] data = new int[BATCH_TOKENS * FIELDS];
+        String[] texts;                             // só se o lexer trocar o texto de algum token
+        int count;
+        Throwable failure;
+    }
+
+    private final Lexer lexer;
+    private final CharStream input;
+    private final Pair<TokenSource, CharStream> pair;
+    private final AsyncIO.Ring<Batch> full = new AsyncIO.Ring<>(BATCHES);
+    private final AsyncIO.Ring<Batch> free = new AsyncIO.Ring<>(BATCHES);
+    private TokenFactory<?> factory = CommonTokenFactory.DEFAULT;
+    private Batch batch;
+    private int next;
+    private int line, column;                       // do último token entregue
+
+    public PipelinedLexer(Lexer lexer) {
+        this.lexer = lexer;
+        this.input = lexer.getInputStream();
+        this.pair = new Pair<>(this, input);
+        for (int i = 0; i < BATCHES; i++) free.put(new Batch());
+        Thread producer = new Thread(this::produce, "tomlang-lexer");
+        producer.setDaemon(true);                   // parse abandonado no meio não segura a JVM
+        producer.start();
+    }
+
+    // ---------- Thread do lexer ----------
+    private void produce() {
+        Batch[] current = { free.take() };
+        lexer.setTokenFactory(new TokenFactory<CommonToken>() {
+            private final CommonToken scratch = new CommonToken(Token.INVALID_TYPE);
+
+            @Override
+            public CommonToken create(Pair<TokenSource, CharStream> source, int type, String text, int channel,
+                                      int start, int stop, int line, int charPositionInLine) {
+                Batch b = current[0];
+                if (b.count == BATCH_TOKENS) {
+                    full.put(b);
+                    current[0] = b = free.take();
+                }
+                int k = b.count * FIELDS;
+                b.data[k] = type;
+                b.data[k + 1] = channel;
+                b.data[k + 2] = start;
+                b.data[k + 3] = stop;
+                b.data[k + 4] = line;
+                b.data[k + 5] = charPositionInLine;
+                if (text != null) {
+                    if (b.texts == null) b.texts = new String[BATCH_TOKENS];
+                    b.texts[b.count] = text;
+                }
+                b.count++;
+                scratch.setType(type);
+                return scratch;
+            }
+
+            @Override
+            public CommonToken create(int type, String text) {
+                return new CommonToken(type, text);
+            }
+        });
+        try {
+            while (lexer.nextToken().getType() != Token.EOF) { }
+        } catch (Throwable t) {
+            current[0].failure = t;
+        }
+        full.put(current[0]);
+    }
+
+    // ---------- Thread do parser ----------
+    @Override
+    public Token nextToken() {
+        if (batch == null || next == batch.count) {
+            if (batch != null) recycle(batch);
+            batch = full.take();
+            next = 0;
+            if (batch.failure != null) rethrow(batch.failure);
+        }
+        int k = next * FIELDS;
+        int[] d = batch.data;
+        String text = batch.texts != null ? batch.texts[next] : null;
+        if (d[k] != Token.EOF) next++;               // depois do fim, sempre o EOF de novo
+        line = d[k + 4];
+        column = d[k + 5];
+        return factory.create(pair, d[k], text, d[k + 1], d[k + 2], d[k + 3], line, column);
+    }
+
+    private void recycle(Batch b) {
+        b.count = 0;
+        if (b.texts != null) Arrays.fill(b.texts, null);
+        free.put(b);
+    }
+
+    private static void rethrow(Throwable t) {
+        if (t instanceof RuntimeException e) throw e;
+        if (t instanceof Error e) throw e;
+        throw new IllegalStateException(t);
+    }
+
+    @Override
+    public int getLine() {
+        return line;
+    }
+
+    @Override
+    public int getCharPositionInLine() {
+        return column;
+    }
+
+    @Override
+    public CharStream getInputStream() {
+        return input;
+    }
+
+    @Override
+    public String getSourceName() {
+        return input.getSourceName();
+    }
+
+    @Override
+    public void setTokenFactory(TokenFactory<?> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public TokenFactory<?> getTokenFactory() {
+        return factory;
+    }
+}
@@ -1,136 +1,146 @@
 import java.util.*;
 
-public class SemanticVisitor extends TomLangBaseVisitor<SymbolTable.Type> {
+public class SemanticVisitor implements Ast.Visitor<SymbolTable.Type> {
     private final SymbolTable sym = new SymbolTable();
     private final List<String> errors = new ArrayList<>();
 
     public boolean hasErrors() { return !errors.isEmpty(); }
     public List<String> getErrors() { return errors; }
 
+    public void check(Ast.Program program) {
+        for (Ast.Stmt s : program.body) s.accept(this);
+    }
+
+    private SymbolTable.Type visit(Ast.Node n) {
+        return n.accept(this);
+    }
+
     @Override
-    public SymbolTable.Type visitDecl(TomLangParser.DeclContext ctx) {
-        String name = ctx.ID().getText();
-        SymbolTable.Type t = toType(ctx.type().getText());
-        if (!sym.declare(name, t)) {
-            errors.add(err(ctx.start.getLine(), "Variável '" + name + "' já declarada neste escopo"));
+    public SymbolTable.Type visitDecl(Ast.Decl n) {
+        SymbolTable.Type t = n.slot.type();
+        if (!sym.declare(n.name, t)) {
+            errors.add(err(n.line, "Variável '" + n.name + "' já declarada neste escopo"));
         }
-        if (ctx.expr() != null) {
-            SymbolTable.Type v = visit(ctx.expr());
+        if (n.init != null) {
+            SymbolTable.Type v = visit(n.init);
             if (!assignable(t, v)) {
-                errors.add(err(ctx.start.getLine(), "Atribuição incompatível: " + t + " = " + v));
+                errors.add(err(n.line, "Atribuição incompatível: " + t + " = " + v));
             }
         }
         return SymbolTable.Type.UNKNOWN;
     }
 
     @Override
-    public SymbolTable.Type visitBlock(TomLangParser.BlockContext ctx) {
+    public SymbolTable.Type visitBlock(Ast.Block n) {
         sym.pushScope();
-        for (var s : ctx.stmt()) visit(s);
+        for (var s : n.body) visit(s);
         sym.popScope();
         return SymbolTable.Type.UNKNOWN;
     }
 
     @Override
-    public SymbolTable.Type visitAssign(TomLangParser.AssignContext ctx) {
-        String name = ctx.ID().getText();
-        SymbolTable.Type declared = sym.lookup(name);
+    public SymbolTable.Type visitAssign(Ast.Assign n) {
+        SymbolTable.Type declared = sym.lookup(n.name);
         if (declared == null) {
-            errors.add(err(ctx.start.getLine(), "Variável '" + name + "' não declarada"));
+            errors.add(err(n.line, "Variável '" + n.name + "' não declarada"));
             declared = SymbolTable.Type.UNKNOWN;
         }
-        SymbolTable.Type value = visit(ctx.expr());
+        SymbolTable.Type value = visit(n.value);
         if (!assignable(declared, value)) {
-            errors.add(err(ctx.start.getLine(), "Atribuição incompatível: " + declared + " = " + value));
+            errors.add(err(n.line, "Atribuição incompatível: " + declared + " = " + value));
         }
         return declared;
     }
 
     @Override
-    public SymbolTable.Type visitIfStmt(TomLangParser.IfStmtContext ctx) {
-        var cond = visit(ctx.expr());
+    public SymbolTable.Type visitIf(Ast.If n) {
+        var cond = visit(n.cond);
         if (cond == SymbolTable.Type.STRING) {
-            errors.add(err(ctx.start.getLine(), "Condição do if não pode ser string"));
+            errors.add(err(n.line, "Condição do if não pode ser string"));
         }
-        visit(ctx.block(0));
-        if (ctx.block().size() > 1) visit(ctx.block(1));
+        visit(n.then);
+        if (n.otherwise != null) visit(n.otherwise);
         return SymbolTable.Type.UNKNOWN;
     }
 
     @Override
-    public SymbolTable.Type visitWhileStmt(TomLangParser.WhileStmtContext ctx) {
-        var cond = visit(ctx.expr());
+    public SymbolTable.Type visitWhile(Ast.While n) {
+        var cond = visit(n.cond);
         if (cond == SymbolTable.Type.STRING) {
-            errors.add(err(ctx.start.getLine(), "Condição do while não pode ser string"));
+            errors.add(err(n.line, "Condição do while não pode ser string"));
         }
         breakable.push(true);
-        visit(ctx.block());
+        visit(n.body);
         breakable.pop();
         return SymbolTable.Type.UNKNOWN;
     }
 
     @Override
-    public SymbolTable.Type visitDoWhileStmt(TomLangParser.DoWhileStmtContext ctx) {
-        var cond = visit(ctx.expr());
+    public SymbolTable.Type visitDoWhile(Ast.DoWhile n) {
+        var cond = visit(n.cond);
         if (cond == SymbolTable.Type.STRING) {
-            errors.add(err(ctx.start.getLine(), "Condição do do-while não pode ser string"));
+            errors.add(err(n.line, "Condição do do-while não pode ser string"));
         }
         breakable.push(true);
-        visit(ctx.block());
+        visit(n.body);
         breakable.pop();
         return SymbolTable.Type.UNKNOWN;
     }
 
     @Override
-    public SymbolTable.Type visitForStmt(TomLangParser.ForStmtContext ctx) {
+    public SymbolTable.Type visitFor(Ast.For n) {
         sym.pushScope();
-        if (ctx.forInit().getText().length() > 0) visit(ctx.forInit());
-        if (ctx.forCond() != null) {
-            var t = visit(ctx.forCond());
+        if (n.init != null) visit(n.init);
+        if (n.cond != null) {
+            var t = visit(n.cond);
             if (t == SymbolTable.Type.STRING) {
-                errors.add(err(ctx.start.getLine(), "Condição do for não pode ser string"));
+                errors.add(err(n.line, "Condição do for não pode ser string"));
             }
         }
-        if (ctx.forUpdate() != null) visit(ctx.forUpdate());
+        if (n.update != null) visit(n.update);
         breakable.push(true);
-        visit(ctx.block());
+        visit(n.body);
         breakable.pop();
         sym.popScope();
         return SymbolTable.Type.UNKNOWN;
     }
 
     @Override
-    public SymbolTable.Type visitPrintStmt(TomLangParser.PrintStmtContext ctx) {
-        if (ctx.expr() != null) visit(ctx.expr());
+    public SymbolTable.Type visitPrint(Ast.Print n) {
+        visit(n.value);
         return SymbolTable.Type.UNKNOWN;
     }
 
     @Override
-    public SymbolTable.Type visitReadStmt(TomLangParser.ReadStmtContext ctx) {
-        String name = ctx.ID().getText();
-        if (sym.lookup(name) == null) {
-            errors.add(err(ctx.start.getLine(), "Variável '" + name + "' não declarada (scanf)"));
+    public SymbolTable.Type visitPrintText(Ast.PrintText n) {
+        return SymbolTable.Type.UNKNOWN;
+    }
+
+    @Override
+    public SymbolTable.Type visitRead(Ast.Read n) {
+        if (sym.lookup(n.name) == null) {
+            errors.add(err(n.line, "Variável '" + n.name + "' não declarada (scanf)"));
         }
         return SymbolTable.Type.UNKNOWN;
     }
 
     @Override
-    public SymbolTable.Type visitSwitchStmt(TomLangParser.SwitchStmtContext ctx) {
-        var switchType = visit(ctx.expr());
+    public SymbolTable.Type visitSwitch(Ast.Switch n) {
+        var switchType = visit(n.key);
 
         breakable.push(true);
         sym.pushScope();
 
-        for (var sect : ctx.switchSection()) {
-            SymbolTable.Type labelType = typeOfSwitchLabel(sect.switchLabel());
+        for (var sect : n.sections) {
+            SymbolTable.Type labelType = typeOfSwitchLabel(sect.label);
             if (!caseCompatible(switchType, labelType)) {
-                errors.add(err(sect.start.getLine(), "Tipo do 'case' (" + labelType + ") incompatível com 'switch' (" + switchType + ")"));
+                errors.add(err(sect.line, "Tipo do 'case' (" + labelType + ") incompatível com 'switch' (" + switchType + ")"));
             }
-            for (var s : sect.stmt()) visit(s);
+            for (var s : sect.body) visit(s);
         }
 
-        if (ctx.defaultSection() != null) {
-            for (var s : ctx.defaultSection().stmt()) visit(s);
+        if (n.otherwise != null) {
+            for (var s : n.otherwise) visit(s);
         }
 
         sym.popScope();
@@ -138,16 +148,14 @@ public class SemanticVisitor extends TomLangBaseVisitor<SymbolTable.Type> {
         return SymbolTable.Type.UNKNOWN;
     }
 
-    private SymbolTable.Type typeOfSwitchLabel(TomLangParser.SwitchLabelContext ctx) {
-        if (ctx.INT_LIT() != null)   return SymbolTable.Type.INT;
-        if (ctx.STRING() != null)    return SymbolTable.Type.STRING;
-        if (ctx.ID() != null) {
-            String name = ctx.ID().getText();
-            var t = sym.lookup(name);
+    // Rótulo ID não declarado não gera erro aqui: o case só fica sem tipo
+    private SymbolTable.Type typeOfSwitchLabel(Ast.Expr label) {
+        if (label instanceof Ast.Var v) {
+            var t = sym.lookup(v.name);
             if (t == null) return SymbolTable.Type.UNKNOWN;
             return t;
         }
-        return SymbolTable.Type.UNKNOWN;
+        return label.type;
     }
 
     private boolean caseCompatible(SymbolTable.Type switchType, SymbolTable.Type labelType) {
@@ -158,69 +166,61 @@ public class SemanticVisitor extends TomLangBaseVisitor<SymbolTable.Type> {
     }
 
     @Override
-    public SymbolTable.Type visitBreakStmt(TomLangParser.BreakStmtContext ctx) {
+    public SymbolTable.Type visitBreak(Ast.Break n) {
         if (breakable.isEmpty() || !breakable.peek()) {
-            errors.add(err(ctx.start.getLine(), "Uso de 'break' fora de loop/switch"));
+            errors.add(err(n.line, "Uso de 'break' fora de loop/switch"));
         }
         return SymbolTable.Type.UNKNOWN;
     }
 
     @Override
-    public SymbolTable.Type visitPrimary(TomLangParser.PrimaryContext ctx) {
-        if (ctx.INT_LIT() != null)   return SymbolTable.Type.INT;
-        if (ctx.FLOAT_LIT() != null) return SymbolTable.Type.FLOAT;
-        if (ctx.STRING() != null)    return SymbolTable.Type.STRING;
-        if (ctx.ID() != null) {
-            String name = ctx.ID().getText();
-            var t = sym.lookup(name);
-            if (t == null) {
-                errors.add(err(ctx.start.getLine(), "Variável '" + name + "' não declarada"));
-                return SymbolTable.Type.UNKNOWN;
-            }
-            return t;
-        }
-        return visit(ctx.expr());
+    public SymbolTable.Type visitLiteral(Ast.Literal n) {
+        return n.type;
     }
 
     @Override
-    public SymbolTable.Type visitUnary(TomLangParser.UnaryContext ctx) {
-        if (ctx.getChildCount() == 2) {
-            var t = visit(ctx.unary());
-            String op = ctx.getChild(0).getText();
-            if (op.equals("!")) return SymbolTable.Type.BOOL;
-            if (t == SymbolTable.Type.STRING) {
-                errors.add(err(ctx.start.getLine(), "Operador '" + op + "' inválido para string"));
-                return SymbolTable.Type.UNKNOWN;
-            }
-            return t;
+    public SymbolTable.Type visitVar(Ast.Var n) {
+        var t = sym.lookup(n.name);
+        if (t == null) {
+            errors.add(err(n.line, "Variável '" + n.name + "' não declarada"));
+            return SymbolTable.Type.UNKNOWN;
         }
-        return visit(ctx.primary());
+        return t;
     }
 
     @Override
-    public SymbolTable.Type visitMulExpr(TomLangParser.MulExprContext ctx) {
-        var t = visit(ctx.unary(0));
-        for (int i = 1; i < ctx.unary().size(); i++) {
-            String op = ctx.getChild(2*i - 1).getText();
-            var rhs = visit(ctx.unary(i));
-            t = SymbolTable.promote(t, rhs, op);
-            if (t == SymbolTable.Type.UNKNOWN) {
-                errors.add(err(ctx.start.getLine(), "Operação inválida com '" + op + "'"));
-                break;
-            }
+    public SymbolTable.Type visitUnary(Ast.Unary n) {
+        var t = visit(n.operand);
+        if (n.op == Ast.Op.NOT) return SymbolTable.Type.BOOL;
+        if (t == SymbolTable.Type.STRING) {
+            errors.add(err(n.line, "Operador '" + n.op + "' inválido para string"));
+            return SymbolTable.Type.UNKNOWN;
         }
         return t;
     }
 
     @Override
-    public SymbolTable.Type visitAddExpr(TomLangParser.AddExprContext ctx) {
-        var t = visit(ctx.mulExpr(0));
-        for (int i = 1; i < ctx.mulExpr().size(); i++) {
-            String op = ctx.getChild(2*i - 1).getText();
-            var rhs = visit(ctx.mulExpr(i));
+    public SymbolTable.Type visitMul(Ast.Mul n) {
+        return arithmetic(n);
+    }
+
+    @Override
+    public SymbolTable.Type visitAdd(Ast.Add n) {
+        return arithmetic(n);
+    }
+
+    // A cadeia inteira do mesmo nível ('a + b - c'): a primeira operação inválida
+    // é reportada uma vez e os operandos seguintes não são verificados
+    private SymbolTable.Type arithmetic(Ast.Binary n) {
+        var operands = OperatorChain.operands(n);
+        var ops = OperatorChain.operators(n);
+        var t = visit(operands.get(0));
+        for (int i = 1; i < operands.size(); i++) {
+            String op = ops.get(i - 1).symbol;
+            var rhs = visit(operands.get(i));
             t = SymbolTable.promote(t, rhs, op);
             if (t == SymbolTable.Type.UNKNOWN) {
-                errors.add(err(ctx.start.getLine(), "Operação inválida com '" + op + "'"));
+                errors.add(err(n.line, "Operação inválida com '" + op + "'"));
                 break;
             }
         }
@@ -228,48 +228,30 @@ public class SemanticVisitor extends TomLangBaseVisitor<SymbolTable.Type> {
     }
 
     @Override
-    public SymbolTable.Type visitOrExpr(TomLangParser.OrExprContext ctx) {
-        if (ctx.getChildCount() == 1) {
-            return visit(ctx.andExpr(0));
-        }
-        for (var a : ctx.andExpr()) visit(a);
-        return SymbolTable.Type.BOOL;
+    public SymbolTable.Type visitOr(Ast.Or n) {
+        return logical(n);
     }
 
     @Override
-    public SymbolTable.Type visitAndExpr(TomLangParser.AndExprContext ctx) {
-        if (ctx.getChildCount() == 1) {
-            return visit(ctx.eqExpr(0));
-        }
-        for (var e : ctx.eqExpr()) visit(e);
-        return SymbolTable.Type.BOOL;
+    public SymbolTable.Type visitAnd(Ast.And n) {
+        return logical(n);
     }
 
     @Override
-    public SymbolTable.Type visitEqExpr(TomLangParser.EqExprContext ctx) {
-        if (ctx.getChildCount() == 1) {
-            return visit(ctx.relExpr(0));
-        }
-        for (var r : ctx.relExpr()) visit(r);
-        return SymbolTable.Type.BOOL;
+    public SymbolTable.Type visitEq(Ast.Eq n) {
+        return logical(n);
     }
 
     @Override
-    public SymbolTable.Type visitRelExpr(TomLangParser.RelExprContext ctx) {
-        if (ctx.getChildCount() == 1) {
-            return visit(ctx.addExpr(0));
-        }
-        for (var a : ctx.addExpr()) visit(a);
-        return SymbolTable.Type.BOOL;
+    public SymbolTable.Type visitRel(Ast.Rel n) {
+        return logical(n);
     }
 
-    private SymbolTable.Type toType(String t) {
-        return switch (t) {
-            case "int" -> SymbolTable.Type.INT;
-            case "float" -> SymbolTable.Type.FLOAT;
-            case "string" -> SymbolTable.Type.STRING;
-            default -> SymbolTable.Type.UNKNOWN;
-        };
+    // Comparações e conectivos: verifica os dois lados e produz bool
+    private SymbolTable.Type logical(Ast.Binary n) {
+        visit(n.left);
+        visit(n.right);
+        return SymbolTable.Type.BOOL;
     }
 
     private boolean assignable(SymbolTable.Type target, SymbolTable.Type value) {
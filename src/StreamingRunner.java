@@ -0,0 +1,52 @@
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.TokenSource;
+
+import java.util.List;
+
+/**
+ * Execução em fluxo (--stream, só o interpretador de árvore): cada decl/stmt de nível
+ * superior é analisado, convertido em Ast, verificado e executado antes de o próximo
+ * ser lido. A saída começa com o primeiro comando e só a árvore de um item fica viva
+ * por vez (os tokens continuam no CompactTokenStream, 20 bytes cada).
+ *
+ * A dobra de constantes não propaga variáveis: o resto do programa ainda não foi lido.
+ * Depois do primeiro erro nada mais é executado, mas o arquivo é lido até o fim para
+ * que as mensagens e a ordem delas sejam as do modo normal (os erros sintáticos, se
+ * houver, senão todos os semânticos). Um erro de execução também para a execução: ele
+ * só é relançado se o resto do programa compilar, já que no modo normal um erro de
+ * compilação mais adiante impediria a execução. O que já foi executado fica.
+ */
+public final class StreamingRunner {
+
+    /** Erros como os do modo normal e total de expressões dobradas nos itens executados. */
+    public record Result(List<String> syntaxErrors, List<String> semanticErrors, int foldedCount) {
+        public boolean hasErrors() { return !syntaxErrors.isEmpty() || !semanticErrors.isEmpty(); }
+    }
+
+    private StreamingRunner() {}
+
+    public static Result run(TokenSource source, InputReader in, OutputBuffer out) {
+        TomLangParseDriver.Items items = TomLangParseDriver.items(source);
+        AstBuilder builder = AstBuilder.incremental();
+        SemanticVisitor sema = new SemanticVisitor();
+        InterpreterVisitor interpreter = new InterpreterVisitor(in, out, null);
+        RuntimeException failure = null;
+        int folded = 0;
+        for (ParserRuleContext tree = items.next(); tree != null; tree = items.next()) {
+            Ast.Program item = builder.item(tree);
+            sema.check(item);
+            if (sema.hasErrors() || failure != null) continue;    // daqui em diante só verifica
+            ConstantFolder constants = new ConstantFolder();
+            constants.foldExpressions(item);
+            folded += constants.foldedCount();
+            try {
+                interpreter.runItem(item, constants);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        List<String> syntax = items.errors();
+        if (failure != null && syntax.isEmpty() && !sema.hasErrors()) throw failure;
+        return new Result(syntax, syntax.isEmpty() ? sema.getErrors() : List.of(), folded);
+    }
+}
@@ -0,0 +1,115 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Despacho de 'switch' pré-calculado: encontra a primeira seção cujo rótulo é
+ * igual à chave segundo Values.equalsValue, sem percorrer as seções uma a uma.
+ * Rótulos inteiros vão para uma tabela densa (ou um mapa, se esparsos) e
+ * rótulos string para um mapa hash. Rótulos variáveis (ID) só são conhecidos
+ * na execução: são conferidos em ordem, e apenas os que vêm antes da seção já
+ * encontrada nas tabelas.
+ */
+public final class SwitchTable {
+
+    /** Valor atual do rótulo variável da seção indicada. */
+    public interface Labels {
+        Object valueAt(int section);
+    }
+
+    private final int[] dense;                      // seção por (valor - min), ou -1; null se esparso
+    private final int min;
+    private final Map<Integer, Integer> ints = new HashMap<>();
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<String, Integer> intTexts = new HashMap<>();   // stringify dos rótulos inteiros
+    private final int[] variables;                  // seções com rótulo ID, em ordem
+
+    /** constants[i] é o valor do rótulo da seção i (Integer ou String), ou null se for um ID. */
+    public SwitchTable(Object[] constants) {
+        int[] vars = new int[constants.length];
+        int nVars = 0;
+        int lo = Integer.MAX_VALUE, hi = Integer.MIN_VALUE;
+        for (int i = 0; i < constants.length; i++) {
+            Object c = constants[i];
+            if (c == null) {
+                vars[nVars++] = i;
+            } else if (c instanceof Integer n) {
+                ints.putIfAbsent(n, i);            // rótulo repetido: vale a primeira seção
+                intTexts.putIfAbsent(Values.stringify(n), i);
+                lo = Math.min(lo, n);
+                hi = Math.max(hi, n);
+            } else {
+                strings.putIfAbsent((String) c, i);
+            }
+        }
+        this.variables = Arrays.copyOf(vars, nVars);
+
+        long range = (long) hi - lo + 1;
+        if (!ints.isEmpty() && range <= 2L * ints.size() + 8) {
+            int[] table = new int[(int) range];
+            Arrays.fill(table, -1);
+            for (var e : ints.entrySet()) table[e.getKey() - lo] = e.getValue();
+            dense = table;
+            min = lo;
+        } else {
+            dense = null;
+            min = 0;
+        }
+    }
+
+    /** Tabela dos rótulos literais do switch. */
+    public static SwitchTable of(Ast.Switch n) {
+        Object[] constants = new Object[n.sections.size()];
+        for (int i = 0; i < constants.length; i++) constants[i] = n.sections.get(i).constant();
+        return new SwitchTable(constants);
+    }
+
+    /** Todos os rótulos são literais inteiros: chaves int podem usar matchInt. */
+    public boolean intLabelsOnly() {
+        return strings.isEmpty() && variables.length == 0;
+    }
+
+    /** Todos os rótulos são literais string: chaves string podem usar matchString. */
+    public boolean stringLabelsOnly() {
+        return ints.isEmpty() && variables.length == 0;
+    }
+
+    /** Primeira seção para uma chave int, quando intLabelsOnly(); -1 = default. */
+    public int matchInt(int key) {
+        if (dense != null) {
+            long at = (long) key - min;
+            return at >= 0 && at < dense.length ? dense[(int) at] : -1;
+        }
+        Integer section = ints.get(key);
+        return section == null ? -1 : section;
+    }
+
+    /** Primeira seção para uma chave string, quando stringLabelsOnly(); -1 = default. */
+    public int matchString(String key) {
+        Integer section = strings.get(key);
+        return section == null ? -1 : section;
+    }
+
+    /** Primeira seção cujo rótulo é igual à chave (Values.equalsValue); -1 = default. */
+    public int match(Object key, Labels labels) {
+        int first = -1;
+        if (key instanceof Number n) {
+            double d = n.doubleValue();
+            if (!ints.isEmpty() && (double) (int) d == d) first = matchInt((int) d);
+            if (!strings.isEmpty()) first = earliest(first, strings.get(Values.stringify(key)));
+        } else {
+            String s = Values.stringify(key);
+            first = earliest(strings.getOrDefault(s, -1), intTexts.get(s));
+        }
+        for (int v : variables) {
+            if (first >= 0 && v > first) break;
+            if (Values.equalsValue(key, labels.valueAt(v))) return v;
+        }
+        return first;
+    }
+
+    private static int earliest(int a, Integer b) {
+        if (b == null) return a;
+        return a < 0 ? b : Math.min(a, b);
+    }
+}
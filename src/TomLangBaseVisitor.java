@@ -157,61 +157,61 @@ public class TomLangBaseVisitor<T> extends AbstractParseTreeVisitor<T> implement
 	 * <p>The default implementation returns the result of calling
 	 * {@link #visitChildren} on {@code ctx}.</p>
 	 */
-	@Override public T visitExpr(TomLangParser.ExprContext ctx) { return visitChildren(ctx); }
+	@Override public T visitEqExpr(TomLangParser.EqExprContext ctx) { return visitChildren(ctx); }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation returns the result of calling
 	 * {@link #visitChildren} on {@code ctx}.</p>
 	 */
-	@Override public T visitOrExpr(TomLangParser.OrExprContext ctx) { return visitChildren(ctx); }
+	@Override public T visitUnaryExpr(TomLangParser.UnaryExprContext ctx) { return visitChildren(ctx); }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation returns the result of calling
 	 * {@link #visitChildren} on {@code ctx}.</p>
 	 */
-	@Override public T visitAndExpr(TomLangParser.AndExprContext ctx) { return visitChildren(ctx); }
+	@Override public T visitAddExpr(TomLangParser.AddExprContext ctx) { return visitChildren(ctx); }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation returns the result of calling
 	 * {@link #visitChildren} on {@code ctx}.</p>
 	 */
-	@Override public T visitEqExpr(TomLangParser.EqExprContext ctx) { return visitChildren(ctx); }
+	@Override public T visitMulExpr(TomLangParser.MulExprContext ctx) { return visitChildren(ctx); }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation returns the result of calling
 	 * {@link #visitChildren} on {@code ctx}.</p>
 	 */
-	@Override public T visitRelExpr(TomLangParser.RelExprContext ctx) { return visitChildren(ctx); }
+	@Override public T visitAtomExpr(TomLangParser.AtomExprContext ctx) { return visitChildren(ctx); }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation returns the result of calling
 	 * {@link #visitChildren} on {@code ctx}.</p>
 	 */
-	@Override public T visitAddExpr(TomLangParser.AddExprContext ctx) { return visitChildren(ctx); }
+	@Override public T visitOrExpr(TomLangParser.OrExprContext ctx) { return visitChildren(ctx); }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation returns the result of calling
 	 * {@link #visitChildren} on {@code ctx}.</p>
 	 */
-	@Override public T visitMulExpr(TomLangParser.MulExprContext ctx) { return visitChildren(ctx); }
+	@Override public T visitRelExpr(TomLangParser.RelExprContext ctx) { return visitChildren(ctx); }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation returns the result of calling
 	 * {@link #visitChildren} on {@code ctx}.</p>
 	 */
-	@Override public T visitUnary(TomLangParser.UnaryContext ctx) { return visitChildren(ctx); }
+	@Override public T visitParenExpr(TomLangParser.ParenExprContext ctx) { return visitChildren(ctx); }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation returns the result of calling
 	 * {@link #visitChildren} on {@code ctx}.</p>
 	 */
-	@Override public T visitPrimary(TomLangParser.PrimaryContext ctx) { return visitChildren(ctx); }
+	@Override public T visitAndExpr(TomLangParser.AndExprContext ctx) { return visitChildren(ctx); }
 }
\ No newline at end of file
@@ -18,10 +18,9 @@ public class TomLangLexer extends Lexer {
 	public static final int
 		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
 		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
-		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
-		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, T__30=31, 
-		T__31=32, T__32=33, T__33=34, ID=35, FLOAT_LIT=36, INT_LIT=37, STRING=38, 
-		WS=39, LINE_COMMENT=40, BLOCK_COMMENT=41;
+		T__17=18, T__18=19, T__19=20, T__20=21, OR=22, AND=23, EQ=24, NE=25, LT=26, 
+		GT=27, LE=28, GE=29, PLUS=30, MINUS=31, MUL=32, DIV=33, NOT=34, ID=35, 
+		FLOAT_LIT=36, INT_LIT=37, STRING=38, WS=39, LINE_COMMENT=40, BLOCK_COMMENT=41;
 	public static String[] channelNames = {
 		"DEFAULT_TOKEN_CHANNEL", "HIDDEN"
 	};
@@ -34,10 +33,9 @@ public class TomLangLexer extends Lexer {
 		return new String[] {
 			"T__0", "T__1", "T__2", "T__3", "T__4", "T__5", "T__6", "T__7", "T__8", 
 			"T__9", "T__10", "T__11", "T__12", "T__13", "T__14", "T__15", "T__16", 
-			"T__17", "T__18", "T__19", "T__20", "T__21", "T__22", "T__23", "T__24", 
-			"T__25", "T__26", "T__27", "T__28", "T__29", "T__30", "T__31", "T__32", 
-			"T__33", "ID", "FLOAT_LIT", "INT_LIT", "STRING", "WS", "LINE_COMMENT", 
-			"BLOCK_COMMENT", "DIGIT"
+			"T__17", "T__18", "T__19", "T__20", "OR", "AND", "EQ", "NE", "LT", "GT", 
+			"LE", "GE", "PLUS", "MINUS", "MUL", "DIV", "NOT", "ID", "FLOAT_LIT", 
+			"INT_LIT", "STRING", "WS", "LINE_COMMENT", "BLOCK_COMMENT", "DIGIT"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -55,9 +53,9 @@ public class TomLangLexer extends Lexer {
 	private static String[] makeSymbolicNames() {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, null, null, null, null, null, "ID", 
-			"FLOAT_LIT", "INT_LIT", "STRING", "WS", "LINE_COMMENT", "BLOCK_COMMENT"
+			null, null, null, null, null, null, null, null, null, null, "OR", "AND", 
+			"EQ", "NE", "LT", "GT", "LE", "GE", "PLUS", "MINUS", "MUL", "DIV", "NOT", 
+			"ID", "FLOAT_LIT", "INT_LIT", "STRING", "WS", "LINE_COMMENT", "BLOCK_COMMENT"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -1,46 +1,143 @@
 import org.antlr.v4.runtime.*;
-import org.antlr.v4.runtime.tree.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.nio.file.*;
-import java.util.Scanner;
+import java.util.List;
 
 public class TomLangMain {
+    // Cadeias longas ('a + b + ... + z') viram árvores profundas com a regra 'expr' recursiva
+    // à esquerda, e os passos sobre a árvore são recursivos: o compilador roda numa thread de
+    // pilha grande em vez da thread main (reservada, não alocada, até ser usada)
+    private static final long STACK_SIZE = 1L << 30;
+
     public static void main(String[] args) throws Exception {
-        if (args.length == 0) {
-            System.err.println("Uso: java TomLangMain <arquivo.tl>");
+        Throwable[] failure = new Throwable[1];
+        Thread worker = new Thread(null, () -> {
+            try {
+                run(args);
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        }, "main", STACK_SIZE);
+        worker.start();
+        worker.join();
+        if (failure[0] instanceof Exception e) throw e;
+        if (failure[0] instanceof Error e) throw e;
+    }
+
+    private static void run(String[] args) throws Exception {
+        String engine = "tree";
+        String lexer = "inline";
+        String file = null;
+        boolean stats = false;
+        boolean asyncIo = false;
+        boolean stream = false;
+        OutputBuffer.FlushPolicy flush = OutputBuffer.FlushPolicy.BLOCK;
+        for (String a : args) {
+            if (a.startsWith("--engine=")) engine = a.substring("--engine=".length());
+            else if (a.startsWith("--lexer=")) lexer = a.substring("--lexer=".length());
+            else if (a.startsWith("--flush=")) flush = OutputBuffer.parsePolicy(a.substring("--flush=".length()));
+            else if (a.equals("--stats")) stats = true;
+            else if (a.equals("--async-io")) asyncIo = true;
+            else if (a.equals("--stream")) stream = true;
+            else file = a;
+        }
+        if (file == null || flush == null || !List.of("tree", "nodes", "closure", "vm", "jvm").contains(engine)
+                || !List.of("inline", "thread", "chunks").contains(lexer) || (stream && !engine.equals("tree"))) {
+            System.err.println("Uso: java TomLangMain [--engine=tree|nodes|closure|vm|jvm] [--lexer=inline|thread|chunks] [--flush=line|block|exit] [--async-io] [--stream] [--stats] <arquivo.tl>");
             System.exit(1);
         }
 
-        String source = Files.readString(Path.of(args[0]));
-        CharStream input = CharStreams.fromString(source);
+        // Com --stream, parse, semântica e execução andam juntos, um comando de nível superior por vez
+        // e os tokens ficam vivos até o fim; senão o lexer só existe durante o parse
+        TokenSource source = null;
+        Ast.Program program = null;
+        ConstantFolder constants = null;
+        if (stream) {
+            source = tokens(file, lexer);
+        } else {
+            program = parse(tokens(file, lexer));
 
-        TomLangLexer lexer = new TomLangLexer(input);
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        TomLangParser parser = new TomLangParser(tokens);
+            // Semântica
+            SemanticVisitor sema = new SemanticVisitor();
+            sema.check(program);
+            if (sema.hasErrors()) fail("semânticos", sema.getErrors());
 
-        TomLangErrorListener err = new TomLangErrorListener();
-        parser.removeErrorListeners();
-        parser.addErrorListener(err);
-
-        ParseTree tree = parser.prog();
-
-        if (err.hasErrors()) {
-            System.err.println("Falha de compilação (erros sintáticos):");
-            err.getErrors().forEach(System.err::println);
-            System.exit(1);
+            // Dobra de constantes e propagação de variáveis nunca reatribuídas
+            constants = new ConstantFolder();
+            constants.fold(program);
+            if (stats) System.err.println("Dobra de constantes: " + constants.foldedCount() + " expressões");
         }
 
-        // Semântica
-        SemanticVisitor sema = new SemanticVisitor();
-        sema.visit(tree);
-        if (sema.hasErrors()) {
-            System.err.println("Falha de compilação (erros semânticos):");
-            for (String e : sema.getErrors()) System.err.println(e);
-            System.exit(1);
+        // Execução (interpretação da árvore, nós auto-especializantes, closures, bytecode na VM ou classe JVM gerada)
+        // Com --async-io, threads próprias leem o stdin adiantado e escrevem a saída
+        InputStream in = asyncIo ? new AsyncIO.Input(System.in) : System.in;
+        OutputStream sink = asyncIo ? new AsyncIO.Output(System.out) : System.out;
+        InputReader stdin = new InputReader(in, Charset.defaultCharset());
+        OutputBuffer out = new OutputBuffer(sink, OutputBuffer.consoleCharset(), flush);
+        StreamingRunner.Result streamed = null;
+        try {
+            if (engine.equals("jvm")) {
+                JvmCompiler.CompiledProgram compiled = null;
+                try {
+                    compiled = new JvmCompiler(constants).compile(program);
+                } catch (org.objectweb.asm.MethodTooLargeException | org.objectweb.asm.ClassTooLargeException | LinkageError e) {
+                    System.err.println("Aviso: backend JVM indisponível (" + e.getMessage() + "), usando a VM");
+                    engine = "vm";
+                }
+                if (compiled != null) compiled.run(stdin, out);
+            }
+            if (engine.equals("vm")) {
+                Bytecode code = new BytecodeCompiler(constants).compile(program);
+                new BytecodeVM(code, stdin, out).run();
+            } else if (engine.equals("closure")) {
+                new ClosureCompiler(constants).compile(program).run(stdin, out);
+            } else if (engine.equals("nodes")) {
+                new NodeCompiler(constants).compile(program).run(stdin, out);
+            } else if (stream) {
+                streamed = StreamingRunner.run(source, stdin, out);
+            } else if (engine.equals("tree")) {
+                InterpreterVisitor interpreter = new InterpreterVisitor(stdin, out, constants);
+                interpreter.run(program);        // ← executa e imprime via printf
+            }
+        } finally {
+            try {
+                out.flush();                     // saída já produzida sai mesmo se a execução falhar
+            } finally {
+                if (asyncIo) sink.close();       // espera a thread escritora
+            }
+        }
+        if (streamed != null) {
+            if (stats) System.err.println("Dobra de constantes: " + streamed.foldedCount() + " expressões");
+            if (!streamed.syntaxErrors().isEmpty()) fail("sintáticos", streamed.syntaxErrors());
+            if (!streamed.semanticErrors().isEmpty()) fail("semânticos", streamed.semanticErrors());
         }
+    }
+
+    // Com --lexer=thread o lexer roda numa thread própria, adiantado em relação ao parser;
+    // com --lexer=chunks o fonte é lido em trechos paralelos no ForkJoinPool
+    private static TokenSource tokens(String file, String lexer) throws IOException {
+        TomLangLexer tokens = new TomLangLexer(MappedCharStream.open(Path.of(file)));
+        return switch (lexer) {
+            case "thread" -> new PipelinedLexer(tokens);
+            case "chunks" -> new ChunkedLexer(tokens);
+            default -> tokens;
+        };
+    }
+
+    // Parse SLL com desistência no primeiro erro; LL completo só se necessário. A árvore e
+    // os tokens só vivem aqui dentro: daqui em diante os passos trabalham sobre a Ast
+    static Ast.Program parse(TokenSource source) {
+        TomLangParseDriver.Result parsed = TomLangParseDriver.parse(source);
+        if (parsed.hasErrors()) fail("sintáticos", parsed.errors());
+        return AstBuilder.build(parsed.tree());
+    }
 
-        // Execução (interpretação)
-        Scanner inputScanner = new Scanner(System.in);
-        InterpreterVisitor interpreter = new InterpreterVisitor(inputScanner);
-        interpreter.visit(tree);                 // ← executa e imprime via printf
+    private static void fail(String kind, List<String> errors) {
+        System.err.println("Falha de compilação (erros " + kind + "):");
+        errors.forEach(System.err::println);
+        System.exit(1);
     }
 }
@@ -0,0 +1,108 @@
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.IntervalSet;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+import java.util.List;
+
+/**
+ * Parse em dois estágios, usado pelo TomLangMain e pelos testes: primeiro com
+ * predição SLL e BailErrorStrategy, que é mais rápida e basta para quase todo
+ * programa válido; só se ela desistir (erro de sintaxe ou decisão que o SLL não
+ * resolve) o parse é refeito do início com LL completo, a recuperação de erros
+ * padrão e o TomLangErrorListener coletando as mensagens. Os tokens ficam num
+ * CompactTokenStream (arrays int em vez de um objeto por token).
+ */
+public final class TomLangParseDriver {
+
+    /** Árvore e erros sintáticos; secondStage indica que o parse precisou do LL completo. */
+    public record Result(TomLangParser.ProgContext tree, List<String> errors, boolean secondStage) {
+        public boolean hasErrors() { return !errors.isEmpty(); }
+    }
+
+    private TomLangParseDriver() {}
+
+    public static Result parse(CharStream input) {
+        return parse(new TomLangLexer(input));
+    }
+
+    /** Parse sobre uma fonte de tokens qualquer (o lexer direto, um PipelinedLexer ou um ChunkedLexer). */
+    public static Result parse(TokenSource source) {
+        CompactTokenStream tokens = new CompactTokenStream(source);
+        TomLangParser parser = new TomLangParser(tokens);
+
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+        try {
+            return new Result(parser.prog(), List.of(), false);
+        } catch (ParseCancellationException e) {
+            // segue para o LL completo
+        }
+
+        TomLangErrorListener err = new TomLangErrorListener();
+        TomLangParser.ProgContext tree = fullParse(parser, err);
+        return new Result(tree, err.getErrors(), true);
+    }
+
+    // Segundo estágio: o programa inteiro, do primeiro token, com LL completo e recuperação de erros
+    private static TomLangParser.ProgContext fullParse(TomLangParser parser, TomLangErrorListener err) {
+        parser.reset();
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        parser.setErrorHandler(new DefaultErrorStrategy());
+        parser.addErrorListener(err);
+        return parser.prog();
+    }
+
+    /** Parse item a item de 'prog', usado pelo --stream (StreamingRunner). */
+    public static Items items(TokenSource source) {
+        return new Items(source);
+    }
+
+    /**
+     * Os decl/stmt de 'prog', um por vez, cada um pelos mesmos dois estágios (SLL com
+     * desistência, depois LL); a árvore de um item não guarda as dos anteriores. No
+     * primeiro erro de sintaxe o arquivo é reanalisado do início como em parse(), para
+     * que as mensagens sejam as mesmas do modo normal.
+     */
+    public static final class Items {
+        private final CompactTokenStream tokens;
+        private final TomLangParser parser;
+        private final IntervalSet declStart;
+        private List<String> errors = List.of();
+
+        private Items(TokenSource source) {
+            tokens = new CompactTokenStream(source);
+            parser = new TomLangParser(tokens);
+            parser.removeErrorListeners();
+            parser.setErrorHandler(new BailErrorStrategy());
+            declStart = parser.getATN().nextTokens(parser.getATN().ruleToStartState[TomLangParser.RULE_decl]);
+        }
+
+        /** Próximo item (DeclContext ou StmtContext); null no fim do arquivo ou depois de um erro. */
+        public ParserRuleContext next() {
+            if (!errors.isEmpty() || tokens.LA(1) == Token.EOF) return null;
+            int start = tokens.index();
+            for (PredictionMode mode : List.of(PredictionMode.SLL, PredictionMode.LL)) {
+                tokens.seek(start);
+                parser.getInterpreter().setPredictionMode(mode);
+                try {
+                    return declStart.contains(tokens.LA(1)) ? parser.decl() : parser.stmt();
+                } catch (ParseCancellationException e) {
+                    // SLL: tenta o LL; LL: erro de sintaxe
+                }
+            }
+            TomLangErrorListener err = new TomLangErrorListener();
+            fullParse(parser, err);
+            if (!err.hasErrors()) throw new IllegalStateException("Item rejeitado na linha "
+                    + tokens.get(start).getLine() + ", mas o programa inteiro é válido");
+            errors = err.getErrors();
+            return null;
+        }
+
+        /** Erros sintáticos do programa inteiro; vazio enquanto nenhum item falhou. */
+        public List<String> errors() {
+            return errors;
+        }
+    }
+}
@@ -18,26 +18,22 @@ public class TomLangParser extends Parser {
 	public static final int
 		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
 		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
-		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
-		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, T__30=31, 
-		T__31=32, T__32=33, T__33=34, ID=35, FLOAT_LIT=36, INT_LIT=37, STRING=38, 
-		WS=39, LINE_COMMENT=40, BLOCK_COMMENT=41;
+		T__17=18, T__18=19, T__19=20, T__20=21, OR=22, AND=23, EQ=24, NE=25, LT=26, 
+		GT=27, LE=28, GE=29, PLUS=30, MINUS=31, MUL=32, DIV=33, NOT=34, ID=35, 
+		FLOAT_LIT=36, INT_LIT=37, STRING=38, WS=39, LINE_COMMENT=40, BLOCK_COMMENT=41;
 	public static final int
 		RULE_prog = 0, RULE_decl = 1, RULE_type = 2, RULE_stmt = 3, RULE_assign = 4, 
 		RULE_ifStmt = 5, RULE_whileStmt = 6, RULE_doWhileStmt = 7, RULE_switchStmt = 8, 
 		RULE_switchSection = 9, RULE_defaultSection = 10, RULE_switchLabel = 11, 
 		RULE_breakStmt = 12, RULE_forStmt = 13, RULE_forInit = 14, RULE_forCond = 15, 
 		RULE_forUpdate = 16, RULE_block = 17, RULE_printStmt = 18, RULE_readStmt = 19, 
-		RULE_expr = 20, RULE_orExpr = 21, RULE_andExpr = 22, RULE_eqExpr = 23, 
-		RULE_relExpr = 24, RULE_addExpr = 25, RULE_mulExpr = 26, RULE_unary = 27, 
-		RULE_primary = 28;
+		RULE_expr = 20;
 	private static String[] makeRuleNames() {
 		return new String[] {
 			"prog", "decl", "type", "stmt", "assign", "ifStmt", "whileStmt", "doWhileStmt", 
 			"switchStmt", "switchSection", "defaultSection", "switchLabel", "breakStmt", 
 			"forStmt", "forInit", "forCond", "forUpdate", "block", "printStmt", "readStmt", 
-			"expr", "orExpr", "andExpr", "eqExpr", "relExpr", "addExpr", "mulExpr", 
-			"unary", "primary"
+			"expr"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -55,9 +51,9 @@ public class TomLangParser extends Parser {
 	private static String[] makeSymbolicNames() {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, null, null, null, null, null, "ID", 
-			"FLOAT_LIT", "INT_LIT", "STRING", "WS", "LINE_COMMENT", "BLOCK_COMMENT"
+			null, null, null, null, null, null, null, null, null, null, "OR", "AND", 
+			"EQ", "NE", "LT", "GT", "LE", "GE", "PLUS", "MINUS", "MUL", "DIV", "NOT", 
+			"ID", "FLOAT_LIT", "INT_LIT", "STRING", "WS", "LINE_COMMENT", "BLOCK_COMMENT"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -144,19 +140,19 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(62);
+			setState(46);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 34363686008L) != 0)) {
 				{
-				setState(60);
+				setState(44);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case T__2:
 				case T__3:
 				case T__4:
 					{
-					setState(58);
+					setState(42);
 					decl();
 					}
 					break;
@@ -171,7 +167,7 @@ public class TomLangParser extends Parser {
 				case T__20:
 				case ID:
 					{
-					setState(59);
+					setState(43);
 					stmt();
 					}
 					break;
@@ -179,11 +175,11 @@ public class TomLangParser extends Parser {
 					throw new NoViableAltException(this);
 				}
 				}
-				setState(64);
+				setState(48);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(65);
+			setState(49);
 			match(EOF);
 			}
 		}
@@ -225,23 +221,23 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(67);
+			setState(51);
 			type();
-			setState(68);
+			setState(52);
 			match(ID);
-			setState(71);
+			setState(55);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==T__0) {
 				{
-				setState(69);
+				setState(53);
 				match(T__0);
-				setState(70);
-				expr();
+				setState(54);
+				expr(0);
 				}
 			}
 
-			setState(73);
+			setState(57);
 			match(T__1);
 			}
 		}
@@ -276,7 +272,7 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(75);
+			setState(59);
 			_la = _input.LA(1);
 			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 56L) != 0)) ) {
 			_errHandler.recoverInline(this);
@@ -346,82 +342,82 @@ public class TomLangParser extends Parser {
 		StmtContext _localctx = new StmtContext(_ctx, getState());
 		enterRule(_localctx, 6, RULE_stmt);
 		try {
-			setState(93);
+			setState(77);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case ID:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(77);
+				setState(61);
 				assign();
-				setState(78);
+				setState(62);
 				match(T__1);
 				}
 				break;
 			case T__5:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(80);
+				setState(64);
 				ifStmt();
 				}
 				break;
 			case T__9:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(81);
+				setState(65);
 				whileStmt();
 				}
 				break;
 			case T__10:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(82);
+				setState(66);
 				doWhileStmt();
 				}
 				break;
 			case T__18:
 				enterOuterAlt(_localctx, 5);
 				{
-				setState(83);
+				setState(67);
 				forStmt();
 				}
 				break;
 			case T__11:
 				enterOuterAlt(_localctx, 6);
 				{
-				setState(84);
+				setState(68);
 				switchStmt();
 				}
 				break;
 			case T__17:
 				enterOuterAlt(_localctx, 7);
 				{
-				setState(85);
+				setState(69);
 				breakStmt();
 				}
 				break;
 			case T__19:
 				enterOuterAlt(_localctx, 8);
 				{
-				setState(86);
+				setState(70);
 				printStmt();
-				setState(87);
+				setState(71);
 				match(T__1);
 				}
 				break;
 			case T__20:
 				enterOuterAlt(_localctx, 9);
 				{
-				setState(89);
+				setState(73);
 				readStmt();
-				setState(90);
+				setState(74);
 				match(T__1);
 				}
 				break;
 			case T__12:
 				enterOuterAlt(_localctx, 10);
 				{
-				setState(92);
+				setState(76);
 				block();
 				}
 				break;
@@ -463,12 +459,12 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(95);
+			setState(79);
 			match(ID);
-			setState(96);
+			setState(80);
 			match(T__0);
-			setState(97);
-			expr();
+			setState(81);
+			expr(0);
 			}
 		}
 		catch (RecognitionException re) {
@@ -511,24 +507,24 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(99);
+			setState(83);
 			match(T__5);
-			setState(100);
+			setState(84);
 			match(T__6);
-			setState(101);
-			expr();
-			setState(102);
+			setState(85);
+			expr(0);
+			setState(86);
 			match(T__7);
-			setState(103);
+			setState(87);
 			block();
-			setState(106);
+			setState(90);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==T__8) {
 				{
-				setState(104);
+				setState(88);
 				match(T__8);
-				setState(105);
+				setState(89);
 				block();
 				}
 			}
@@ -571,15 +567,15 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(108);
+			setState(92);
 			match(T__9);
-			setState(109);
+			setState(93);
 			match(T__6);
-			setState(110);
-			expr();
-			setState(111);
+			setState(94);
+			expr(0);
+			setState(95);
 			match(T__7);
-			setState(112);
+			setState(96);
 			block();
 			}
 		}
@@ -619,19 +615,19 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(114);
+			setState(98);
 			match(T__10);
-			setState(115);
+			setState(99);
 			block();
-			setState(116);
+			setState(100);
 			match(T__9);
-			setState(117);
+			setState(101);
 			match(T__6);
-			setState(118);
-			expr();
-			setState(119);
+			setState(102);
+			expr(0);
+			setState(103);
 			match(T__7);
-			setState(120);
+			setState(104);
 			match(T__1);
 			}
 		}
@@ -678,41 +674,41 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(122);
+			setState(106);
 			match(T__11);
-			setState(123);
+			setState(107);
 			match(T__6);
-			setState(124);
-			expr();
-			setState(125);
+			setState(108);
+			expr(0);
+			setState(109);
 			match(T__7);
-			setState(126);
+			setState(110);
 			match(T__12);
-			setState(130);
+			setState(114);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==T__14) {
 				{
 				{
-				setState(127);
+				setState(111);
 				switchSection();
 				}
 				}
-				setState(132);
+				setState(116);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(134);
+			setState(118);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==T__16) {
 				{
-				setState(133);
+				setState(117);
 				defaultSection();
 				}
 			}
 
-			setState(136);
+			setState(120);
 			match(T__13);
 			}
 		}
@@ -756,23 +752,23 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(138);
+			setState(122);
 			match(T__14);
-			setState(139);
+			setState(123);
 			switchLabel();
-			setState(140);
+			setState(124);
 			match(T__15);
-			setState(144);
+			setState(128);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 34363685952L) != 0)) {
 				{
 				{
-				setState(141);
+				setState(125);
 				stmt();
 				}
 				}
-				setState(146);
+				setState(130);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -815,21 +811,21 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(147);
+			setState(131);
 			match(T__16);
-			setState(148);
+			setState(132);
 			match(T__15);
-			setState(152);
+			setState(136);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 34363685952L) != 0)) {
 				{
 				{
-				setState(149);
+				setState(133);
 				stmt();
 				}
 				}
-				setState(154);
+				setState(138);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -869,7 +865,7 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(155);
+			setState(139);
 			_la = _input.LA(1);
 			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 446676598784L) != 0)) ) {
 			_errHandler.recoverInline(this);
@@ -911,9 +907,9 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(157);
+			setState(141);
 			match(T__17);
-			setState(158);
+			setState(142);
 			match(T__1);
 			}
 		}
@@ -960,39 +956,39 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(160);
+			setState(144);
 			match(T__18);
-			setState(161);
+			setState(145);
 			match(T__6);
-			setState(162);
+			setState(146);
 			forInit();
-			setState(163);
+			setState(147);
 			match(T__1);
-			setState(165);
+			setState(149);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 535797170304L) != 0)) {
 				{
-				setState(164);
+				setState(148);
 				forCond();
 				}
 			}
 
-			setState(167);
+			setState(151);
 			match(T__1);
-			setState(169);
+			setState(153);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==ID) {
 				{
-				setState(168);
+				setState(152);
 				forUpdate();
 				}
 			}
 
-			setState(171);
+			setState(155);
 			match(T__7);
-			setState(172);
+			setState(156);
 			block();
 			}
 		}
@@ -1030,7 +1026,7 @@ public class TomLangParser extends Parser {
 		ForInitContext _localctx = new ForInitContext(_ctx, getState());
 		enterRule(_localctx, 28, RULE_forInit);
 		try {
-			setState(177);
+			setState(161);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case T__2:
@@ -1038,14 +1034,14 @@ public class TomLangParser extends Parser {
 			case T__4:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(174);
+				setState(158);
 				decl();
 				}
 				break;
 			case ID:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(175);
+				setState(159);
 				assign();
 				}
 				break;
@@ -1091,8 +1087,8 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(179);
-			expr();
+			setState(163);
+			expr(0);
 			}
 		}
 		catch (RecognitionException re) {
@@ -1128,7 +1124,7 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(181);
+			setState(165);
 			assign();
 			}
 		}
@@ -1169,23 +1165,23 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(183);
+			setState(167);
 			match(T__12);
-			setState(187);
+			setState(171);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 34363685952L) != 0)) {
 				{
 				{
-				setState(184);
+				setState(168);
 				stmt();
 				}
 				}
-				setState(189);
+				setState(173);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(190);
+			setState(174);
 			match(T__13);
 			}
 		}
@@ -1223,27 +1219,27 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(192);
+			setState(176);
 			match(T__19);
-			setState(193);
+			setState(177);
 			match(T__6);
-			setState(196);
+			setState(180);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,13,_ctx) ) {
 			case 1:
 				{
-				setState(194);
+				setState(178);
 				match(STRING);
 				}
 				break;
 			case 2:
 				{
-				setState(195);
-				expr();
+				setState(179);
+				expr(0);
 				}
 				break;
 			}
-			setState(198);
+			setState(182);
 			match(T__7);
 			}
 		}
@@ -1278,13 +1274,13 @@ public class TomLangParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(200);
+			setState(184);
 			match(T__20);
-			setState(201);
+			setState(185);
 			match(T__6);
-			setState(202);
+			setState(186);
 			match(ID);
-			setState(203);
+			setState(187);
 			match(T__7);
 			}
 		}
@@ -1301,475 +1297,374 @@ public class TomLangParser extends Parser {
 
 	@SuppressWarnings("CheckReturnValue")
 	public static class ExprContext extends ParserRuleContext {
-		public OrExprContext orExpr() {
-			return getRuleContext(OrExprContext.class,0);
-		}
 		public ExprContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
 		@Override public int getRuleIndex() { return RULE_expr; }
-		@Override
-		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitExpr(this);
-			else return visitor.visitChildren(this);
+	 
+		public ExprContext() { }
+		public void copyFrom(ExprContext ctx) {
+			super.copyFrom(ctx);
 		}
 	}
-
-	public final ExprContext expr() throws RecognitionException {
-		ExprContext _localctx = new ExprContext(_ctx, getState());
-		enterRule(_localctx, 40, RULE_expr);
-		try {
-			enterOuterAlt(_localctx, 1);
-			{
-			setState(205);
-			orExpr();
-			}
-		}
-		catch (RecognitionException re) {
-			_localctx.exception = re;
-			_errHandler.reportError(this, re);
-			_errHandler.recover(this, re);
-		}
-		finally {
-			exitRule();
-		}
-		return _localctx;
-	}
-
 	@SuppressWarnings("CheckReturnValue")
-	public static class OrExprContext extends ParserRuleContext {
-		public List<AndExprContext> andExpr() {
-			return getRuleContexts(AndExprContext.class);
-		}
-		public AndExprContext andExpr(int i) {
-			return getRuleContext(AndExprContext.class,i);
+	public static class EqExprContext extends ExprContext {
+		public Token op;
+		public List<ExprContext> expr() {
+			return getRuleContexts(ExprContext.class);
 		}
-		public OrExprContext(ParserRuleContext parent, int invokingState) {
-			super(parent, invokingState);
+		public ExprContext expr(int i) {
+			return getRuleContext(ExprContext.class,i);
 		}
-		@Override public int getRuleIndex() { return RULE_orExpr; }
+		public TerminalNode EQ() { return getToken(TomLangParser.EQ, 0); }
+		public TerminalNode NE() { return getToken(TomLangParser.NE, 0); }
+		public EqExprContext(ExprContext ctx) { copyFrom(ctx); }
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitOrExpr(this);
+			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitEqExpr(this);
 			else return visitor.visitChildren(this);
 		}
 	}
-
-	public final OrExprContext orExpr() throws RecognitionException {
-		OrExprContext _localctx = new OrExprContext(_ctx, getState());
-		enterRule(_localctx, 42, RULE_orExpr);
-		int _la;
-		try {
-			enterOuterAlt(_localctx, 1);
-			{
-			setState(207);
-			andExpr();
-			setState(212);
-			_errHandler.sync(this);
-			_la = _input.LA(1);
-			while (_la==T__21) {
-				{
-				{
-				setState(208);
-				match(T__21);
-				setState(209);
-				andExpr();
-				}
-				}
-				setState(214);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-			}
-			}
-		}
-		catch (RecognitionException re) {
-			_localctx.exception = re;
-			_errHandler.reportError(this, re);
-			_errHandler.recover(this, re);
-		}
-		finally {
-			exitRule();
-		}
-		return _localctx;
-	}
-
 	@SuppressWarnings("CheckReturnValue")
-	public static class AndExprContext extends ParserRuleContext {
-		public List<EqExprContext> eqExpr() {
-			return getRuleContexts(EqExprContext.class);
-		}
-		public EqExprContext eqExpr(int i) {
-			return getRuleContext(EqExprContext.class,i);
-		}
-		public AndExprContext(ParserRuleContext parent, int invokingState) {
-			super(parent, invokingState);
+	public static class UnaryExprContext extends ExprContext {
+		public Token op;
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
 		}
-		@Override public int getRuleIndex() { return RULE_andExpr; }
+		public TerminalNode NOT() { return getToken(TomLangParser.NOT, 0); }
+		public TerminalNode PLUS() { return getToken(TomLangParser.PLUS, 0); }
+		public TerminalNode MINUS() { return getToken(TomLangParser.MINUS, 0); }
+		public UnaryExprContext(ExprContext ctx) { copyFrom(ctx); }
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitAndExpr(this);
+			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitUnaryExpr(this);
 			else return visitor.visitChildren(this);
 		}
 	}
-
-	public final AndExprContext andExpr() throws RecognitionException {
-		AndExprContext _localctx = new AndExprContext(_ctx, getState());
-		enterRule(_localctx, 44, RULE_andExpr);
-		int _la;
-		try {
-			enterOuterAlt(_localctx, 1);
-			{
-			setState(215);
-			eqExpr();
-			setState(220);
-			_errHandler.sync(this);
-			_la = _input.LA(1);
-			while (_la==T__22) {
-				{
-				{
-				setState(216);
-				match(T__22);
-				setState(217);
-				eqExpr();
-				}
-				}
-				setState(222);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-			}
-			}
-		}
-		catch (RecognitionException re) {
-			_localctx.exception = re;
-			_errHandler.reportError(this, re);
-			_errHandler.recover(this, re);
-		}
-		finally {
-			exitRule();
-		}
-		return _localctx;
-	}
-
 	@SuppressWarnings("CheckReturnValue")
-	public static class EqExprContext extends ParserRuleContext {
-		public List<RelExprContext> relExpr() {
-			return getRuleContexts(RelExprContext.class);
-		}
-		public RelExprContext relExpr(int i) {
-			return getRuleContext(RelExprContext.class,i);
+	public static class AddExprContext extends ExprContext {
+		public Token op;
+		public List<ExprContext> expr() {
+			return getRuleContexts(ExprContext.class);
 		}
-		public EqExprContext(ParserRuleContext parent, int invokingState) {
-			super(parent, invokingState);
+		public ExprContext expr(int i) {
+			return getRuleContext(ExprContext.class,i);
 		}
-		@Override public int getRuleIndex() { return RULE_eqExpr; }
+		public TerminalNode PLUS() { return getToken(TomLangParser.PLUS, 0); }
+		public TerminalNode MINUS() { return getToken(TomLangParser.MINUS, 0); }
+		public AddExprContext(ExprContext ctx) { copyFrom(ctx); }
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitEqExpr(this);
+			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitAddExpr(this);
 			else return visitor.visitChildren(this);
 		}
 	}
-
-	public final EqExprContext eqExpr() throws RecognitionException {
-		EqExprContext _localctx = new EqExprContext(_ctx, getState());
-		enterRule(_localctx, 46, RULE_eqExpr);
-		int _la;
-		try {
-			enterOuterAlt(_localctx, 1);
-			{
-			setState(223);
-			relExpr();
-			setState(228);
-			_errHandler.sync(this);
-			_la = _input.LA(1);
-			while (_la==T__23 || _la==T__24) {
-				{
-				{
-				setState(224);
-				_la = _input.LA(1);
-				if ( !(_la==T__23 || _la==T__24) ) {
-				_errHandler.recoverInline(this);
-				}
-				else {
-					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
-					_errHandler.reportMatch(this);
-					consume();
-				}
-				setState(225);
-				relExpr();
-				}
-				}
-				setState(230);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-			}
-			}
-		}
-		catch (RecognitionException re) {
-			_localctx.exception = re;
-			_errHandler.reportError(this, re);
-			_errHandler.recover(this, re);
-		}
-		finally {
-			exitRule();
-		}
-		return _localctx;
-	}
-
 	@SuppressWarnings("CheckReturnValue")
-	public static class RelExprContext extends ParserRuleContext {
-		public List<AddExprContext> addExpr() {
-			return getRuleContexts(AddExprContext.class);
-		}
-		public AddExprContext addExpr(int i) {
-			return getRuleContext(AddExprContext.class,i);
+	public static class MulExprContext extends ExprContext {
+		public Token op;
+		public List<ExprContext> expr() {
+			return getRuleContexts(ExprContext.class);
 		}
-		public RelExprContext(ParserRuleContext parent, int invokingState) {
-			super(parent, invokingState);
+		public ExprContext expr(int i) {
+			return getRuleContext(ExprContext.class,i);
 		}
-		@Override public int getRuleIndex() { return RULE_relExpr; }
+		public TerminalNode MUL() { return getToken(TomLangParser.MUL, 0); }
+		public TerminalNode DIV() { return getToken(TomLangParser.DIV, 0); }
+		public MulExprContext(ExprContext ctx) { copyFrom(ctx); }
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitRelExpr(this);
+			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitMulExpr(this);
 			else return visitor.visitChildren(this);
 		}
 	}
-
-	public final RelExprContext relExpr() throws RecognitionException {
-		RelExprContext _localctx = new RelExprContext(_ctx, getState());
-		enterRule(_localctx, 48, RULE_relExpr);
-		int _la;
-		try {
-			enterOuterAlt(_localctx, 1);
-			{
-			setState(231);
-			addExpr();
-			setState(236);
-			_errHandler.sync(this);
-			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 1006632960L) != 0)) {
-				{
-				{
-				setState(232);
-				_la = _input.LA(1);
-				if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 1006632960L) != 0)) ) {
-				_errHandler.recoverInline(this);
-				}
-				else {
-					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
-					_errHandler.reportMatch(this);
-					consume();
-				}
-				setState(233);
-				addExpr();
-				}
-				}
-				setState(238);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-			}
-			}
-		}
-		catch (RecognitionException re) {
-			_localctx.exception = re;
-			_errHandler.reportError(this, re);
-			_errHandler.recover(this, re);
-		}
-		finally {
-			exitRule();
-		}
-		return _localctx;
-	}
-
 	@SuppressWarnings("CheckReturnValue")
-	public static class AddExprContext extends ParserRuleContext {
-		public List<MulExprContext> mulExpr() {
-			return getRuleContexts(MulExprContext.class);
-		}
-		public MulExprContext mulExpr(int i) {
-			return getRuleContext(MulExprContext.class,i);
-		}
-		public AddExprContext(ParserRuleContext parent, int invokingState) {
-			super(parent, invokingState);
-		}
-		@Override public int getRuleIndex() { return RULE_addExpr; }
+	public static class AtomExprContext extends ExprContext {
+		public Token atom;
+		public TerminalNode INT_LIT() { return getToken(TomLangParser.INT_LIT, 0); }
+		public TerminalNode FLOAT_LIT() { return getToken(TomLangParser.FLOAT_LIT, 0); }
+		public TerminalNode STRING() { return getToken(TomLangParser.STRING, 0); }
+		public TerminalNode ID() { return getToken(TomLangParser.ID, 0); }
+		public AtomExprContext(ExprContext ctx) { copyFrom(ctx); }
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitAddExpr(this);
+			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitAtomExpr(this);
 			else return visitor.visitChildren(this);
 		}
 	}
-
-	public final AddExprContext addExpr() throws RecognitionException {
-		AddExprContext _localctx = new AddExprContext(_ctx, getState());
-		enterRule(_localctx, 50, RULE_addExpr);
-		int _la;
-		try {
-			enterOuterAlt(_localctx, 1);
-			{
-			setState(239);
-			mulExpr();
-			setState(244);
-			_errHandler.sync(this);
-			_la = _input.LA(1);
-			while (_la==T__29 || _la==T__30) {
-				{
-				{
-				setState(240);
-				_la = _input.LA(1);
-				if ( !(_la==T__29 || _la==T__30) ) {
-				_errHandler.recoverInline(this);
-				}
-				else {
-					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
-					_errHandler.reportMatch(this);
-					consume();
-				}
-				setState(241);
-				mulExpr();
-				}
-				}
-				setState(246);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-			}
-			}
+	@SuppressWarnings("CheckReturnValue")
+	public static class OrExprContext extends ExprContext {
+		public Token op;
+		public List<ExprContext> expr() {
+			return getRuleContexts(ExprContext.class);
 		}
-		catch (RecognitionException re) {
-			_localctx.exception = re;
-			_errHandler.reportError(this, re);
-			_errHandler.recover(this, re);
+		public ExprContext expr(int i) {
+			return getRuleContext(ExprContext.class,i);
 		}
-		finally {
-			exitRule();
+		public TerminalNode OR() { return getToken(TomLangParser.OR, 0); }
+		public OrExprContext(ExprContext ctx) { copyFrom(ctx); }
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitOrExpr(this);
+			else return visitor.visitChildren(this);
 		}
-		return _localctx;
 	}
-
 	@SuppressWarnings("CheckReturnValue")
-	public static class MulExprContext extends ParserRuleContext {
-		public List<UnaryContext> unary() {
-			return getRuleContexts(UnaryContext.class);
-		}
-		public UnaryContext unary(int i) {
-			return getRuleContext(UnaryContext.class,i);
-		}
-		public MulExprContext(ParserRuleContext parent, int invokingState) {
-			super(parent, invokingState);
-		}
-		@Override public int getRuleIndex() { return RULE_mulExpr; }
+	public static class RelExprContext extends ExprContext {
+		public Token op;
+		public List<ExprContext> expr() {
+			return getRuleContexts(ExprContext.class);
+		}
+		public ExprContext expr(int i) {
+			return getRuleContext(ExprContext.class,i);
+		}
+		public TerminalNode LT() { return getToken(TomLangParser.LT, 0); }
+		public TerminalNode GT() { return getToken(TomLangParser.GT, 0); }
+		public TerminalNode LE() { return getToken(TomLangParser.LE, 0); }
+		public TerminalNode GE() { return getToken(TomLangParser.GE, 0); }
+		public RelExprContext(ExprContext ctx) { copyFrom(ctx); }
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitMulExpr(this);
+			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitRelExpr(this);
 			else return visitor.visitChildren(this);
 		}
 	}
-
-	public final MulExprContext mulExpr() throws RecognitionException {
-		MulExprContext _localctx = new MulExprContext(_ctx, getState());
-		enterRule(_localctx, 52, RULE_mulExpr);
-		int _la;
-		try {
-			enterOuterAlt(_localctx, 1);
-			{
-			setState(247);
-			unary();
-			setState(252);
-			_errHandler.sync(this);
-			_la = _input.LA(1);
-			while (_la==T__31 || _la==T__32) {
-				{
-				{
-				setState(248);
-				_la = _input.LA(1);
-				if ( !(_la==T__31 || _la==T__32) ) {
-				_errHandler.recoverInline(this);
-				}
-				else {
-					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
-					_errHandler.reportMatch(this);
-					consume();
-				}
-				setState(249);
-				unary();
-				}
-				}
-				setState(254);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-			}
-			}
-		}
-		catch (RecognitionException re) {
-			_localctx.exception = re;
-			_errHandler.reportError(this, re);
-			_errHandler.recover(this, re);
+	@SuppressWarnings("CheckReturnValue")
+	public static class ParenExprContext extends ExprContext {
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
 		}
-		finally {
-			exitRule();
+		public ParenExprContext(ExprContext ctx) { copyFrom(ctx); }
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitParenExpr(this);
+			else return visitor.visitChildren(this);
 		}
-		return _localctx;
 	}
-
 	@SuppressWarnings("CheckReturnValue")
-	public static class UnaryContext extends ParserRuleContext {
-		public UnaryContext unary() {
-			return getRuleContext(UnaryContext.class,0);
-		}
-		public PrimaryContext primary() {
-			return getRuleContext(PrimaryContext.class,0);
+	public static class AndExprContext extends ExprContext {
+		public Token op;
+		public List<ExprContext> expr() {
+			return getRuleContexts(ExprContext.class);
 		}
-		public UnaryContext(ParserRuleContext parent, int invokingState) {
-			super(parent, invokingState);
+		public ExprContext expr(int i) {
+			return getRuleContext(ExprContext.class,i);
 		}
-		@Override public int getRuleIndex() { return RULE_unary; }
+		public TerminalNode AND() { return getToken(TomLangParser.AND, 0); }
+		public AndExprContext(ExprContext ctx) { copyFrom(ctx); }
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitUnary(this);
+			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitAndExpr(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
-	public final UnaryContext unary() throws RecognitionException {
-		UnaryContext _localctx = new UnaryContext(_ctx, getState());
-		enterRule(_localctx, 54, RULE_unary);
+	public final ExprContext expr() throws RecognitionException {
+		return expr(0);
+	}
+
+	private ExprContext expr(int _p) throws RecognitionException {
+		ParserRuleContext _parentctx = _ctx;
+		int _parentState = getState();
+		ExprContext _localctx = new ExprContext(_ctx, _parentState);
+		ExprContext _prevctx = _localctx;
+		int _startState = 40;
+		enterRecursionRule(_localctx, 40, RULE_expr, _p);
 		int _la;
 		try {
-			setState(258);
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(197);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__29:
-			case T__30:
-			case T__33:
-				enterOuterAlt(_localctx, 1);
+			case PLUS:
+			case MINUS:
+			case NOT:
 				{
-				setState(255);
+				_localctx = new UnaryExprContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+
+				setState(190);
+				((UnaryExprContext)_localctx).op = _input.LT(1);
 				_la = _input.LA(1);
 				if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 20401094656L) != 0)) ) {
-				_errHandler.recoverInline(this);
+					((UnaryExprContext)_localctx).op = (Token)_errHandler.recoverInline(this);
 				}
 				else {
 					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
 					_errHandler.reportMatch(this);
 					consume();
 				}
-				setState(256);
-				unary();
+				setState(191);
+				expr(9);
 				}
 				break;
 			case T__6:
+				{
+				_localctx = new ParenExprContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(192);
+				match(T__6);
+				setState(193);
+				expr(0);
+				setState(194);
+				match(T__7);
+				}
+				break;
 			case ID:
 			case FLOAT_LIT:
 			case INT_LIT:
 			case STRING:
-				enterOuterAlt(_localctx, 2);
 				{
-				setState(257);
-				primary();
+				_localctx = new AtomExprContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(196);
+				((AtomExprContext)_localctx).atom = _input.LT(1);
+				_la = _input.LA(1);
+				if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 515396075520L) != 0)) ) {
+					((AtomExprContext)_localctx).atom = (Token)_errHandler.recoverInline(this);
+				}
+				else {
+					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+					_errHandler.reportMatch(this);
+					consume();
+				}
 				}
 				break;
 			default:
 				throw new NoViableAltException(this);
 			}
+			_ctx.stop = _input.LT(-1);
+			setState(219);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,16,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					if ( _parseListeners!=null ) triggerExitRuleEvent();
+					_prevctx = _localctx;
+					{
+					setState(217);
+					_errHandler.sync(this);
+					switch ( getInterpreter().adaptivePredict(_input,15,_ctx) ) {
+					case 1:
+						{
+						_localctx = new MulExprContext(new ExprContext(_parentctx, _parentState));
+						pushNewRecursionContext(_localctx, _startState, RULE_expr);
+						setState(199);
+						if (!(precpred(_ctx, 8))) throw new FailedPredicateException(this, "precpred(_ctx, 8)");
+						setState(200);
+						((MulExprContext)_localctx).op = _input.LT(1);
+						_la = _input.LA(1);
+						if ( !(_la==MUL || _la==DIV) ) {
+							((MulExprContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+						}
+						else {
+							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+							_errHandler.reportMatch(this);
+							consume();
+						}
+						setState(201);
+						expr(9);
+						}
+						break;
+					case 2:
+						{
+						_localctx = new AddExprContext(new ExprContext(_parentctx, _parentState));
+						pushNewRecursionContext(_localctx, _startState, RULE_expr);
+						setState(202);
+						if (!(precpred(_ctx, 7))) throw new FailedPredicateException(this, "precpred(_ctx, 7)");
+						setState(203);
+						((AddExprContext)_localctx).op = _input.LT(1);
+						_la = _input.LA(1);
+						if ( !(_la==PLUS || _la==MINUS) ) {
+							((AddExprContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+						}
+						else {
+							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+							_errHandler.reportMatch(this);
+							consume();
+						}
+						setState(204);
+						expr(8);
+						}
+						break;
+					case 3:
+						{
+						_localctx = new RelExprContext(new ExprContext(_parentctx, _parentState));
+						pushNewRecursionContext(_localctx, _startState, RULE_expr);
+						setState(205);
+						if (!(precpred(_ctx, 6))) throw new FailedPredicateException(this, "precpred(_ctx, 6)");
+						setState(206);
+						((RelExprContext)_localctx).op = _input.LT(1);
+						_la = _input.LA(1);
+						if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 1006632960L) != 0)) ) {
+							((RelExprContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+						}
+						else {
+							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+							_errHandler.reportMatch(this);
+							consume();
+						}
+						setState(207);
+						expr(7);
+						}
+						break;
+					case 4:
+						{
+						_localctx = new EqExprContext(new ExprContext(_parentctx, _parentState));
+						pushNewRecursionContext(_localctx, _startState, RULE_expr);
+						setState(208);
+						if (!(precpred(_ctx, 5))) throw new FailedPredicateException(this, "precpred(_ctx, 5)");
+						setState(209);
+						((EqExprContext)_localctx).op = _input.LT(1);
+						_la = _input.LA(1);
+						if ( !(_la==EQ || _la==NE) ) {
+							((EqExprContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+						}
+						else {
+							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+							_errHandler.reportMatch(this);
+							consume();
+						}
+						setState(210);
+						expr(6);
+						}
+						break;
+					case 5:
+						{
+						_localctx = new AndExprContext(new ExprContext(_parentctx, _parentState));
+						pushNewRecursionContext(_localctx, _startState, RULE_expr);
+						setState(211);
+						if (!(precpred(_ctx, 4))) throw new FailedPredicateException(this, "precpred(_ctx, 4)");
+						setState(212);
+						((AndExprContext)_localctx).op = match(AND);
+						setState(213);
+						expr(5);
+						}
+						break;
+					case 6:
+						{
+						_localctx = new OrExprContext(new ExprContext(_parentctx, _parentState));
+						pushNewRecursionContext(_localctx, _startState, RULE_expr);
+						setState(214);
+						if (!(precpred(_ctx, 3))) throw new FailedPredicateException(this, "precpred(_ctx, 3)");
+						setState(215);
+						((OrExprContext)_localctx).op = match(OR);
+						setState(216);
+						expr(4);
+						}
+						break;
+					}
+					} 
+				}
+				setState(221);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,16,_ctx);
+			}
+			}
 		}
 		catch (RecognitionException re) {
 			_localctx.exception = re;
@@ -1777,260 +1672,174 @@ public class TomLangParser extends Parser {
 			_errHandler.recover(this, re);
 		}
 		finally {
-			exitRule();
+			unrollRecursionContexts(_parentctx);
 		}
 		return _localctx;
 	}
 
-	@SuppressWarnings("CheckReturnValue")
-	public static class PrimaryContext extends ParserRuleContext {
-		public TerminalNode INT_LIT() { return getToken(TomLangParser.INT_LIT, 0); }
-		public TerminalNode FLOAT_LIT() { return getToken(TomLangParser.FLOAT_LIT, 0); }
-		public TerminalNode STRING() { return getToken(TomLangParser.STRING, 0); }
-		public TerminalNode ID() { return getToken(TomLangParser.ID, 0); }
-		public ExprContext expr() {
-			return getRuleContext(ExprContext.class,0);
-		}
-		public PrimaryContext(ParserRuleContext parent, int invokingState) {
-			super(parent, invokingState);
-		}
-		@Override public int getRuleIndex() { return RULE_primary; }
-		@Override
-		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof TomLangVisitor ) return ((TomLangVisitor<? extends T>)visitor).visitPrimary(this);
-			else return visitor.visitChildren(this);
+	public boolean sempred(RuleContext _localctx, int ruleIndex, int predIndex) {
+		switch (ruleIndex) {
+		case 20:
+			return expr_sempred((ExprContext)_localctx, predIndex);
 		}
+		return true;
 	}
-
-	public final PrimaryContext primary() throws RecognitionException {
-		PrimaryContext _localctx = new PrimaryContext(_ctx, getState());
-		enterRule(_localctx, 56, RULE_primary);
-		try {
-			setState(268);
-			_errHandler.sync(this);
-			switch (_input.LA(1)) {
-			case INT_LIT:
-				enterOuterAlt(_localctx, 1);
-				{
-				setState(260);
-				match(INT_LIT);
-				}
-				break;
-			case FLOAT_LIT:
-				enterOuterAlt(_localctx, 2);
-				{
-				setState(261);
-				match(FLOAT_LIT);
-				}
-				break;
-			case STRING:
-				enterOuterAlt(_localctx, 3);
-				{
-				setState(262);
-				match(STRING);
-				}
-				break;
-			case ID:
-				enterOuterAlt(_localctx, 4);
-				{
-				setState(263);
-				match(ID);
-				}
-				break;
-			case T__6:
-				enterOuterAlt(_localctx, 5);
-				{
-				setState(264);
-				match(T__6);
-				setState(265);
-				expr();
-				setState(266);
-				match(T__7);
-				}
-				break;
-			default:
-				throw new NoViableAltException(this);
-			}
-		}
-		catch (RecognitionException re) {
-			_localctx.exception = re;
-			_errHandler.reportError(this, re);
-			_errHandler.recover(this, re);
-		}
-		finally {
-			exitRule();
+	private boolean expr_sempred(ExprContext _localctx, int predIndex) {
+		switch (predIndex) {
+		case 0:
+			return precpred(_ctx, 8);
+		case 1:
+			return precpred(_ctx, 7);
+		case 2:
+			return precpred(_ctx, 6);
+		case 3:
+			return precpred(_ctx, 5);
+		case 4:
+			return precpred(_ctx, 4);
+		case 5:
+			return precpred(_ctx, 3);
 		}
-		return _localctx;
+		return true;
 	}
 
 	public static final String _serializedATN =
-		"\u0004\u0001)\u010f\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
+		"\u0004\u0001)\u00df\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
 		"\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004\u0002"+
 		"\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007\u0007\u0007\u0002"+
 		"\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b\u0007\u000b\u0002"+
 		"\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e\u0002\u000f\u0007\u000f"+
 		"\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011\u0002\u0012\u0007\u0012"+
-		"\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014\u0002\u0015\u0007\u0015"+
-		"\u0002\u0016\u0007\u0016\u0002\u0017\u0007\u0017\u0002\u0018\u0007\u0018"+
-		"\u0002\u0019\u0007\u0019\u0002\u001a\u0007\u001a\u0002\u001b\u0007\u001b"+
-		"\u0002\u001c\u0007\u001c\u0001\u0000\u0001\u0000\u0005\u0000=\b\u0000"+
-		"\n\u0000\f\u0000@\t\u0000\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001"+
-		"\u0001\u0001\u0001\u0001\u0003\u0001H\b\u0001\u0001\u0001\u0001\u0001"+
-		"\u0001\u0002\u0001\u0002\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003"+
+		"\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014\u0001\u0000\u0001\u0000"+
+		"\u0005\u0000-\b\u0000\n\u0000\f\u00000\t\u0000\u0001\u0000\u0001\u0000"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0003\u00018\b\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0002\u0001\u0002\u0001\u0003\u0001\u0003"+
 		"\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003"+
 		"\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003"+
-		"\u0003\u0003^\b\u0003\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004"+
-		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
-		"\u0001\u0005\u0003\u0005k\b\u0005\u0001\u0006\u0001\u0006\u0001\u0006"+
-		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0007\u0001\u0007\u0001\u0007"+
-		"\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\b\u0001"+
-		"\b\u0001\b\u0001\b\u0001\b\u0001\b\u0005\b\u0081\b\b\n\b\f\b\u0084\t\b"+
-		"\u0001\b\u0003\b\u0087\b\b\u0001\b\u0001\b\u0001\t\u0001\t\u0001\t\u0001"+
-		"\t\u0005\t\u008f\b\t\n\t\f\t\u0092\t\t\u0001\n\u0001\n\u0001\n\u0005\n"+
-		"\u0097\b\n\n\n\f\n\u009a\t\n\u0001\u000b\u0001\u000b\u0001\f\u0001\f\u0001"+
-		"\f\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0003\r\u00a6\b\r\u0001\r\u0001"+
-		"\r\u0003\r\u00aa\b\r\u0001\r\u0001\r\u0001\r\u0001\u000e\u0001\u000e\u0001"+
-		"\u000e\u0003\u000e\u00b2\b\u000e\u0001\u000f\u0001\u000f\u0001\u0010\u0001"+
-		"\u0010\u0001\u0011\u0001\u0011\u0005\u0011\u00ba\b\u0011\n\u0011\f\u0011"+
-		"\u00bd\t\u0011\u0001\u0011\u0001\u0011\u0001\u0012\u0001\u0012\u0001\u0012"+
-		"\u0001\u0012\u0003\u0012\u00c5\b\u0012\u0001\u0012\u0001\u0012\u0001\u0013"+
-		"\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0014\u0001\u0014"+
-		"\u0001\u0015\u0001\u0015\u0001\u0015\u0005\u0015\u00d3\b\u0015\n\u0015"+
-		"\f\u0015\u00d6\t\u0015\u0001\u0016\u0001\u0016\u0001\u0016\u0005\u0016"+
-		"\u00db\b\u0016\n\u0016\f\u0016\u00de\t\u0016\u0001\u0017\u0001\u0017\u0001"+
-		"\u0017\u0005\u0017\u00e3\b\u0017\n\u0017\f\u0017\u00e6\t\u0017\u0001\u0018"+
-		"\u0001\u0018\u0001\u0018\u0005\u0018\u00eb\b\u0018\n\u0018\f\u0018\u00ee"+
-		"\t\u0018\u0001\u0019\u0001\u0019\u0001\u0019\u0005\u0019\u00f3\b\u0019"+
-		"\n\u0019\f\u0019\u00f6\t\u0019\u0001\u001a\u0001\u001a\u0001\u001a\u0005"+
-		"\u001a\u00fb\b\u001a\n\u001a\f\u001a\u00fe\t\u001a\u0001\u001b\u0001\u001b"+
-		"\u0001\u001b\u0003\u001b\u0103\b\u001b\u0001\u001c\u0001\u001c\u0001\u001c"+
-		"\u0001\u001c\u0001\u001c\u0001\u001c\u0001\u001c\u0001\u001c\u0003\u001c"+
-		"\u010d\b\u001c\u0001\u001c\u0000\u0000\u001d\u0000\u0002\u0004\u0006\b"+
-		"\n\f\u000e\u0010\u0012\u0014\u0016\u0018\u001a\u001c\u001e \"$&(*,.02"+
-		"468\u0000\u0007\u0001\u0000\u0003\u0005\u0002\u0000##%&\u0001\u0000\u0018"+
-		"\u0019\u0001\u0000\u001a\u001d\u0001\u0000\u001e\u001f\u0001\u0000 !\u0002"+
-		"\u0000\u001e\u001f\"\"\u0113\u0000>\u0001\u0000\u0000\u0000\u0002C\u0001"+
-		"\u0000\u0000\u0000\u0004K\u0001\u0000\u0000\u0000\u0006]\u0001\u0000\u0000"+
-		"\u0000\b_\u0001\u0000\u0000\u0000\nc\u0001\u0000\u0000\u0000\fl\u0001"+
-		"\u0000\u0000\u0000\u000er\u0001\u0000\u0000\u0000\u0010z\u0001\u0000\u0000"+
-		"\u0000\u0012\u008a\u0001\u0000\u0000\u0000\u0014\u0093\u0001\u0000\u0000"+
-		"\u0000\u0016\u009b\u0001\u0000\u0000\u0000\u0018\u009d\u0001\u0000\u0000"+
-		"\u0000\u001a\u00a0\u0001\u0000\u0000\u0000\u001c\u00b1\u0001\u0000\u0000"+
-		"\u0000\u001e\u00b3\u0001\u0000\u0000\u0000 \u00b5\u0001\u0000\u0000\u0000"+
-		"\"\u00b7\u0001\u0000\u0000\u0000$\u00c0\u0001\u0000\u0000\u0000&\u00c8"+
-		"\u0001\u0000\u0000\u0000(\u00cd\u0001\u0000\u0000\u0000*\u00cf\u0001\u0000"+
-		"\u0000\u0000,\u00d7\u0001\u0000\u0000\u0000.\u00df\u0001\u0000\u0000\u0000"+
-		"0\u00e7\u0001\u0000\u0000\u00002\u00ef\u0001\u0000\u0000\u00004\u00f7"+
-		"\u0001\u0000\u0000\u00006\u0102\u0001\u0000\u0000\u00008\u010c\u0001\u0000"+
-		"\u0000\u0000:=\u0003\u0002\u0001\u0000;=\u0003\u0006\u0003\u0000<:\u0001"+
-		"\u0000\u0000\u0000<;\u0001\u0000\u0000\u0000=@\u0001\u0000\u0000\u0000"+
-		"><\u0001\u0000\u0000\u0000>?\u0001\u0000\u0000\u0000?A\u0001\u0000\u0000"+
-		"\u0000@>\u0001\u0000\u0000\u0000AB\u0005\u0000\u0000\u0001B\u0001\u0001"+
-		"\u0000\u0000\u0000CD\u0003\u0004\u0002\u0000DG\u0005#\u0000\u0000EF\u0005"+
-		"\u0001\u0000\u0000FH\u0003(\u0014\u0000GE\u0001\u0000\u0000\u0000GH\u0001"+
-		"\u0000\u0000\u0000HI\u0001\u0000\u0000\u0000IJ\u0005\u0002\u0000\u0000"+
-		"J\u0003\u0001\u0000\u0000\u0000KL\u0007\u0000\u0000\u0000L\u0005\u0001"+
-		"\u0000\u0000\u0000MN\u0003\b\u0004\u0000NO\u0005\u0002\u0000\u0000O^\u0001"+
-		"\u0000\u0000\u0000P^\u0003\n\u0005\u0000Q^\u0003\f\u0006\u0000R^\u0003"+
-		"\u000e\u0007\u0000S^\u0003\u001a\r\u0000T^\u0003\u0010\b\u0000U^\u0003"+
-		"\u0018\f\u0000VW\u0003$\u0012\u0000WX\u0005\u0002\u0000\u0000X^\u0001"+
-		"\u0000\u0000\u0000YZ\u0003&\u0013\u0000Z[\u0005\u0002\u0000\u0000[^\u0001"+
-		"\u0000\u0000\u0000\\^\u0003\"\u0011\u0000]M\u0001\u0000\u0000\u0000]P"+
-		"\u0001\u0000\u0000\u0000]Q\u0001\u0000\u0000\u0000]R\u0001\u0000\u0000"+
-		"\u0000]S\u0001\u0000\u0000\u0000]T\u0001\u0000\u0000\u0000]U\u0001\u0000"+
-		"\u0000\u0000]V\u0001\u0000\u0000\u0000]Y\u0001\u0000\u0000\u0000]\\\u0001"+
-		"\u0000\u0000\u0000^\u0007\u0001\u0000\u0000\u0000_`\u0005#\u0000\u0000"+
-		"`a\u0005\u0001\u0000\u0000ab\u0003(\u0014\u0000b\t\u0001\u0000\u0000\u0000"+
-		"cd\u0005\u0006\u0000\u0000de\u0005\u0007\u0000\u0000ef\u0003(\u0014\u0000"+
-		"fg\u0005\b\u0000\u0000gj\u0003\"\u0011\u0000hi\u0005\t\u0000\u0000ik\u0003"+
-		"\"\u0011\u0000jh\u0001\u0000\u0000\u0000jk\u0001\u0000\u0000\u0000k\u000b"+
-		"\u0001\u0000\u0000\u0000lm\u0005\n\u0000\u0000mn\u0005\u0007\u0000\u0000"+
-		"no\u0003(\u0014\u0000op\u0005\b\u0000\u0000pq\u0003\"\u0011\u0000q\r\u0001"+
-		"\u0000\u0000\u0000rs\u0005\u000b\u0000\u0000st\u0003\"\u0011\u0000tu\u0005"+
-		"\n\u0000\u0000uv\u0005\u0007\u0000\u0000vw\u0003(\u0014\u0000wx\u0005"+
-		"\b\u0000\u0000xy\u0005\u0002\u0000\u0000y\u000f\u0001\u0000\u0000\u0000"+
-		"z{\u0005\f\u0000\u0000{|\u0005\u0007\u0000\u0000|}\u0003(\u0014\u0000"+
-		"}~\u0005\b\u0000\u0000~\u0082\u0005\r\u0000\u0000\u007f\u0081\u0003\u0012"+
-		"\t\u0000\u0080\u007f\u0001\u0000\u0000\u0000\u0081\u0084\u0001\u0000\u0000"+
-		"\u0000\u0082\u0080\u0001\u0000\u0000\u0000\u0082\u0083\u0001\u0000\u0000"+
-		"\u0000\u0083\u0086\u0001\u0000\u0000\u0000\u0084\u0082\u0001\u0000\u0000"+
-		"\u0000\u0085\u0087\u0003\u0014\n\u0000\u0086\u0085\u0001\u0000\u0000\u0000"+
-		"\u0086\u0087\u0001\u0000\u0000\u0000\u0087\u0088\u0001\u0000\u0000\u0000"+
-		"\u0088\u0089\u0005\u000e\u0000\u0000\u0089\u0011\u0001\u0000\u0000\u0000"+
-		"\u008a\u008b\u0005\u000f\u0000\u0000\u008b\u008c\u0003\u0016\u000b\u0000"+
-		"\u008c\u0090\u0005\u0010\u0000\u0000\u008d\u008f\u0003\u0006\u0003\u0000"+
-		"\u008e\u008d\u0001\u0000\u0000\u0000\u008f\u0092\u0001\u0000\u0000\u0000"+
-		"\u0090\u008e\u0001\u0000\u0000\u0000\u0090\u0091\u0001\u0000\u0000\u0000"+
-		"\u0091\u0013\u0001\u0000\u0000\u0000\u0092\u0090\u0001\u0000\u0000\u0000"+
-		"\u0093\u0094\u0005\u0011\u0000\u0000\u0094\u0098\u0005\u0010\u0000\u0000"+
-		"\u0095\u0097\u0003\u0006\u0003\u0000\u0096\u0095\u0001\u0000\u0000\u0000"+
-		"\u0097\u009a\u0001\u0000\u0000\u0000\u0098\u0096\u0001\u0000\u0000\u0000"+
-		"\u0098\u0099\u0001\u0000\u0000\u0000\u0099\u0015\u0001\u0000\u0000\u0000"+
-		"\u009a\u0098\u0001\u0000\u0000\u0000\u009b\u009c\u0007\u0001\u0000\u0000"+
-		"\u009c\u0017\u0001\u0000\u0000\u0000\u009d\u009e\u0005\u0012\u0000\u0000"+
-		"\u009e\u009f\u0005\u0002\u0000\u0000\u009f\u0019\u0001\u0000\u0000\u0000"+
-		"\u00a0\u00a1\u0005\u0013\u0000\u0000\u00a1\u00a2\u0005\u0007\u0000\u0000"+
-		"\u00a2\u00a3\u0003\u001c\u000e\u0000\u00a3\u00a5\u0005\u0002\u0000\u0000"+
-		"\u00a4\u00a6\u0003\u001e\u000f\u0000\u00a5\u00a4\u0001\u0000\u0000\u0000"+
-		"\u00a5\u00a6\u0001\u0000\u0000\u0000\u00a6\u00a7\u0001\u0000\u0000\u0000"+
-		"\u00a7\u00a9\u0005\u0002\u0000\u0000\u00a8\u00aa\u0003 \u0010\u0000\u00a9"+
-		"\u00a8\u0001\u0000\u0000\u0000\u00a9\u00aa\u0001\u0000\u0000\u0000\u00aa"+
-		"\u00ab\u0001\u0000\u0000\u0000\u00ab\u00ac\u0005\b\u0000\u0000\u00ac\u00ad"+
-		"\u0003\"\u0011\u0000\u00ad\u001b\u0001\u0000\u0000\u0000\u00ae\u00b2\u0003"+
-		"\u0002\u0001\u0000\u00af\u00b2\u0003\b\u0004\u0000\u00b0\u00b2\u0001\u0000"+
-		"\u0000\u0000\u00b1\u00ae\u0001\u0000\u0000\u0000\u00b1\u00af\u0001\u0000"+
-		"\u0000\u0000\u00b1\u00b0\u0001\u0000\u0000\u0000\u00b2\u001d\u0001\u0000"+
-		"\u0000\u0000\u00b3\u00b4\u0003(\u0014\u0000\u00b4\u001f\u0001\u0000\u0000"+
-		"\u0000\u00b5\u00b6\u0003\b\u0004\u0000\u00b6!\u0001\u0000\u0000\u0000"+
-		"\u00b7\u00bb\u0005\r\u0000\u0000\u00b8\u00ba\u0003\u0006\u0003\u0000\u00b9"+
-		"\u00b8\u0001\u0000\u0000\u0000\u00ba\u00bd\u0001\u0000\u0000\u0000\u00bb"+
-		"\u00b9\u0001\u0000\u0000\u0000\u00bb\u00bc\u0001\u0000\u0000\u0000\u00bc"+
-		"\u00be\u0001\u0000\u0000\u0000\u00bd\u00bb\u0001\u0000\u0000\u0000\u00be"+
-		"\u00bf\u0005\u000e\u0000\u0000\u00bf#\u0001\u0000\u0000\u0000\u00c0\u00c1"+
-		"\u0005\u0014\u0000\u0000\u00c1\u00c4\u0005\u0007\u0000\u0000\u00c2\u00c5"+
-		"\u0005&\u0000\u0000\u00c3\u00c5\u0003(\u0014\u0000\u00c4\u00c2\u0001\u0000"+
-		"\u0000\u0000\u00c4\u00c3\u0001\u0000\u0000\u0000\u00c5\u00c6\u0001\u0000"+
-		"\u0000\u0000\u00c6\u00c7\u0005\b\u0000\u0000\u00c7%\u0001\u0000\u0000"+
-		"\u0000\u00c8\u00c9\u0005\u0015\u0000\u0000\u00c9\u00ca\u0005\u0007\u0000"+
-		"\u0000\u00ca\u00cb\u0005#\u0000\u0000\u00cb\u00cc\u0005\b\u0000\u0000"+
-		"\u00cc\'\u0001\u0000\u0000\u0000\u00cd\u00ce\u0003*\u0015\u0000\u00ce"+
-		")\u0001\u0000\u0000\u0000\u00cf\u00d4\u0003,\u0016\u0000\u00d0\u00d1\u0005"+
-		"\u0016\u0000\u0000\u00d1\u00d3\u0003,\u0016\u0000\u00d2\u00d0\u0001\u0000"+
-		"\u0000\u0000\u00d3\u00d6\u0001\u0000\u0000\u0000\u00d4\u00d2\u0001\u0000"+
-		"\u0000\u0000\u00d4\u00d5\u0001\u0000\u0000\u0000\u00d5+\u0001\u0000\u0000"+
-		"\u0000\u00d6\u00d4\u0001\u0000\u0000\u0000\u00d7\u00dc\u0003.\u0017\u0000"+
-		"\u00d8\u00d9\u0005\u0017\u0000\u0000\u00d9\u00db\u0003.\u0017\u0000\u00da"+
-		"\u00d8\u0001\u0000\u0000\u0000\u00db\u00de\u0001\u0000\u0000\u0000\u00dc"+
-		"\u00da\u0001\u0000\u0000\u0000\u00dc\u00dd\u0001\u0000\u0000\u0000\u00dd"+
-		"-\u0001\u0000\u0000\u0000\u00de\u00dc\u0001\u0000\u0000\u0000\u00df\u00e4"+
-		"\u00030\u0018\u0000\u00e0\u00e1\u0007\u0002\u0000\u0000\u00e1\u00e3\u0003"+
-		"0\u0018\u0000\u00e2\u00e0\u0001\u0000\u0000\u0000\u00e3\u00e6\u0001\u0000"+
-		"\u0000\u0000\u00e4\u00e2\u0001\u0000\u0000\u0000\u00e4\u00e5\u0001\u0000"+
-		"\u0000\u0000\u00e5/\u0001\u0000\u0000\u0000\u00e6\u00e4\u0001\u0000\u0000"+
-		"\u0000\u00e7\u00ec\u00032\u0019\u0000\u00e8\u00e9\u0007\u0003\u0000\u0000"+
-		"\u00e9\u00eb\u00032\u0019\u0000\u00ea\u00e8\u0001\u0000\u0000\u0000\u00eb"+
-		"\u00ee\u0001\u0000\u0000\u0000\u00ec\u00ea\u0001\u0000\u0000\u0000\u00ec"+
-		"\u00ed\u0001\u0000\u0000\u0000\u00ed1\u0001\u0000\u0000\u0000\u00ee\u00ec"+
-		"\u0001\u0000\u0000\u0000\u00ef\u00f4\u00034\u001a\u0000\u00f0\u00f1\u0007"+
-		"\u0004\u0000\u0000\u00f1\u00f3\u00034\u001a\u0000\u00f2\u00f0\u0001\u0000"+
-		"\u0000\u0000\u00f3\u00f6\u0001\u0000\u0000\u0000\u00f4\u00f2\u0001\u0000"+
-		"\u0000\u0000\u00f4\u00f5\u0001\u0000\u0000\u0000\u00f53\u0001\u0000\u0000"+
-		"\u0000\u00f6\u00f4\u0001\u0000\u0000\u0000\u00f7\u00fc\u00036\u001b\u0000"+
-		"\u00f8\u00f9\u0007\u0005\u0000\u0000\u00f9\u00fb\u00036\u001b\u0000\u00fa"+
-		"\u00f8\u0001\u0000\u0000\u0000\u00fb\u00fe\u0001\u0000\u0000\u0000\u00fc"+
-		"\u00fa\u0001\u0000\u0000\u0000\u00fc\u00fd\u0001\u0000\u0000\u0000\u00fd"+
-		"5\u0001\u0000\u0000\u0000\u00fe\u00fc\u0001\u0000\u0000\u0000\u00ff\u0100"+
-		"\u0007\u0006\u0000\u0000\u0100\u0103\u00036\u001b\u0000\u0101\u0103\u0003"+
-		"8\u001c\u0000\u0102\u00ff\u0001\u0000\u0000\u0000\u0102\u0101\u0001\u0000"+
-		"\u0000\u0000\u01037\u0001\u0000\u0000\u0000\u0104\u010d\u0005%\u0000\u0000"+
-		"\u0105\u010d\u0005$\u0000\u0000\u0106\u010d\u0005&\u0000\u0000\u0107\u010d"+
-		"\u0005#\u0000\u0000\u0108\u0109\u0005\u0007\u0000\u0000\u0109\u010a\u0003"+
-		"(\u0014\u0000\u010a\u010b\u0005\b\u0000\u0000\u010b\u010d\u0001\u0000"+
-		"\u0000\u0000\u010c\u0104\u0001\u0000\u0000\u0000\u010c\u0105\u0001\u0000"+
-		"\u0000\u0000\u010c\u0106\u0001\u0000\u0000\u0000\u010c\u0107\u0001\u0000"+
-		"\u0000\u0000\u010c\u0108\u0001\u0000\u0000\u0000\u010d9\u0001\u0000\u0000"+
-		"\u0000\u0016<>G]j\u0082\u0086\u0090\u0098\u00a5\u00a9\u00b1\u00bb\u00c4"+
-		"\u00d4\u00dc\u00e4\u00ec\u00f4\u00fc\u0102\u010c";
+		"\u0001\u0003\u0001\u0003\u0003\u0003N\b\u0003\u0001\u0004\u0001\u0004"+
+		"\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
+		"\u0001\u0005\u0001\u0005\u0001\u0005\u0003\u0005[\b\u0005\u0001\u0006"+
+		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0007"+
+		"\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007"+
+		"\u0001\u0007\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0005\bq"+
+		"\b\b\n\b\f\bt\t\b\u0001\b\u0003\bw\b\b\u0001\b\u0001\b\u0001\t\u0001\t"+
+		"\u0001\t\u0001\t\u0005\t\u007f\b\t\n\t\f\t\u0082\t\t\u0001\n\u0001\n\u0001"+
+		"\n\u0005\n\u0087\b\n\n\n\f\n\u008a\t\n\u0001\u000b\u0001\u000b\u0001\f"+
+		"\u0001\f\u0001\f\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0003\r\u0096"+
+		"\b\r\u0001\r\u0001\r\u0003\r\u009a\b\r\u0001\r\u0001\r\u0001\r\u0001\u000e"+
+		"\u0001\u000e\u0001\u000e\u0003\u000e\u00a2\b\u000e\u0001\u000f\u0001\u000f"+
+		"\u0001\u0010\u0001\u0010\u0001\u0011\u0001\u0011\u0005\u0011\u00aa\b\u0011"+
+		"\n\u0011\f\u0011\u00ad\t\u0011\u0001\u0011\u0001\u0011\u0001\u0012\u0001"+
+		"\u0012\u0001\u0012\u0001\u0012\u0003\u0012\u00b5\b\u0012\u0001\u0012\u0001"+
+		"\u0012\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0013\u0001"+
+		"\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001"+
+		"\u0014\u0001\u0014\u0003\u0014\u00c6\b\u0014\u0001\u0014\u0001\u0014\u0001"+
+		"\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001"+
+		"\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001"+
+		"\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0005\u0014\u00da\b\u0014\n"+
+		"\u0014\f\u0014\u00dd\t\u0014\u0001\u0014\u0000\u0001(\u0015\u0000\u0002"+
+		"\u0004\u0006\b\n\f\u000e\u0010\u0012\u0014\u0016\u0018\u001a\u001c\u001e"+
+		" \"$&(\u0000\b\u0001\u0000\u0003\u0005\u0002\u0000##%&\u0002\u0000\u001e"+
+		"\u001f\"\"\u0001\u0000#&\u0001\u0000 !\u0001\u0000\u001e\u001f\u0001\u0000"+
+		"\u001a\u001d\u0001\u0000\u0018\u0019\u00e8\u0000.\u0001\u0000\u0000\u0000"+
+		"\u00023\u0001\u0000\u0000\u0000\u0004;\u0001\u0000\u0000\u0000\u0006M"+
+		"\u0001\u0000\u0000\u0000\bO\u0001\u0000\u0000\u0000\nS\u0001\u0000\u0000"+
+		"\u0000\f\\\u0001\u0000\u0000\u0000\u000eb\u0001\u0000\u0000\u0000\u0010"+
+		"j\u0001\u0000\u0000\u0000\u0012z\u0001\u0000\u0000\u0000\u0014\u0083\u0001"+
+		"\u0000\u0000\u0000\u0016\u008b\u0001\u0000\u0000\u0000\u0018\u008d\u0001"+
+		"\u0000\u0000\u0000\u001a\u0090\u0001\u0000\u0000\u0000\u001c\u00a1\u0001"+
+		"\u0000\u0000\u0000\u001e\u00a3\u0001\u0000\u0000\u0000 \u00a5\u0001\u0000"+
+		"\u0000\u0000\"\u00a7\u0001\u0000\u0000\u0000$\u00b0\u0001\u0000\u0000"+
+		"\u0000&\u00b8\u0001\u0000\u0000\u0000(\u00c5\u0001\u0000\u0000\u0000*"+
+		"-\u0003\u0002\u0001\u0000+-\u0003\u0006\u0003\u0000,*\u0001\u0000\u0000"+
+		"\u0000,+\u0001\u0000\u0000\u0000-0\u0001\u0000\u0000\u0000.,\u0001\u0000"+
+		"\u0000\u0000./\u0001\u0000\u0000\u0000/1\u0001\u0000\u0000\u00000.\u0001"+
+		"\u0000\u0000\u000012\u0005\u0000\u0000\u00012\u0001\u0001\u0000\u0000"+
+		"\u000034\u0003\u0004\u0002\u000047\u0005#\u0000\u000056\u0005\u0001\u0000"+
+		"\u000068\u0003(\u0014\u000075\u0001\u0000\u0000\u000078\u0001\u0000\u0000"+
+		"\u000089\u0001\u0000\u0000\u00009:\u0005\u0002\u0000\u0000:\u0003\u0001"+
+		"\u0000\u0000\u0000;<\u0007\u0000\u0000\u0000<\u0005\u0001\u0000\u0000"+
+		"\u0000=>\u0003\b\u0004\u0000>?\u0005\u0002\u0000\u0000?N\u0001\u0000\u0000"+
+		"\u0000@N\u0003\n\u0005\u0000AN\u0003\f\u0006\u0000BN\u0003\u000e\u0007"+
+		"\u0000CN\u0003\u001a\r\u0000DN\u0003\u0010\b\u0000EN\u0003\u0018\f\u0000"+
+		"FG\u0003$\u0012\u0000GH\u0005\u0002\u0000\u0000HN\u0001\u0000\u0000\u0000"+
+		"IJ\u0003&\u0013\u0000JK\u0005\u0002\u0000\u0000KN\u0001\u0000\u0000\u0000"+
+		"LN\u0003\"\u0011\u0000M=\u0001\u0000\u0000\u0000M@\u0001\u0000\u0000\u0000"+
+		"MA\u0001\u0000\u0000\u0000MB\u0001\u0000\u0000\u0000MC\u0001\u0000\u0000"+
+		"\u0000MD\u0001\u0000\u0000\u0000ME\u0001\u0000\u0000\u0000MF\u0001\u0000"+
+		"\u0000\u0000MI\u0001\u0000\u0000\u0000ML\u0001\u0000\u0000\u0000N\u0007"+
+		"\u0001\u0000\u0000\u0000OP\u0005#\u0000\u0000PQ\u0005\u0001\u0000\u0000"+
+		"QR\u0003(\u0014\u0000R\t\u0001\u0000\u0000\u0000ST\u0005\u0006\u0000\u0000"+
+		"TU\u0005\u0007\u0000\u0000UV\u0003(\u0014\u0000VW\u0005\b\u0000\u0000"+
+		"WZ\u0003\"\u0011\u0000XY\u0005\t\u0000\u0000Y[\u0003\"\u0011\u0000ZX\u0001"+
+		"\u0000\u0000\u0000Z[\u0001\u0000\u0000\u0000[\u000b\u0001\u0000\u0000"+
+		"\u0000\\]\u0005\n\u0000\u0000]^\u0005\u0007\u0000\u0000^_\u0003(\u0014"+
+		"\u0000_`\u0005\b\u0000\u0000`a\u0003\"\u0011\u0000a\r\u0001\u0000\u0000"+
+		"\u0000bc\u0005\u000b\u0000\u0000cd\u0003\"\u0011\u0000de\u0005\n\u0000"+
+		"\u0000ef\u0005\u0007\u0000\u0000fg\u0003(\u0014\u0000gh\u0005\b\u0000"+
+		"\u0000hi\u0005\u0002\u0000\u0000i\u000f\u0001\u0000\u0000\u0000jk\u0005"+
+		"\f\u0000\u0000kl\u0005\u0007\u0000\u0000lm\u0003(\u0014\u0000mn\u0005"+
+		"\b\u0000\u0000nr\u0005\r\u0000\u0000oq\u0003\u0012\t\u0000po\u0001\u0000"+
+		"\u0000\u0000qt\u0001\u0000\u0000\u0000rp\u0001\u0000\u0000\u0000rs\u0001"+
+		"\u0000\u0000\u0000sv\u0001\u0000\u0000\u0000tr\u0001\u0000\u0000\u0000"+
+		"uw\u0003\u0014\n\u0000vu\u0001\u0000\u0000\u0000vw\u0001\u0000\u0000\u0000"+
+		"wx\u0001\u0000\u0000\u0000xy\u0005\u000e\u0000\u0000y\u0011\u0001\u0000"+
+		"\u0000\u0000z{\u0005\u000f\u0000\u0000{|\u0003\u0016\u000b\u0000|\u0080"+
+		"\u0005\u0010\u0000\u0000}\u007f\u0003\u0006\u0003\u0000~}\u0001\u0000"+
+		"\u0000\u0000\u007f\u0082\u0001\u0000\u0000\u0000\u0080~\u0001\u0000\u0000"+
+		"\u0000\u0080\u0081\u0001\u0000\u0000\u0000\u0081\u0013\u0001\u0000\u0000"+
+		"\u0000\u0082\u0080\u0001\u0000\u0000\u0000\u0083\u0084\u0005\u0011\u0000"+
+		"\u0000\u0084\u0088\u0005\u0010\u0000\u0000\u0085\u0087\u0003\u0006\u0003"+
+		"\u0000\u0086\u0085\u0001\u0000\u0000\u0000\u0087\u008a\u0001\u0000\u0000"+
+		"\u0000\u0088\u0086\u0001\u0000\u0000\u0000\u0088\u0089\u0001\u0000\u0000"+
+		"\u0000\u0089\u0015\u0001\u0000\u0000\u0000\u008a\u0088\u0001\u0000\u0000"+
+		"\u0000\u008b\u008c\u0007\u0001\u0000\u0000\u008c\u0017\u0001\u0000\u0000"+
+		"\u0000\u008d\u008e\u0005\u0012\u0000\u0000\u008e\u008f\u0005\u0002\u0000"+
+		"\u0000\u008f\u0019\u0001\u0000\u0000\u0000\u0090\u0091\u0005\u0013\u0000"+
+		"\u0000\u0091\u0092\u0005\u0007\u0000\u0000\u0092\u0093\u0003\u001c\u000e"+
+		"\u0000\u0093\u0095\u0005\u0002\u0000\u0000\u0094\u0096\u0003\u001e\u000f"+
+		"\u0000\u0095\u0094\u0001\u0000\u0000\u0000\u0095\u0096\u0001\u0000\u0000"+
+		"\u0000\u0096\u0097\u0001\u0000\u0000\u0000\u0097\u0099\u0005\u0002\u0000"+
+		"\u0000\u0098\u009a\u0003 \u0010\u0000\u0099\u0098\u0001\u0000\u0000\u0000"+
+		"\u0099\u009a\u0001\u0000\u0000\u0000\u009a\u009b\u0001\u0000\u0000\u0000"+
+		"\u009b\u009c\u0005\b\u0000\u0000\u009c\u009d\u0003\"\u0011\u0000\u009d"+
+		"\u001b\u0001\u0000\u0000\u0000\u009e\u00a2\u0003\u0002\u0001\u0000\u009f"+
+		"\u00a2\u0003\b\u0004\u0000\u00a0\u00a2\u0001\u0000\u0000\u0000\u00a1\u009e"+
+		"\u0001\u0000\u0000\u0000\u00a1\u009f\u0001\u0000\u0000\u0000\u00a1\u00a0"+
+		"\u0001\u0000\u0000\u0000\u00a2\u001d\u0001\u0000\u0000\u0000\u00a3\u00a4"+
+		"\u0003(\u0014\u0000\u00a4\u001f\u0001\u0000\u0000\u0000\u00a5\u00a6\u0003"+
+		"\b\u0004\u0000\u00a6!\u0001\u0000\u0000\u0000\u00a7\u00ab\u0005\r\u0000"+
+		"\u0000\u00a8\u00aa\u0003\u0006\u0003\u0000\u00a9\u00a8\u0001\u0000\u0000"+
+		"\u0000\u00aa\u00ad\u0001\u0000\u0000\u0000\u00ab\u00a9\u0001\u0000\u0000"+
+		"\u0000\u00ab\u00ac\u0001\u0000\u0000\u0000\u00ac\u00ae\u0001\u0000\u0000"+
+		"\u0000\u00ad\u00ab\u0001\u0000\u0000\u0000\u00ae\u00af\u0005\u000e\u0000"+
+		"\u0000\u00af#\u0001\u0000\u0000\u0000\u00b0\u00b1\u0005\u0014\u0000\u0000"+
+		"\u00b1\u00b4\u0005\u0007\u0000\u0000\u00b2\u00b5\u0005&\u0000\u0000\u00b3"+
+		"\u00b5\u0003(\u0014\u0000\u00b4\u00b2\u0001\u0000\u0000\u0000\u00b4\u00b3"+
+		"\u0001\u0000\u0000\u0000\u00b5\u00b6\u0001\u0000\u0000\u0000\u00b6\u00b7"+
+		"\u0005\b\u0000\u0000\u00b7%\u0001\u0000\u0000\u0000\u00b8\u00b9\u0005"+
+		"\u0015\u0000\u0000\u00b9\u00ba\u0005\u0007\u0000\u0000\u00ba\u00bb\u0005"+
+		"#\u0000\u0000\u00bb\u00bc\u0005\b\u0000\u0000\u00bc\'\u0001\u0000\u0000"+
+		"\u0000\u00bd\u00be\u0006\u0014\uffff\uffff\u0000\u00be\u00bf\u0007\u0002"+
+		"\u0000\u0000\u00bf\u00c6\u0003(\u0014\t\u00c0\u00c1\u0005\u0007\u0000"+
+		"\u0000\u00c1\u00c2\u0003(\u0014\u0000\u00c2\u00c3\u0005\b\u0000\u0000"+
+		"\u00c3\u00c6\u0001\u0000\u0000\u0000\u00c4\u00c6\u0007\u0003\u0000\u0000"+
+		"\u00c5\u00bd\u0001\u0000\u0000\u0000\u00c5\u00c0\u0001\u0000\u0000\u0000"+
+		"\u00c5\u00c4\u0001\u0000\u0000\u0000\u00c6\u00db\u0001\u0000\u0000\u0000"+
+		"\u00c7\u00c8\n\b\u0000\u0000\u00c8\u00c9\u0007\u0004\u0000\u0000\u00c9"+
+		"\u00da\u0003(\u0014\t\u00ca\u00cb\n\u0007\u0000\u0000\u00cb\u00cc\u0007"+
+		"\u0005\u0000\u0000\u00cc\u00da\u0003(\u0014\b\u00cd\u00ce\n\u0006\u0000"+
+		"\u0000\u00ce\u00cf\u0007\u0006\u0000\u0000\u00cf\u00da\u0003(\u0014\u0007"+
+		"\u00d0\u00d1\n\u0005\u0000\u0000\u00d1\u00d2\u0007\u0007\u0000\u0000\u00d2"+
+		"\u00da\u0003(\u0014\u0006\u00d3\u00d4\n\u0004\u0000\u0000\u00d4\u00d5"+
+		"\u0005\u0017\u0000\u0000\u00d5\u00da\u0003(\u0014\u0005\u00d6\u00d7\n"+
+		"\u0003\u0000\u0000\u00d7\u00d8\u0005\u0016\u0000\u0000\u00d8\u00da\u0003"+
+		"(\u0014\u0004\u00d9\u00c7\u0001\u0000\u0000\u0000\u00d9\u00ca\u0001\u0000"+
+		"\u0000\u0000\u00d9\u00cd\u0001\u0000\u0000\u0000\u00d9\u00d0\u0001\u0000"+
+		"\u0000\u0000\u00d9\u00d3\u0001\u0000\u0000\u0000\u00d9\u00d6\u0001\u0000"+
+		"\u0000\u0000\u00da\u00dd\u0001\u0000\u0000\u0000\u00db\u00d9\u0001\u0000"+
+		"\u0000\u0000\u00db\u00dc\u0001\u0000\u0000\u0000\u00dc)\u0001\u0000\u0000"+
+		"\u0000\u00dd\u00db\u0001\u0000\u0000\u0000\u0011,.7MZrv\u0080\u0088\u0095"+
+		"\u0099\u00a1\u00ab\u00b4\u00c5\u00d9\u00db";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
@@ -130,57 +130,66 @@ public interface TomLangVisitor<T> extends ParseTreeVisitor<T> {
 	 */
 	T visitReadStmt(TomLangParser.ReadStmtContext ctx);
 	/**
-	 * Visit a parse tree produced by {@link TomLangParser#expr}.
+	 * Visit a parse tree produced by the {@code eqExpr}
+	 * labeled alternative in {@link TomLangParser#expr}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
-	T visitExpr(TomLangParser.ExprContext ctx);
+	T visitEqExpr(TomLangParser.EqExprContext ctx);
 	/**
-	 * Visit a parse tree produced by {@link TomLangParser#orExpr}.
+	 * Visit a parse tree produced by the {@code unaryExpr}
+	 * labeled alternative in {@link TomLangParser#expr}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
-	T visitOrExpr(TomLangParser.OrExprContext ctx);
+	T visitUnaryExpr(TomLangParser.UnaryExprContext ctx);
 	/**
-	 * Visit a parse tree produced by {@link TomLangParser#andExpr}.
+	 * Visit a parse tree produced by the {@code addExpr}
+	 * labeled alternative in {@link TomLangParser#expr}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
-	T visitAndExpr(TomLangParser.AndExprContext ctx);
+	T visitAddExpr(TomLangParser.AddExprContext ctx);
 	/**
-	 * Visit a parse tree produced by {@link TomLangParser#eqExpr}.
+	 * Visit a parse tree produced by the {@code mulExpr}
+	 * labeled alternative in {@link TomLangParser#expr}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
-	T visitEqExpr(TomLangParser.EqExprContext ctx);
+	T visitMulExpr(TomLangParser.MulExprContext ctx);
 	/**
-	 * Visit a parse tree produced by {@link TomLangParser#relExpr}.
+	 * Visit a parse tree produced by the {@code atomExpr}
+	 * labeled alternative in {@link TomLangParser#expr}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
-	T visitRelExpr(TomLangParser.RelExprContext ctx);
+	T visitAtomExpr(TomLangParser.AtomExprContext ctx);
 	/**
-	 * Visit a parse tree produced by {@link TomLangParser#addExpr}.
+	 * Visit a parse tree produced by the {@code orExpr}
+	 * labeled alternative in {@link TomLangParser#expr}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
-	T visitAddExpr(TomLangParser.AddExprContext ctx);
+	T visitOrExpr(TomLangParser.OrExprContext ctx);
 	/**
-	 * Visit a parse tree produced by {@link TomLangParser#mulExpr}.
+	 * Visit a parse tree produced by the {@code relExpr}
+	 * labeled alternative in {@link TomLangParser#expr}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
-	T visitMulExpr(TomLangParser.MulExprContext ctx);
+	T visitRelExpr(TomLangParser.RelExprContext ctx);
 	/**
-	 * Visit a parse tree produced by {@link TomLangParser#unary}.
+	 * Visit a parse tree produced by the {@code parenExpr}
+	 * labeled alternative in {@link TomLangParser#expr}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
-	T visitUnary(TomLangParser.UnaryContext ctx);
+	T visitParenExpr(TomLangParser.ParenExprContext ctx);
 	/**
-	 * Visit a parse tree produced by {@link TomLangParser#primary}.
+	 * Visit a parse tree produced by the {@code andExpr}
+	 * labeled alternative in {@link TomLangParser#expr}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
-	T visitPrimary(TomLangParser.PrimaryContext ctx);
+	T visitAndExpr(TomLangParser.AndExprContext ctx);
 }
\ No newline at end of file
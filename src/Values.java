@@ -0,0 +1,109 @@
+import java.util.Objects;
+
+// Semântica dos valores em tempo de execução, compartilhada pelos motores de execução
+public final class Values {
+    private Values() {}
+
+    public static Object defaultFor(SymbolTable.Type t) {
+        return switch (t) {
+            case INT   -> 0;
+            case FLOAT -> 0.0;
+            case STRING-> "";
+            case BOOL  -> false;
+            default    -> null;
+        };
+    }
+    public static Object castTo(SymbolTable.Type t, Object v) {
+        if (v == null) return null;
+        return switch (t) {
+            case INT   -> (v instanceof Double) ? ((Double)v).intValue() : ((Number)v).intValue();
+            case FLOAT -> (v instanceof Double) ? v : ((Number)v).doubleValue();
+            case STRING-> isText(v) ? v : stringify(v);
+            case BOOL  -> truthy(v);
+            default    -> v;
+        };
+    }
+    public static boolean truthy(Object v) {
+        if (v instanceof Boolean b) return b;
+        if (v instanceof Number n)  return n.doubleValue() != 0.0;
+        if (isText(v))              return ((CharSequence) v).length() != 0;
+        return v != null;
+    }
+    public static double toDouble(Object v) {
+        return (v instanceof Double d) ? d : ((Number)v).doubleValue();
+    }
+    public static boolean equalsValue(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) return toDouble(a) == toDouble(b);
+        return Objects.equals(stringify(a), stringify(b));
+    }
+    public static String stringify(Object v) { return String.valueOf(v); }
+    public static boolean isText(Object v) { return v instanceof String || v instanceof ConcatString; }
+    // Achata ConcatString; outros valores (inclusive null) passam direto
+    public static Object flat(Object v) { return v instanceof ConcatString c ? c.toString() : v; }
+
+    // Aritmética genérica do interpretador: string tem precedência sobre float, e float sobre int
+    public static Object add(Object a, Object b) {
+        if (isText(a) || isText(b)) return ConcatString.concat(a, b);
+        if (a instanceof Double || b instanceof Double) return toDouble(a) + toDouble(b);
+        return ((Number)a).intValue() + ((Number)b).intValue();
+    }
+    public static Object subtract(Object a, Object b) {
+        if (isText(a) || isText(b)) throw new RuntimeException("Operador '-' inválido para string");
+        if (a instanceof Double || b instanceof Double) return toDouble(a) - toDouble(b);
+        return ((Number)a).intValue() - ((Number)b).intValue();
+    }
+    public static Object multiply(Object a, Object b) {
+        if (isText(a) || isText(b)) throw new RuntimeException("Operadores '*'/'/' inválidos para string");
+        if (a instanceof Double || b instanceof Double) return toDouble(a) * toDouble(b);
+        return ((Number)a).intValue() * ((Number)b).intValue();
+    }
+    public static Object divide(Object a, Object b) {
+        if (isText(a) || isText(b)) throw new RuntimeException("Operadores '*'/'/' inválidos para string");
+        return toDouble(a) / toDouble(b);
+    }
+
+    // Remove as aspas de um literal STRING e decodifica os escapes (\n \t \r \0 \" \' \\);
+    // escapes desconhecidos são mantidos como escritos
+    public static String unquote(String s) {
+        int end = s.length() - 1;
+        int bs = s.indexOf('\\', 1);
+        if (bs < 0 || bs >= end) return s.substring(1, end);
+        StringBuilder sb = new StringBuilder(end).append(s, 1, bs);
+        for (int i = bs; i < end; i++) {
+            char c = s.charAt(i);
+            if (c != '\\' || i + 1 >= end) { sb.append(c); continue; }
+            char e = s.charAt(++i);
+            switch (e) {
+                case 'n' -> sb.append('\n');
+                case 't' -> sb.append('\t');
+                case 'r' -> sb.append('\r');
+                case '0' -> sb.append('\0');
+                case '"', '\'', '\\' -> sb.append(e);
+                default  -> sb.append('\\').append(e);
+            }
+        }
+        return sb.toString();
+    }
+
+    // Tipo do valor produzido em tempo de execução; difere de SymbolTable.promote
+    // porque '/' sempre gera float (toDouble / toDouble)
+    public static SymbolTable.Type resultType(SymbolTable.Type a, SymbolTable.Type b, String op) {
+        return switch (op) {
+            case "==", "!=", "<", ">", "<=", ">=", "&&", "||" -> SymbolTable.Type.BOOL;
+            case "/" -> SymbolTable.Type.FLOAT;
+            case "+" -> (a == SymbolTable.Type.STRING || b == SymbolTable.Type.STRING) ? SymbolTable.Type.STRING
+                      : (a == SymbolTable.Type.FLOAT || b == SymbolTable.Type.FLOAT) ? SymbolTable.Type.FLOAT
+                      : SymbolTable.Type.INT;
+            default  -> (a == SymbolTable.Type.FLOAT || b == SymbolTable.Type.FLOAT) ? SymbolTable.Type.FLOAT
+                      : SymbolTable.Type.INT;
+        };
+    }
+
+    // Tipo de um valor já calculado (constantes dobradas)
+    public static SymbolTable.Type typeOf(Object v) {
+        if (v instanceof Integer) return SymbolTable.Type.INT;
+        if (v instanceof Double)  return SymbolTable.Type.FLOAT;
+        if (v instanceof Boolean) return SymbolTable.Type.BOOL;
+        return SymbolTable.Type.STRING;
+    }
+}
@@ -1,7 +1,16 @@
 import org.antlr.v4.runtime.*;
-import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.misc.Interval;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.antlr.v4.runtime.tree.TerminalNode;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Files;
 import java.util.ArrayList;
@@ -13,24 +22,18 @@ import static org.junit.jupiter.api.Assertions.*;
 public class CompilationErrorTest {
 
     private List<String> collectErrors(String relPath) throws IOException {
-        String source = Files.readString(Path.of(relPath));
-        CharStream input = CharStreams.fromString(source);
-
-        TomLangLexer lexer = new TomLangLexer(input);
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        TomLangParser parser = new TomLangParser(tokens);
-
-        TomLangErrorListener err = new TomLangErrorListener();
-        parser.removeErrorListeners();
-        parser.addErrorListener(err);
+        return compileErrors(Files.readString(Path.of(relPath)));
+    }
 
-        ParseTree tree = parser.prog();
+    private List<String> compileErrors(String source) {
+        CharStream input = CharStreams.fromString(source);
 
-        List<String> errors = new ArrayList<>();
-        if (err.hasErrors()) errors.addAll(err.getErrors());
+        TomLangParseDriver.Result parsed = TomLangParseDriver.parse(input);
+        List<String> errors = new ArrayList<>(parsed.errors());
+        if (parsed.hasErrors()) return errors;   // árvore incompleta não vira Ast
 
         SemanticVisitor sema = new SemanticVisitor();
-        sema.visit(tree);
+        sema.check(AstBuilder.build(parsed.tree()));
         if (sema.hasErrors()) errors.addAll(sema.getErrors());
 
         return errors;
@@ -57,4 +60,277 @@ public class CompilationErrorTest {
         List<String> errors = collectErrors("tests/ok.mlg");
         assertTrue(errors.isEmpty(), () -> "Expected no errors for ok.mlg but got: " + errors);
     }
+
+    @Test
+    public void testSllStageFallsBackToFullLlOnlyOnErrors() throws Exception {
+        TomLangParseDriver.Result ok = TomLangParseDriver.parse(CharStreams.fromString(Files.readString(Path.of("tests/ok.mlg"))));
+        assertFalse(ok.secondStage(), "Programa válido deveria ser resolvido pelo SLL");
+        assertFalse(ok.hasErrors());
+
+        String broken = "int a = ;\nprintf(a\nint b = 2 +* 3;\n";
+        TomLangParseDriver.Result bad = TomLangParseDriver.parse(CharStreams.fromString(broken));
+        assertTrue(bad.secondStage());
+
+        TomLangParser parser = new TomLangParser(new CommonTokenStream(new TomLangLexer(CharStreams.fromString(broken))));
+        TomLangErrorListener err = new TomLangErrorListener();
+        parser.removeErrorListeners();
+        parser.addErrorListener(err);
+        parser.prog();
+        assertEquals(err.getErrors(), bad.errors(), "Mensagens devem ser as mesmas do parse LL direto");
+    }
+
+    @Test
+    public void testMappedSourceLexesLikeStringSource() throws Exception {
+        for (String file : List.of("tests/ok.mlg", "tests/error.mlg")) {   // só ASCII / com acentos (UTF-8)
+            Path path = Path.of(file);
+            List<String> expected = tokens(CharStreams.fromString(Files.readString(path)));
+            assertEquals(expected, tokens(MappedCharStream.open(path)), file);
+        }
+    }
+
+    @Test
+    public void testPipelinedLexerParsesLikeInlineLexer() {
+        StringBuilder big = new StringBuilder();            // vários lotes do PipelinedLexer
+        for (int i = 0; i < 3000; i++) big.append("int a").append(i).append(" = ").append(i).append(" + 1;\n");
+        for (String source : List.of(big.toString(), "int a = ;\nprintf(a\nint b = 2 +* 3;\n")) {
+            TomLangParseDriver.Result inline = TomLangParseDriver.parse(CharStreams.fromString(source));
+            TomLangParseDriver.Result thread = TomLangParseDriver.parse(new PipelinedLexer(new TomLangLexer(CharStreams.fromString(source))));
+            assertEquals(inline.errors(), thread.errors());
+            assertEquals(inline.tree().getText(), thread.tree().getText());
+        }
+    }
+
+    @Test
+    public void testChunkedLexerLexesLikeInlineLexer() throws IOException {
+        StringBuilder big = new StringBuilder();            // vários trechos do ChunkedLexer
+        for (int i = 0; i < 8000; i++) {
+            big.append("int a").append(i).append(" = ").append(i).append("; // fim; }\n")
+               .append("printf(\"x; } \\\" /* ").append(i).append("\");\n")
+               .append("/* bloco; }\n \" */ if (a").append(i).append(" > 1) { a").append(i).append(" = 2; }\n");
+        }
+        String ok = big.toString();
+        String bad = ok + "int $ = 1; a0 = a0 &\"; } \"; int z = 3;\n" + ok;   // a recuperação engole a aspa
+        Path file = Files.createTempFile("tomlang-chunks", ".mlg");
+        file.toFile().deleteOnExit();
+        for (String source : List.of(ok, bad)) {
+            Files.writeString(file, source);
+            List<String> expected = streamTokens(new TomLangLexer(CharStreams.fromString(source)), false);
+            assertEquals(expected, streamTokens(new TomLangLexer(CharStreams.fromString(source)), true));
+            assertEquals(expected, streamTokens(new TomLangLexer(MappedCharStream.open(file)), true));
+        }
+    }
+
+    @Test
+    public void testStreamingRunsUntilFirstErrorAndReportsLikeNormalMode() throws IOException {
+        String semantic = """
+            int a = 1;
+            printf(a);
+            b = 2;
+            printf("depois do erro");
+            string s = a - "x";
+            """;
+        String syntax = semantic + "int = ;\n";
+        assertEquals(List.of("1"), streamed(semantic, false));
+        assertEquals(compileErrors(semantic), streamed(semantic, true));
+        assertEquals(compileErrors(syntax), streamed(syntax, true));
+        String source = Files.readString(Path.of("tests/error.mlg"));
+        assertEquals(compileErrors(source), streamed(source, true));
+    }
+
+    @Test
+    public void testLexerDoesNotKeepTokenStreamAliveAfterParse() throws Exception {
+        String source = Files.readString(Path.of("tests/ok.mlg"));
+        for (String mode : List.of("inline", "thread", "chunks")) {
+            TomLangLexer lexer = new TomLangLexer(CharStreams.fromString(source));
+            List<WeakReference<Object>> factories = new ArrayList<>();
+            TokenSource tracked = tracked(switch (mode) {
+                case "thread" -> new PipelinedLexer(lexer);
+                case "chunks" -> new ChunkedLexer(lexer);
+                default -> lexer;
+            }, factories);
+            assertNotNull(TomLangMain.parse(tracked));
+            assertFalse(factories.isEmpty(), mode);
+            for (int i = 0; i < 50 && factories.get(0).get() != null; i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            assertNull(factories.get(0).get(), "lexer " + mode + " ainda prende o CompactTokenStream");
+            Reference.reachabilityFence(tracked);             // o lexer continua vivo
+        }
+    }
+
+    @Test
+    public void testAstDoesNotKeepParseTreeOrTokensAlive() throws Exception {
+        List<WeakReference<Object>> refs = new ArrayList<>();
+        Ast.Program program = buildAst(Files.readString(Path.of("tests/ok.mlg")), refs);
+        assertEquals(3, refs.size());
+        for (int i = 0; i < 50 && refs.stream().anyMatch(r -> r.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        for (WeakReference<Object> r : refs) assertNull(r.get(), "a Ast ainda prende " + r.get());
+        assertFalse(program.body.isEmpty());
+        Reference.reachabilityFence(program);
+    }
+
+    // Parse e Ast como no TomLangMain.parse, com referências fracas ao stream, à árvore e a um token
+    private static Ast.Program buildAst(String source, List<WeakReference<Object>> refs) {
+        TokenSource lexer = tracked(new TomLangLexer(CharStreams.fromString(source)), refs);
+        TomLangParseDriver.Result parsed = TomLangParseDriver.parse(lexer);
+        refs.removeIf(r -> r.get() == CommonTokenFactory.DEFAULT);       // devolvida ao lexer no EOF
+        refs.add(new WeakReference<>(parsed.tree()));
+        refs.add(new WeakReference<>(parsed.tree().getStart()));
+        return AstBuilder.build(parsed.tree());
+    }
+
+    // Repassa ao source, guardando referências fracas às fábricas que o stream instala
+    private static TokenSource tracked(TokenSource source, List<WeakReference<Object>> factories) {
+        return new TokenSource() {
+            @Override public Token nextToken() { return source.nextToken(); }
+            @Override public int getLine() { return source.getLine(); }
+            @Override public int getCharPositionInLine() { return source.getCharPositionInLine(); }
+            @Override public CharStream getInputStream() { return source.getInputStream(); }
+            @Override public String getSourceName() { return source.getSourceName(); }
+            @Override public TokenFactory<?> getTokenFactory() { return source.getTokenFactory(); }
+
+            @Override
+            public void setTokenFactory(TokenFactory<?> factory) {
+                factories.add(new WeakReference<>(factory));
+                source.setTokenFactory(factory);
+            }
+        };
+    }
+
+    @Test
+    public void testCompactTokenStreamBehavesLikeCommonTokenStream() throws IOException {
+        String source = Files.readString(Path.of("tests/ok.mlg")) + "printf(\"fim\"); /* comentário */ int z = 1;\n";
+        // A gramática não usa canais: mesmos índices, seek, get e textos
+        assertSameTokens(new CommonTokenStream(new TomLangLexer(CharStreams.fromString(source))),
+                new CompactTokenStream(new TomLangLexer(CharStreams.fromString(source))), true);
+        assertEquals(ruleTexts(new CommonTokenStream(new TomLangLexer(CharStreams.fromString(source)))),
+                ruleTexts(new CompactTokenStream(new TomLangLexer(CharStreams.fromString(source)))));
+
+        // Tokens fora do canal padrão: o CommonTokenStream os guarda e pula, o compacto os descarta,
+        // então só os índices mudam; o parser vê os mesmos tokens
+        CompactTokenStream compact = new CompactTokenStream(hiding(source));
+        CommonTokenStream common = new CommonTokenStream(hiding(source));
+        assertSameTokens(common, compact, false);
+        common.fill();
+        assertTrue(compact.size() < common.size());
+        assertEquals(common.getTokens().stream().filter(t -> t.getChannel() == Token.DEFAULT_CHANNEL).count(), compact.size());
+    }
+
+    // Percorre os dois streams como o parser faz, comparando LT/LA à frente e atrás, o EOF
+    // e, se os índices coincidem, index, seek, get e getText
+    private static void assertSameTokens(BufferedTokenStream expected, TokenStream actual, boolean indices) {
+        while (true) {
+            // Com tokens escondidos no começo, o LT(-k) do BufferedTokenStream repete o primeiro token
+            // em vez de null para k > 1; o parser só olha LT(-1)
+            for (int k = indices ? -3 : -1; k <= 4; k++) {
+                assertEquals(describe(expected.LT(k), indices), describe(actual.LT(k), indices), "LT(" + k + ")");
+                if (expected.LT(k) != null) assertEquals(expected.LA(k), actual.LA(k), "LA(" + k + ")");
+            }
+            if (indices) assertEquals(expected.index(), actual.index());
+            if (expected.LA(1) == Token.EOF) break;
+            expected.consume();
+            actual.consume();
+        }
+        assertEquals(Token.EOF, actual.LT(50).getType());
+        assertThrows(IllegalStateException.class, expected::consume);
+        assertThrows(IllegalStateException.class, actual::consume);
+        if (!indices) return;
+
+        int size = expected.size();
+        assertEquals(size, actual.size());
+        for (int i = 0; i < size; i++) assertEquals(describe(expected.get(i), true), describe(actual.get(i), true));
+        for (int i : new int[] { 0, 1, size / 2, size - 1, size + 3 }) {
+            expected.seek(i);
+            actual.seek(i);
+            assertEquals(expected.index(), actual.index(), "seek(" + i + ")");
+            assertEquals(describe(expected.LT(1), true), describe(actual.LT(1), true));
+            assertEquals(describe(expected.LT(-1), true), describe(actual.LT(-1), true));
+        }
+        for (int[] range : new int[][] { { 0, 0 }, { 0, 7 }, { 3, size / 2 }, { size - 3, size + 10 }, { -1, 4 }, { 5, 2 } }) {
+            Interval interval = Interval.of(range[0], range[1]);
+            assertEquals(expected.getText(interval), actual.getText(interval), interval.toString());
+        }
+        assertEquals(expected.getText(), actual.getText());
+        assertEquals(expected.getText(expected.get(2), expected.get(9)), actual.getText(actual.get(2), actual.get(9)));
+    }
+
+    private static String describe(Token t, boolean index) {
+        if (t == null) return "null";
+        return (index ? t.getTokenIndex() + " " : "") + t.getType() + " " + t.getStartIndex() + ":" + t.getStopIndex()
+                + " " + t.getLine() + ":" + t.getCharPositionInLine() + " " + t.getText();
+    }
+
+    // getText(ctx) de cada regra da árvore, na ordem em que o parser as abre
+    private static List<String> ruleTexts(TokenStream tokens) {
+        List<String> out = new ArrayList<>();
+        new ParseTreeWalker().walk(new ParseTreeListener() {
+            @Override
+            public void enterEveryRule(ParserRuleContext ctx) {
+                out.add(ctx.getRuleIndex() + " " + tokens.getText(ctx));
+            }
+
+            @Override public void exitEveryRule(ParserRuleContext ctx) { }
+            @Override public void visitTerminal(TerminalNode node) { }
+            @Override public void visitErrorNode(ErrorNode node) { }
+        }, new TomLangParser(tokens).prog());
+        return out;
+    }
+
+    // Lexer que manda um a cada três tokens para o canal escondido
+    private static TomLangLexer hiding(String source) {
+        return new TomLangLexer(CharStreams.fromString(source)) {
+            private int count;
+
+            @Override
+            public Token emit() {
+                Token t = super.emit();
+                if (count++ % 3 == 1) ((WritableToken) t).setChannel(Token.HIDDEN_CHANNEL);
+                return t;
+            }
+        };
+    }
+
+    // Saída do --stream (errors = false) ou os erros que ele reporta
+    private static List<String> streamed(String source, boolean errors) {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        OutputBuffer out = new OutputBuffer(sink, StandardCharsets.UTF_8, OutputBuffer.FlushPolicy.BLOCK);
+        InputReader in = new InputReader(new ByteArrayInputStream(new byte[0]), StandardCharsets.UTF_8);
+        StreamingRunner.Result r = StreamingRunner.run(new TomLangLexer(CharStreams.fromString(source)), in, out);
+        out.flush();
+        if (errors) return r.syntaxErrors().isEmpty() ? r.semanticErrors() : r.syntaxErrors();
+        return sink.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private static List<String> tokens(CharStream input) {
+        List<String> out = new ArrayList<>();
+        TomLangLexer lexer = new TomLangLexer(input);
+        for (Token t = lexer.nextToken(); t.getType() != Token.EOF; t = lexer.nextToken()) {
+            out.add(t.getType() + " " + t.getLine() + ":" + t.getCharPositionInLine() + " " + t.getText());
+        }
+        return out;
+    }
+
+    // Tokens como o parser os vê (com índices no texto), intercalados com os erros do lexer
+    private static List<String> streamTokens(TomLangLexer lexer, boolean chunked) {
+        List<String> out = new ArrayList<>();
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(new BaseErrorListener() {
+            @Override
+            public void syntaxError(Recognizer<?, ?> r, Object symbol, int line, int column, String msg,
+                                    RecognitionException e) {
+                out.add("erro " + line + ":" + column + " " + msg);
+            }
+        });
+        CompactTokenStream stream = new CompactTokenStream(chunked ? new ChunkedLexer(lexer) : lexer);
+        for (int i = 0; ; i++) {
+            Token t = stream.get(i);
+            out.add(t.getType() + " " + t.getLine() + ":" + t.getCharPositionInLine() + " "
+                    + t.getStartIndex() + ":" + t.getStopIndex() + " " + t.getText());
+            if (t.getType() == Token.EOF) return out;
+        }
+    }
 }
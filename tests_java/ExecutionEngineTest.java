@@ -0,0 +1,625 @@
+import org.antlr.v4.runtime.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutionEngineTest {
+
+    private static final String[] ENGINES = { "tree", "nodes", "closure", "vm", "jvm", "stream" };
+
+    private Ast.Program parse(String source) {
+        TomLangParseDriver.Result parsed = TomLangParseDriver.parse(CharStreams.fromString(source));
+        assertFalse(parsed.hasErrors(), () -> "Erros sintáticos: " + parsed.errors());
+        Ast.Program program = AstBuilder.build(parsed.tree());
+
+        SemanticVisitor sema = new SemanticVisitor();
+        sema.check(program);
+        assertFalse(sema.hasErrors(), () -> "Erros semânticos: " + sema.getErrors());
+        return program;
+    }
+
+    private String run(String source, String engine, String input) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        run(source, engine, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out, OutputBuffer.FlushPolicy.BLOCK);
+        return out.toString(StandardCharsets.UTF_8).replace("\r\n", "\n");
+    }
+
+    private void run(String source, String engine, InputStream input, OutputStream sink, OutputBuffer.FlushPolicy policy) {
+        Ast.Program program = parse(source);
+        ConstantFolder constants = new ConstantFolder();
+        constants.fold(program);
+
+        InputReader in = new InputReader(input, StandardCharsets.UTF_8);
+        OutputBuffer out = new OutputBuffer(sink, StandardCharsets.UTF_8, policy);
+        try {
+            switch (engine) {
+                case "nodes"   -> new NodeCompiler(constants).compile(program).run(in, out);
+                case "closure" -> new ClosureCompiler(constants).compile(program).run(in, out);
+                case "vm"      -> new BytecodeVM(new BytecodeCompiler(constants).compile(program), in, out).run();
+                case "jvm"     -> new JvmCompiler(constants).compile(program).run(in, out);
+                case "stream"  -> {
+                    StreamingRunner.Result r = StreamingRunner.run(new TomLangLexer(CharStreams.fromString(source)), in, out);
+                    assertFalse(r.hasErrors(), () -> "Erros no --stream: " + r);
+                }
+                default        -> new InterpreterVisitor(in, out, constants).run(program);
+            }
+        } finally {
+            out.flush();
+        }
+    }
+
+    private void assertAllEngines(String expected, String source, String input) {
+        for (String engine : ENGINES) {
+            assertEquals(expected, run(source, engine, input), "engine " + engine);
+        }
+    }
+
+    // Para programas cuja saída não vale a pena escrever à mão: o interpretador de árvore é a referência
+    private void assertEnginesMatchTree(String source, String input) {
+        String expected = run(source, "tree", input);
+        for (String engine : ENGINES) {
+            assertEquals(expected, run(source, engine, input), "engine " + engine);
+        }
+    }
+
+    @Test
+    public void testOkProgramRunsTheSameOnAllEngines() throws Exception {
+        String source = Files.readString(Path.of("tests/ok.mlg"));
+        assertAllEngines("inicio\n0\n1\n2\ndois\ndigite seu nome:\nOla, Tom\n", source, "Tom\n");
+    }
+
+    @Test
+    public void testArithmeticAndConversions() {
+        String source = """
+            int q = 7 / 2;
+            float f = 3;
+            string s = "x";
+            printf(7 / 2);
+            printf(q);
+            printf(f * 2);
+            printf(s + 1 + 2);
+            printf(1 + 2 + s);
+            printf(2147483647 + 1);
+            printf(1 == "1");
+            printf(-f);
+            printf(-q * 2);
+            printf((q > 2) == 1);
+            printf((q > 2) + s);
+            printf(-(0 - 2147483647 - 1));
+            """;
+        assertAllEngines("3.5\n3\n6.0\nx12\n3x\n-2147483648\ntrue\n-3.0\n-6.0\nfalse\ntruex\n-2.147483648E9\n", source, "");
+    }
+
+    @Test
+    public void testIntOverflowAndMinValueArithmetic() {
+        String source = """
+            int min = 0 - 2147483647 - 1;
+            int max = 2147483647;
+            printf(min);
+            printf(min - 1);
+            printf(max + max);
+            printf(min * (0 - 1));
+            printf(-min);
+            printf(min / (0 - 1));
+            printf(65536 * 65536);
+            int q = min / 3;
+            printf(q);
+            float f = min;
+            printf(f * 2);
+            int h = 7;
+            for (int i = 0;; i < 100; i = i + 1) {
+              h = h * 31 + i;
+              if (h < 0) { h = h - min; }
+            }
+            printf(h);
+            int down = min;
+            while (down < 0) { down = down - 1; }
+            printf(down);
+            printf(min < max);
+            printf(min == -min);
+            """;
+        assertEnginesMatchTree(source, "");
+        assertTrue(run(source, "tree", "").startsWith("-2147483648\n2147483647\n-2\n-2147483648\n-2.147483648E9\n2.147483648E9\n0\n"));
+    }
+
+    @Test
+    public void testNodeSpecializationRewritesWhenOperandTypesChangeMidLoop() {
+        // Com tipos estáticos, um programa nunca leva int e depois float ao mesmo nó: o nó de
+        // 'printf(a op b)' é executado à mão, com as variáveis trocadas a cada volta
+        Object[][] operands = { { 7, 2 }, { -3, 5 }, { 2147483647, 1 }, { 2.5, 2.0 }, { 3, 0.5 }, { 7, 2 }, { 1.5, -4.0 } };
+        for (String op : new String[] { "+", "-", "*", "/", "<", ">=", "==", "!=" }) {
+            Ast.Program program = parse("int a = 1;\nint b = 2;\nprintf(a " + op + " b);\n");
+            Nodes.Print print = (Nodes.Print) program.body.get(2).accept(new NodeCompiler(new ConstantFolder()));
+            ByteArrayOutputStream sink = new ByteArrayOutputStream();
+            OutputBuffer out = new OutputBuffer(sink, StandardCharsets.UTF_8, OutputBuffer.FlushPolicy.EXIT);
+            Nodes.Frame frame = new Nodes.Frame(2, new InputReader(new ByteArrayInputStream(new byte[0]), StandardCharsets.UTF_8), out);
+            StringBuilder expected = new StringBuilder();
+            for (Object[] pair : operands) {
+                frame.locals[0] = pair[0];
+                frame.locals[1] = pair[1];
+                print.execute(frame);
+                expected.append(run(declare("a", pair[0]) + declare("b", pair[1]) + "printf(a " + op + " b);\n", "tree", ""));
+            }
+            out.flush();
+            assertEquals(expected.toString(), sink.toString(StandardCharsets.UTF_8).replace("\r\n", "\n"), "operador " + op);
+            assertTrue(print.value.getClass().getSimpleName().startsWith("Generic"), "operador " + op);
+        }
+    }
+
+    private static String declare(String name, Object value) {
+        return (value instanceof Integer ? "int " : "float ") + name + " = " + value + ";\n";
+    }
+
+    @Test
+    public void testNaNMakesEveryRelationalConditionFalse() {
+        String source = """
+            float z = 0.0;
+            float n = 0.0;
+            n = z / z;
+            string out = "";
+            if (n < 1.0) { out = out + "lt"; } else { out = out + "!lt"; }
+            if (n <= 1.0) { out = out + "le"; } else { out = out + "!le"; }
+            if (n > 1.0) { out = out + "gt"; } else { out = out + "!gt"; }
+            if (n >= 1.0) { out = out + "ge"; } else { out = out + "!ge"; }
+            if (!(n >= 1.0)) { out = out + "not"; }
+            if (1 < 2 && n >= 1.0) { out = out + "and"; }
+            if (n < 0.0 || n > 0.0) { out = out + "or"; }
+            printf(out);
+            printf(n >= 1.0);
+            printf(n < 1.0);
+            while (n > 1.0) { printf("while"); n = 0.0; }
+            for (int i = 0;; n <= 1.0; i = i + 1) { printf("for"); break; }
+            int k = 0;
+            do { k = k + 1; } while (n < 1.0 && k < 3);
+            printf(k);
+            """;
+        assertAllEngines("!lt!le!gt!genot\nfalse\nfalse\n1\n", source, "");
+    }
+
+    @Test
+    public void testLoopsBreakAndSwitchFallThrough() {
+        String source = """
+            int i = 0;
+            int total = 0;
+            while (1) {
+              i = i + 1;
+              if (i > 5) { break; }
+              total = total + i;
+            }
+            printf(total);
+            for (int k = 0;; k < 3; k = k + 1) {
+              switch (k) {
+                case 0: printf("zero");
+                case 1: printf("um"); break;
+                default: printf("outro");
+              }
+            }
+            do { i = i - 2; } while (i > 0);
+            printf(i);
+            """;
+        assertAllEngines("15\nzero\num\num\noutro\n0\n", source, "");
+    }
+
+    @Test
+    public void testBreakLeavesOnlyTheInnermostLoopOrSwitch() {
+        // Sem 'continue' na gramática: 'while (1) { if (...) { break; } ...; break; }' faz o papel dele
+        String source = """
+            string trace = "";
+            int j = 0;
+            for (int i = 0;; i < 6; i = i + 1) {
+              while (1) {
+                if (i == 2) { break; }
+                j = 0;
+                do {
+                  j = j + 1;
+                  if (j > i) {
+                    if (j == 4) { trace = trace + "!"; } else { break; }
+                  }
+                  switch (j) {
+                    case 1: trace = trace + "a";
+                    case 2: trace = trace + "b"; break;
+                    case 3: { for (int k = 0;; 1; k = k + 1) { if (k == j) { break; } trace = trace + "k"; } }
+                    default: trace = trace + "d";
+                  }
+                } while (j < 5);
+                trace = trace + i;
+                break;
+              }
+              trace = trace + ";";
+              if (i == 4) { break; }
+            }
+            printf(trace);
+            int n = 0;
+            while (n < 100) {
+              n = n + 1;
+              for (int k = 0;; k < 3; k = k + 1) { if (n > 2) { break; } }
+              if (n > 3) { if (n < 10) { if (n > 4) { break; } } }
+            }
+            printf(n);
+            """;
+        assertEnginesMatchTree(source, "");
+        // 'default' só roda quando nenhum caso casa: a queda a partir do caso 3 não chega nele
+        assertEquals("0;ab1;;abbkkk!d3;abbkkkd4;\n5\n", run(source, "tree", ""));
+    }
+
+    @Test
+    public void testSwitchDispatchTables() {
+        String source = """
+            string out = "";
+            for (int k = 0 - 1;; k < 5; k = k + 1) {
+              switch (k) {
+                case 0: out = out + "a"; break;
+                case 2: out = out + "b";
+                case 3: out = out + "c"; break;
+                case 2: out = out + "x"; break;
+                default: out = out + "_";
+              }
+            }
+            printf(out);
+            int big = 100000;
+            switch (big) {
+              case 7: printf("sete");
+              case 100000: printf("grande");
+              case 0: printf("zero"); break;
+              default: printf("outro");
+            }
+            string s = "BB";
+            switch (s) {
+              case "Aa": printf("Aa");
+              case "BB": printf("BB"); break;
+              case "": printf("vazio");
+            }
+            string alvo = "Aa";
+            s = "Aa";
+            switch (s) {
+              case "BB": printf("BB"); break;
+              case alvo: printf("alvo"); break;
+              case "Aa": printf("literal"); break;
+            }
+            float x = 2.0;
+            switch (x) {
+              case 1: printf("um"); break;
+              case 2: printf("dois"); break;
+            }
+            """;
+        assertAllEngines("_a_bcc_\ngrande\nzero\nBB\nalvo\ndois\n", source, "");
+    }
+
+    @Test
+    public void testConstantFoldingAndPropagation() {
+        String source = """
+            int dia = 60 * 60 * 24;
+            string p = "prefix" + "-" + "x";
+            float meio = 1 / 2;
+            int n = 3;
+            int i = 0;
+            while (i < n) { i = i + 1; }
+            printf(dia + 1);
+            printf(p);
+            printf(meio * 2);
+            printf(-n);
+            printf(i);
+            printf(1 < 2);
+            printf("a" == "a" && n > 2);
+            """;
+        ConstantFolder constants = new ConstantFolder();
+        constants.fold(parse(source));
+        assertEquals(10, constants.foldedCount());
+        assertAllEngines("86401\nprefix-x\n1.0\n-3.0\n3\ntrue\ntrue\n", source, "");
+    }
+
+    @Test
+    public void testOperatorPrecedenceAndAssociativity() {
+        String source = """
+            int a = 0;
+            int b = 0;
+            scanf(a);
+            scanf(b);
+            printf(a - b - 2);
+            printf(a / b / 2);
+            printf(a - b * 2 + 1);
+            printf(-a * b);
+            printf(a > b == b > a);
+            printf(a < b || b < a && a == 10);
+            printf((a - b) * (a + b));
+            printf(a - (b - 2));
+            printf(100 - 10 - 1);
+            printf(2 * 3 + 4 * 5);
+            if (!(a < b) && (b < a || a == 0)) { printf("ok"); }
+            """;
+        assertAllEngines("5\n1.6666666666666667\n5\n-30.0\nfalse\ntrue\n91\n9\n89\n26\nok\n", source, "10\n3\n");
+    }
+
+    @Test
+    public void testLogicalOperatorsShortCircuit() {
+        String source = """
+            string s = "abc";
+            int n = 0;
+            int i = 0;
+            scanf(n);
+            if (n != 0 && s < "b") { printf("nao"); } else { printf("guarda"); }
+            printf(n == 0 || s < "b");
+            printf(5 && n);
+            while (i < 10 && (i < 3 || i == 7)) { i = i + 1; }
+            printf(i);
+            """;
+        assertAllEngines("guarda\ntrue\nfalse\n3\n", source, "0\n");
+    }
+
+    @Test
+    public void testForScopesReusePreallocatedFrames() {
+        String source = """
+            int t = 0;
+            for (int i = 0;; i < 3; i = i + 1) {
+              for (int j = 0;; j < 2; j = j + 1) { t = t + i * 10 + j; }
+            }
+            for (string i = "x";; i != "xxx"; i = i + "x") { printf(i); }
+            int w = 0;
+            while (w < 2) { for (float k = 0.5;; k < 1; k = k + 1) { printf(k + w); } w = w + 1; }
+            printf(t);
+            """;
+        assertAllEngines("x\nxx\n0.5\n1.5\n63\n", source, "");
+    }
+
+    @Test
+    public void testForInitSeesFreshSlotOnEveryEntry() {
+        // 'int x = x' no init lê a variável recém-limpa a cada entrada no for, não a da volta anterior
+        String source = """
+            int n = 0;
+            while (n < 2) {
+              for (int x = x;; 1; ) { printf(x); x = 5; break; }
+              for (float f = f;; 1; ) { printf(f); f = 2.5; break; }
+              for (string s = s + "a";; 1; ) { printf(s); s = "zz"; break; }
+              n = n + 1;
+            }
+            """;
+        for (String engine : ENGINES) {
+            java.util.List<String> lines = run(source, engine, "").lines().toList();
+            assertEquals(6, lines.size(), "engine " + engine);
+            assertEquals(lines.subList(0, 3), lines.subList(3, 6), "engine " + engine);
+        }
+        assertEquals("null\nnull\nnulla\n".repeat(2), run(source, "tree", ""));
+    }
+
+    @Test
+    public void testStringEscapesAreDecoded() {
+        String source = """
+            string s = "a\\tb";
+            printf("linha1\\nlinha2");
+            printf(s + "\\"" + "\\\\");
+            switch (s) { case "a\\tb": printf("casou"); }
+            printf("sem \\q escape");
+            """;
+        assertAllEngines("linha1\nlinha2\na\tb\"\\\ncasou\nsem \\q escape\n", source, "");
+    }
+
+    @Test
+    public void testRepeatedConcatenationKeepsValueSemantics() {
+        String source = """
+            string s = "";
+            int k = 0;
+            while (k < 40) { s = s + k + ","; k = k + 1; }
+            string t = s;
+            s = s + "a";
+            t = t + "b";
+            printf(s);
+            printf(t);
+            if (s != t && s + "" == s) { printf("ok"); }
+            switch (t) { case "x": printf("x"); default: printf("default"); }
+            """;
+        StringBuilder prefix = new StringBuilder();
+        for (int k = 0; k < 40; k++) prefix.append(k).append(',');
+        assertAllEngines(prefix + "a\n" + prefix + "b\nok\ndefault\n", source, "");
+    }
+
+    @Test
+    public void testConcatenationChainsAreFused() {
+        String source = """
+            int a = 7;
+            float b = 2.5;
+            string c = "z";
+            scanf(a);
+            scanf(c);
+            printf("a=" + a + ", b=" + b + ", c=" + c + "!");
+            printf(1 + 2 + "x" + a + 3);
+            printf(a + "-" + 1 + 2 + (a < 10) + c);
+            string s = "";
+            int k = 0;
+            while (k < 30) { s = s + "[" + k + "]" + c; k = k + 1; }
+            printf(s);
+            """;
+        StringBuilder s = new StringBuilder();
+        for (int k = 0; k < 30; k++) s.append('[').append(k).append("]q");
+        assertAllEngines("a=4, b=2.5, c=q!\n3x43\n4-12trueq\n" + s + "\n", source, "4\nq\n");
+    }
+
+    @Test
+    public void testVmNumericLoopDoesNotAllocate() {
+        String source = """
+            int i = 0;
+            int acc = 1;
+            float f = 0.0;
+            while (i < 1000000) {
+              acc = acc * 3 + i - 5;
+              if (acc > 1000000) { acc = acc - 999999; }
+              f = f * 0.5 + i;
+              i = i + 1;
+            }
+            printf(acc);
+            printf(f);
+            """;
+        Ast.Program program = parse(source);
+        ConstantFolder constants = new ConstantFolder();
+        constants.fold(program);
+        Bytecode code = new BytecodeCompiler(constants).compile(program);
+        InputReader in = new InputReader(new ByteArrayInputStream(new byte[0]), StandardCharsets.UTF_8);
+        OutputBuffer out = new OutputBuffer(new ByteArrayOutputStream(), StandardCharsets.UTF_8, OutputBuffer.FlushPolicy.EXIT);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int warmup = 0; warmup < 3; warmup++) new BytecodeVM(code, in, out).run();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        new BytecodeVM(code, in, out).run();
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        // Com int/float encaixotados seriam dezenas de MB (um Integer/Double por operação)
+        assertTrue(allocated < 64 * 1024, "a VM alocou " + allocated + " bytes");
+    }
+
+    @Test
+    public void testScanfReadsDeclaredTypes() {
+        String source = """
+            int n;
+            float f;
+            string s;
+            scanf(n);
+            scanf(f);
+            scanf(s);
+            printf(n * 2);
+            printf(f + 1);
+            printf("ola " + s);
+            """;
+        assertAllEngines("42\n3.5\nola mundo\n", source, "21\n2.5\nmundo\n");
+    }
+
+    @Test
+    public void testOutputIsFlushedBeforeScanfUnderEveryPolicy() {
+        String source = """
+            int n;
+            printf("digite:");
+            scanf(n);
+            printf(n + 1);
+            """;
+        for (OutputBuffer.FlushPolicy policy : OutputBuffer.FlushPolicy.values()) {
+            for (String engine : ENGINES) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                String[] seenAtRead = new String[1];
+                InputStream input = new ByteArrayInputStream("41\n".getBytes(StandardCharsets.UTF_8)) {
+                    @Override
+                    public synchronized int read(byte[] b, int off, int len) {
+                        if (seenAtRead[0] == null) seenAtRead[0] = out.toString(StandardCharsets.UTF_8);
+                        return super.read(b, off, len);
+                    }
+                };
+                run(source, engine, input, out, policy);
+                String where = "engine " + engine + ", política " + policy;
+                assertEquals("digite:\n", seenAtRead[0].replace("\r\n", "\n"), where);
+                assertEquals("digite:\n42\n", out.toString(StandardCharsets.UTF_8).replace("\r\n", "\n"), where);
+            }
+        }
+    }
+
+    @Test
+    public void testInputReaderMatchesScannerLines() {
+        String input = " 42 \r\n-2147483648\n+7\n1.25\n-0\n1e3\n12345678901234567.5\n.5\nçã\u2028x\rfim";
+        String[] types = { "int", "int", "int", "float", "float", "float", "float", "float", "string", "string" };
+        InputReader reader = new InputReader(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+        java.util.Scanner scanner = new java.util.Scanner(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+        for (String t : types) {
+            String line = scanner.nextLine();
+            switch (t) {
+                case "int"   -> assertEquals(Integer.parseInt(line.trim()), reader.readInt());
+                case "float" -> assertEquals(Double.parseDouble(line.trim()), reader.readDouble());
+                default      -> assertEquals(line, reader.readLine());
+            }
+        }
+        assertEquals(scanner.nextLine(), reader.readLine());
+        assertThrows(java.util.NoSuchElementException.class, reader::readLine);
+
+        InputReader bad = new InputReader(new ByteArrayInputStream("12a\n".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+        NumberFormatException e = assertThrows(NumberFormatException.class, bad::readInt);
+        assertEquals("For input string: \"12a\"", e.getMessage());
+    }
+
+    @Test
+    public void testAsyncIoKeepsOrderAndPrompts() throws Exception {
+        String source = """
+            int n;
+            int k = 0;
+            printf("quantos?");
+            scanf(n);
+            while (k < n) { printf(k); k = k + 1; }
+            string s;
+            printf("nome?");
+            scanf(s);
+            printf("ola " + s);
+            """;
+        StringBuilder expected = new StringBuilder("quantos?\n");
+        for (int k = 0; k < 50000; k++) expected.append(k).append('\n');
+        expected.append("nome?\nola mundo\n");
+        for (String engine : ENGINES) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            AsyncIO.Output sink = new AsyncIO.Output(out);
+            run(source, engine, new AsyncIO.Input(new ByteArrayInputStream("50000\nmundo\n".getBytes(StandardCharsets.UTF_8))),
+                    sink, OutputBuffer.FlushPolicy.LINE);
+            sink.close();
+            assertEquals(expected.toString(), out.toString(StandardCharsets.UTF_8).replace("\r\n", "\n"), "engine " + engine);
+        }
+    }
+
+    @Test
+    public void testNumberFormattingMatchesStringValueOf() {
+        java.util.Random random = new java.util.Random(42);
+        java.util.List<Object> values = new java.util.ArrayList<>(java.util.List.of(
+                0, -1, 7, 10, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1,
+                0.0, -0.0, 1.0, -2.5, 0.1 + 0.2, 1e-3, 9.99e-4, 9999999.999, 1e7, 123456.789, 1.0 / 3,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE));
+        for (int n = 0; n < 20000; n++) {
+            values.add(random.nextInt());
+            values.add(random.nextInt(2000) - 1000);
+            double scale = Math.pow(10, random.nextInt(12));
+            values.add(Math.round(random.nextGaussian() * 1e6 * scale) / scale);   // poucas casas decimais
+            values.add(random.nextDouble() * Math.pow(10, random.nextInt(14) - 5));
+            values.add(Double.longBitsToDouble(random.nextLong()));
+        }
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        OutputBuffer out = new OutputBuffer(sink, StandardCharsets.UTF_8, OutputBuffer.FlushPolicy.EXIT);
+        StringBuilder expected = new StringBuilder();
+        for (Object v : values) {
+            if (v instanceof Integer i) out.println(i.intValue());
+            else out.println(((Double) v).doubleValue());
+            expected.append(v).append(System.lineSeparator());
+        }
+        out.flush();
+        String[] got = sink.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+        String[] want = expected.toString().split(System.lineSeparator());
+        assertEquals(want.length, got.length);
+        for (int i = 0; i < want.length; i++) assertEquals(want[i], got[i], "valor " + values.get(i));
+    }
+
+    @Test
+    public void testJvmSplitsLargeProgramsIntoMethods() {
+        // Em um método só, ~30 mil comandos de topo estouram os 64 KB de bytecode
+        StringBuilder source = new StringBuilder("int a = 0;\nfloat f = 0.5;\nstring s = \"\";\n");
+        for (int i = 0; i < 40000; i++) {
+            switch (i % 4) {
+                case 0 -> source.append("a = a + ").append(i).append(";\n");
+                case 1 -> source.append("f = f * 1.0001 + a;\n");
+                case 2 -> source.append("if (a - a / 7 * 7 == 3) { s = s + \"x\"; }\n");
+                default -> source.append("int t").append(i).append(" = a - 1;\n");
+            }
+            if (i % 5000 == 0) source.append("printf(a); printf(f); printf(s);\n");
+        }
+        source.append("while (a > 10) { a = a / 3; }\nprintf(a + t39999); printf(f); printf(s);\n");
+        String program = source.toString();
+        assertEquals(run(program, "tree", ""), run(program, "jvm", ""));
+    }
+
+    @Test
+    public void testJvmFallsBackOnlyForOversizedStatement() {
+        // Um único comando de topo não é dividido: este ainda não cabe e o TomLangMain usa a VM
+        StringBuilder source = new StringBuilder("int a = 0;\nwhile (a < 1) {\n");
+        for (int i = 0; i < 12000; i++) source.append("  a = a + ").append(i).append(" * a;\n");
+        source.append("}\nprintf(a);\n");
+        Ast.Program program = parse(source.toString());
+        ConstantFolder constants = new ConstantFolder();
+        constants.fold(program);
+        assertThrows(org.objectweb.asm.MethodTooLargeException.class, () -> new JvmCompiler(constants).compile(program));
+    }
+}